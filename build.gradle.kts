@@ -31,9 +31,11 @@ dependencies {
     implementation(libs.micronaut.reactor)
     implementation(libs.micronaut.serde.jackson)
     implementation(libs.micronaut.mongo.sync)
+    implementation(libs.micronaut.mongo.reactive)
     implementation(libs.javax.annotation)
     implementation(libs.micronaut.discovery)
     implementation(libs.micronaut.grpc)
+    implementation(libs.micronaut.cache.caffeine)
     implementation(libs.lombok)
     implementation(libs.anthropic.java)
     implementation(libs.langchain4j)
@@ -123,10 +125,25 @@ tasks.named<io.micronaut.gradle.docker.NativeImageDockerfile>("dockerfileNative"
 }
 
 tasks.test {
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
     jvmArgs("-javaagent:${mockitoAgent.asPath}")
     finalizedBy(tasks.jacocoTestReport)
 }
 
+tasks.register<Test>("benchmark") {
+    description = "Runs the benchmarks, which are excluded from the regular test run."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    jvmArgs("-javaagent:${mockitoAgent.asPath}")
+    outputs.upToDateWhen { false }
+}
+
 tasks.jacocoTestReport {
     dependsOn(tasks.test)
     reports {
@@ -1,27 +1,38 @@
 package com.taskmanager.api.grpc;
 
-import com.google.protobuf.Empty;
 import com.taskmanager.api.grpc.generated.*;
 import com.taskmanager.application.domain.assistent.exception.PromptIsEmptyException;
 import com.taskmanager.application.domain.shared.DomainException;
+import com.taskmanager.application.domain.task.exception.TaskConcurrentModificationException;
 import com.taskmanager.application.domain.task.exception.TaskNotFoundException;
 import com.taskmanager.application.port.inbound.assistent.AssistantQueryHandler;
 import com.taskmanager.application.port.inbound.assistent.query.AskQuery;
 import com.taskmanager.application.port.inbound.task.TaskCommandHandler;
 import com.taskmanager.application.port.inbound.task.TaskQueryHandler;
+import com.taskmanager.application.port.inbound.task.command.BatchTaskCommand;
+import com.taskmanager.application.port.inbound.task.command.CompleteMatchingTasksCommand;
 import com.taskmanager.application.port.inbound.task.command.CompleteTaskCommand;
 import com.taskmanager.application.port.inbound.task.command.CreateTaskCommand;
 import com.taskmanager.application.port.inbound.task.command.UpdateTaskCommand;
+import com.taskmanager.application.port.inbound.task.data.BatchGetTasksData;
+import com.taskmanager.application.port.inbound.task.data.BatchTaskResultData;
+import com.taskmanager.application.port.inbound.task.data.CompleteMatchingTasksResultData;
 import com.taskmanager.application.port.inbound.task.data.TaskData;
+import com.taskmanager.application.port.inbound.task.data.TaskPageData;
+import com.taskmanager.application.port.inbound.task.data.TaskResultData;
+import com.taskmanager.application.port.inbound.task.query.BatchGetTasksQuery;
 import com.taskmanager.application.port.inbound.task.query.FindTaskByIdQuery;
 import com.taskmanager.application.port.inbound.task.query.GetAvailableTasksQuery;
+import com.taskmanager.application.port.inbound.task.query.StreamAvailableTasksQuery;
 import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import jakarta.inject.Singleton;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.List;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 @Slf4j
 @Singleton
@@ -33,27 +44,62 @@ public class TaskManagerGrpcController extends TaskManagerControllerGrpc.TaskMan
     private final AssistantQueryHandler assistantQueryHandler;
 
     @Override
-    public void getTasks(Empty request, StreamObserver<TaskList> responseObserver) {
+    public void getTasks(GetTasksRequest request, StreamObserver<TaskList> responseObserver) {
         try {
-            List<Task> tasks = taskQueryHandler.handle(new GetAvailableTasksQuery())
-                    .stream()
-                    .map(this::convertToGrpcTask)
-                    .toList();
-            TaskList taskList = TaskList.newBuilder()
-                    .addAllTasks(tasks)
-                    .build();
-            responseObserver.onNext(taskList);
+            GetAvailableTasksQuery query = new GetAvailableTasksQuery(
+                    UserIdServerInterceptor.USER_ID.get(),
+                    request.hasPageSize() ? request.getPageSize() : null,
+                    request.hasPageToken() ? request.getPageToken() : null,
+                    request.hasCompleted() ? request.getCompleted() : null,
+                    request.getTagsList(),
+                    request.getMatchAllTags(),
+                    request.hasTitlePrefix() ? request.getTitlePrefix() : null,
+                    request.getNewestFirst());
+            TaskPageData page = taskQueryHandler.handle(query);
+
+            TaskList.Builder taskList = TaskList.newBuilder();
+            page.tasks().forEach(taskData -> taskList.addTasks(convertToGrpcTask(taskData)));
+            if (page.nextPageToken() != null) {
+                taskList.setNextPageToken(page.nextPageToken());
+            }
+            responseObserver.onNext(taskList.build());
             responseObserver.onCompleted();
+        } catch (DomainException e) {
+            log.debug("Cannot get tasks by request [{}]", request, e);
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asException());
         } catch (RuntimeException e) {
             log.error("Cannot get tasks", e);
             responseObserver.onError(Status.INTERNAL.withDescription("Something went wrong").asException());
         }
     }
 
+    @Override
+    public void streamTasks(StreamTasksRequest request, StreamObserver<Task> responseObserver) {
+        Stream<TaskData> tasks;
+        try {
+            tasks = taskQueryHandler.handle(new StreamAvailableTasksQuery(
+                    UserIdServerInterceptor.USER_ID.get(),
+                    request.hasCompleted() ? request.getCompleted() : null,
+                    request.getTagsList(),
+                    request.getMatchAllTags(),
+                    request.hasTitlePrefix() ? request.getTitlePrefix() : null,
+                    request.getNewestFirst()));
+        } catch (DomainException e) {
+            log.debug("Cannot stream tasks by request [{}]", request, e);
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asException());
+            return;
+        } catch (RuntimeException e) {
+            log.error("Cannot stream tasks", e);
+            responseObserver.onError(Status.INTERNAL.withDescription("Something went wrong").asException());
+            return;
+        }
+        new FlowControlledTaskSender((ServerCallStreamObserver<Task>) responseObserver, tasks).start();
+    }
+
     @Override
     public void createTask(CreateTaskRequest request, StreamObserver<Task> responseObserver) {
         try {
-            CreateTaskCommand command = new CreateTaskCommand(request.getTitle(), request.getDescription());
+            CreateTaskCommand command = new CreateTaskCommand(UserIdServerInterceptor.USER_ID.get(), request.getTitle(), request.getDescription());
             TaskData taskData = taskCommandHandler.handle(command);
             responseObserver.onNext(convertToGrpcTask(taskData));
             responseObserver.onCompleted();
@@ -70,7 +116,7 @@ public class TaskManagerGrpcController extends TaskManagerControllerGrpc.TaskMan
     public void findTaskById(FindTaskByIdRequest request, StreamObserver<Task> responseObserver) {
         String taskId = request.getId();
         try {
-            FindTaskByIdQuery query = new FindTaskByIdQuery(taskId);
+            FindTaskByIdQuery query = new FindTaskByIdQuery(UserIdServerInterceptor.USER_ID.get(), taskId);
             TaskData taskData = taskQueryHandler.handle(query);
             responseObserver.onNext(convertToGrpcTask(taskData));
             responseObserver.onCompleted();
@@ -86,16 +132,39 @@ public class TaskManagerGrpcController extends TaskManagerControllerGrpc.TaskMan
         }
     }
 
+    @Override
+    public void batchGetTasks(BatchGetTasksRequest request, StreamObserver<BatchGetTasksResponse> responseObserver) {
+        try {
+            BatchGetTasksQuery query = new BatchGetTasksQuery(UserIdServerInterceptor.USER_ID.get(), request.getIdsList());
+            BatchGetTasksData result = taskQueryHandler.handle(query);
+            BatchGetTasksResponse.Builder response = BatchGetTasksResponse.newBuilder()
+                    .addAllMissingIds(result.missingIds());
+            result.tasks().forEach(taskData -> response.addTasks(convertToGrpcTask(taskData)));
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (DomainException e) {
+            log.debug("Cannot find tasks by ids [{}]", request.getIdsList(), e);
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asException());
+        } catch (RuntimeException e) {
+            log.error("Cannot find tasks by ids", e);
+            responseObserver.onError(Status.INTERNAL.withDescription("Something went wrong").asException());
+        }
+    }
+
     @Override
     public void updateTask(UpdateTaskRequest request, StreamObserver<Task> responseObserver) {
         try {
-            UpdateTaskCommand command = new UpdateTaskCommand(request.getId(), request.getTitle(), request.getDescription());
+            UpdateTaskCommand command = new UpdateTaskCommand(
+                    UserIdServerInterceptor.USER_ID.get(), request.getId(), request.getTitle(), request.getDescription());
             TaskData taskData = taskCommandHandler.handle(command);
             responseObserver.onNext(convertToGrpcTask(taskData));
             responseObserver.onCompleted();
         } catch (TaskNotFoundException e) {
             log.debug("Cannot update task with id [{}]", request.getId(), e);
             responseObserver.onError(Status.NOT_FOUND.withDescription(e.getMessage()).asException());
+        } catch (TaskConcurrentModificationException e) {
+            log.debug("Cannot update task with id [{}]", request.getId(), e);
+            responseObserver.onError(Status.ABORTED.withDescription(e.getMessage()).asException());
         } catch (DomainException e) {
             log.debug("Cannot update task with id [{}]", request.getId(), e);
             responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asException());
@@ -109,13 +178,16 @@ public class TaskManagerGrpcController extends TaskManagerControllerGrpc.TaskMan
     public void completeTask(CompleteTaskRequest request, StreamObserver<Task> responseObserver) {
         String taskId = request.getId();
         try {
-            CompleteTaskCommand command = new CompleteTaskCommand(taskId);
+            CompleteTaskCommand command = new CompleteTaskCommand(UserIdServerInterceptor.USER_ID.get(), taskId);
             TaskData taskData = taskCommandHandler.handle(command);
             responseObserver.onNext(convertToGrpcTask(taskData));
             responseObserver.onCompleted();
         } catch (TaskNotFoundException e) {
             log.debug("Cannot complete task with id [{}]", taskId, e);
             responseObserver.onError(Status.NOT_FOUND.withDescription(e.getMessage()).asException());
+        } catch (TaskConcurrentModificationException e) {
+            log.debug("Cannot complete task with id [{}]", taskId, e);
+            responseObserver.onError(Status.ABORTED.withDescription(e.getMessage()).asException());
         } catch (DomainException e) {
             log.debug("Cannot complete task with id [{}]", taskId, e);
             responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asException());
@@ -125,6 +197,54 @@ public class TaskManagerGrpcController extends TaskManagerControllerGrpc.TaskMan
         }
     }
 
+    @Override
+    public void batchTasks(BatchTasksRequest request, StreamObserver<BatchTasksResponse> responseObserver) {
+        try {
+            BatchTaskCommand command = new BatchTaskCommand(
+                    UserIdServerInterceptor.USER_ID.get(),
+                    request.getCreateList().stream()
+                            .map(task -> new CreateTaskCommand(task.getTitle(), task.getDescription()))
+                            .toList(),
+                    request.getCompleteList().stream()
+                            .map(CompleteTaskCommand::new)
+                            .toList());
+            BatchTaskResultData result = taskCommandHandler.handle(command);
+            BatchTasksResponse.Builder response = BatchTasksResponse.newBuilder();
+            result.created().forEach(item -> response.addCreated(convertToGrpcTaskResult(item)));
+            result.completed().forEach(item -> response.addCompleted(convertToGrpcTaskResult(item)));
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (DomainException e) {
+            log.debug("Cannot process batch of tasks", e);
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asException());
+        } catch (RuntimeException e) {
+            log.error("Cannot process batch of tasks", e);
+            responseObserver.onError(Status.INTERNAL.withDescription("Something went wrong").asException());
+        }
+    }
+
+    @Override
+    public void completeMatchingTasks(CompleteMatchingTasksRequest request, StreamObserver<CompleteMatchingTasksResponse> responseObserver) {
+        try {
+            CompleteMatchingTasksCommand command = new CompleteMatchingTasksCommand(
+                    UserIdServerInterceptor.USER_ID.get(),
+                    request.getTagsList(),
+                    request.getMatchAllTags(),
+                    request.hasTitlePrefix() ? request.getTitlePrefix() : null);
+            CompleteMatchingTasksResultData result = taskCommandHandler.handle(command);
+            responseObserver.onNext(CompleteMatchingTasksResponse.newBuilder()
+                    .setCompletedCount(result.completedCount())
+                    .build());
+            responseObserver.onCompleted();
+        } catch (DomainException e) {
+            log.debug("Cannot complete matching tasks", e);
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asException());
+        } catch (RuntimeException e) {
+            log.error("Cannot complete matching tasks", e);
+            responseObserver.onError(Status.INTERNAL.withDescription("Something went wrong").asException());
+        }
+    }
+
     @Override
     public void chat(ChatRequest request, StreamObserver<ChatResponse> responseObserver) {
         try {
@@ -141,7 +261,7 @@ public class TaskManagerGrpcController extends TaskManagerControllerGrpc.TaskMan
         }
     }
 
-    private Task convertToGrpcTask(TaskData taskData) {
+    private static Task convertToGrpcTask(TaskData taskData) {
         return Task.newBuilder()
                 .setTitle(taskData.title())
                 .setId(taskData.id())
@@ -149,4 +269,65 @@ public class TaskManagerGrpcController extends TaskManagerControllerGrpc.TaskMan
                 .setCompleted(taskData.completed())
                 .build();
     }
-}
\ No newline at end of file
+
+    private static TaskResult convertToGrpcTaskResult(TaskResultData result) {
+        TaskResult.Builder builder = TaskResult.newBuilder()
+                .setStatus(TaskResult.Status.valueOf(result.status().name()));
+        if (result.task() != null) {
+            builder.setTask(convertToGrpcTask(result.task()));
+        }
+        if (result.error() != null) {
+            builder.setError(result.error());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Sends tasks only while the transport is ready to accept more messages, so a slow client holds back
+     * the underlying cursor instead of having the whole result set queued in memory.
+     * <p>
+     * gRPC invokes the ready and cancel handlers one at a time, which is why no extra synchronization is needed.
+     */
+    private static final class FlowControlledTaskSender {
+
+        private final ServerCallStreamObserver<Task> responseObserver;
+        private final Stream<TaskData> tasks;
+        private final Iterator<TaskData> iterator;
+        private boolean finished;
+
+        private FlowControlledTaskSender(ServerCallStreamObserver<Task> responseObserver, Stream<TaskData> tasks) {
+            this.responseObserver = responseObserver;
+            this.tasks = tasks;
+            this.iterator = tasks.iterator();
+        }
+
+        void start() {
+            responseObserver.setOnCancelHandler(this::finish);
+            responseObserver.setOnReadyHandler(this::sendWhileReady);
+        }
+
+        private void sendWhileReady() {
+            if (finished) {
+                return;
+            }
+            try {
+                while (responseObserver.isReady() && iterator.hasNext()) {
+                    responseObserver.onNext(convertToGrpcTask(iterator.next()));
+                }
+                if (!iterator.hasNext()) {
+                    finish();
+                    responseObserver.onCompleted();
+                }
+            } catch (RuntimeException e) {
+                log.error("Cannot stream tasks", e);
+                finish();
+                responseObserver.onError(Status.INTERNAL.withDescription("Something went wrong").asException());
+            }
+        }
+
+        private void finish() {
+            finished = true;
+            tasks.close();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.taskmanager.api.grpc;
+
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import jakarta.inject.Singleton;
+
+/**
+ * Makes the user ID sent in the {@code x-user-id} metadata available to service calls through {@link #USER_ID}.
+ * The key holds null when the caller did not identify itself.
+ */
+@Singleton
+public class UserIdServerInterceptor implements ServerInterceptor {
+
+    static final Metadata.Key<String> USER_ID_HEADER = Metadata.Key.of("x-user-id", Metadata.ASCII_STRING_MARSHALLER);
+    static final Context.Key<String> USER_ID = Context.key("userId");
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call,
+                                                                 Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        Context context = Context.current().withValue(USER_ID, headers.get(USER_ID_HEADER));
+        return Contexts.interceptCall(context, call, headers, next);
+    }
+}
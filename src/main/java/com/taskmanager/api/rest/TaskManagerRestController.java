@@ -4,20 +4,37 @@ import com.taskmanager.api.rest.data.*;
 import com.taskmanager.application.domain.assistent.exception.PromptIsEmptyException;
 import com.taskmanager.application.domain.shared.DomainException;
 import com.taskmanager.application.domain.task.exception.InvalidTaskIdException;
+import com.taskmanager.application.domain.task.exception.TaskConcurrentModificationException;
 import com.taskmanager.application.domain.task.exception.TaskNotFoundException;
 import com.taskmanager.application.port.inbound.assistent.AssistantQueryHandler;
 import com.taskmanager.application.port.inbound.assistent.query.AskQuery;
+import com.taskmanager.application.port.inbound.task.ReactiveTaskQueryHandler;
 import com.taskmanager.application.port.inbound.task.TaskCommandHandler;
 import com.taskmanager.application.port.inbound.task.TaskQueryHandler;
+import com.taskmanager.application.port.inbound.task.command.BatchTaskCommand;
+import com.taskmanager.application.port.inbound.task.command.CompleteMatchingTasksCommand;
 import com.taskmanager.application.port.inbound.task.command.CompleteTaskCommand;
 import com.taskmanager.application.port.inbound.task.command.CreateTaskCommand;
 import com.taskmanager.application.port.inbound.task.command.UpdateTaskCommand;
+import com.taskmanager.application.port.inbound.task.data.BatchGetTasksData;
+import com.taskmanager.application.port.inbound.task.data.BatchTaskResultData;
+import com.taskmanager.application.port.inbound.task.data.CompleteMatchingTasksResultData;
 import com.taskmanager.application.port.inbound.task.data.TaskData;
+import com.taskmanager.application.port.inbound.task.data.TaskPageData;
+import com.taskmanager.application.port.inbound.task.query.BatchGetTasksQuery;
 import com.taskmanager.application.port.inbound.task.query.FindTaskByIdQuery;
 import com.taskmanager.application.port.inbound.task.query.GetAvailableTasksQuery;
+import com.taskmanager.application.port.inbound.task.query.StreamAvailableTasksQuery;
+import com.taskmanager.infrastructure.execution.HandlerExecutorFactory;
+import io.micronaut.context.BeanProvider;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.*;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -27,37 +44,109 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.List;
 
 @Slf4j
 @RequiredArgsConstructor
 @Controller("/task-manager")
+@ExecuteOn(HandlerExecutorFactory.NAME)
 @Tag(name = "Task Manager API", description = "API for managing tasks and interacting with an assistant")
 public class TaskManagerRestController {
 
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+    private static final String USER_ID_HEADER = "X-User-Id";
+
     private final TaskCommandHandler taskCommandHandler;
     private final TaskQueryHandler taskQueryHandler;
     private final AssistantQueryHandler assistantQueryHandler;
+    private final BeanProvider<ReactiveTaskQueryHandler> reactiveTaskQueryHandler;
+    private final JsonMapper jsonMapper;
 
-    @Operation(summary = "Get all available tasks", description = "Retrieves a list of all available tasks")
+    @Operation(summary = "Get available tasks", description = "Retrieves a page of available tasks ordered by ID, " +
+            "optionally filtered by completion, tags and title prefix. " +
+            "When the client accepts 'application/x-ndjson', all matching tasks are streamed instead, one JSON document per line")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Successfully retrieved tasks",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = GetAllTasksResponse.class))),
+                    content = {
+                            @Content(mediaType = "application/json", schema = @Schema(implementation = GetAllTasksResponse.class)),
+                            @Content(mediaType = APPLICATION_NDJSON, schema = @Schema(implementation = TaskData.class))
+                    }),
+            @ApiResponse(responseCode = "400", description = "Invalid page size, page token or tag",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain", schema = @Schema(type = "string", example = "Something went wrong")))
     })
-    @Get(uri = "/tasks", produces = MediaType.APPLICATION_JSON)
-    public HttpResponse<?> getAllTasks() {
+    @Get(uri = "/tasks", produces = {MediaType.APPLICATION_JSON, APPLICATION_NDJSON})
+    public HttpResponse<?> getAllTasks(
+            HttpRequest<?> request,
+            @Parameter(description = "The ID of the user whose tasks are listed, the anonymous user when missing") @Nullable @Header(USER_ID_HEADER) String userId,
+            @Parameter(description = "The maximum number of tasks to return") @Nullable @QueryValue Integer pageSize,
+            @Parameter(description = "The token of the next page returned by the previous call") @Nullable @QueryValue String pageToken,
+            @Parameter(description = "Returns only completed (true) or only not completed (false) tasks") @Nullable @QueryValue Boolean completed,
+            @Parameter(description = "Returns only tasks tagged with these tags") @Nullable @QueryValue List<String> tags,
+            @Parameter(description = "Whether a task needs all of the tags rather than any of them") @Nullable @QueryValue Boolean matchAllTags,
+            @Parameter(description = "Returns only tasks whose title starts with this text") @Nullable @QueryValue String titlePrefix,
+            @Parameter(description = "Returns the most recently created tasks first") @Nullable @QueryValue Boolean newestFirst) {
+        boolean matchAll = Boolean.TRUE.equals(matchAllTags);
+        boolean newest = Boolean.TRUE.equals(newestFirst);
+        if (acceptsNdjson(request)) {
+            StreamAvailableTasksQuery query = new StreamAvailableTasksQuery(userId, completed, tags, matchAll, titlePrefix, newest);
+            try {
+                return HttpResponse.ok(streamAllTasks(query)).contentType(APPLICATION_NDJSON);
+            } catch (DomainException e) {
+                log.debug("Error streaming tasks by query [{}]", query, e);
+                return HttpResponse.badRequest(e.getMessage());
+            } catch (RuntimeException e) {
+                log.error("Error streaming all tasks", e);
+                return HttpResponse.serverError("Something went wrong");
+            }
+        }
         try {
-            List<TaskData> tasks = taskQueryHandler.handle(new GetAvailableTasksQuery());
-            return HttpResponse.ok(new GetAllTasksResponse(tasks));
+            TaskPageData page = taskQueryHandler.handle(
+                    new GetAvailableTasksQuery(userId, pageSize, pageToken, completed, tags, matchAll, titlePrefix, newest));
+            return HttpResponse.ok(new GetAllTasksResponse(page.tasks(), page.nextPageToken()));
+        } catch (DomainException e) {
+            log.debug("Error fetching tasks page, size [{}], token [{}]", pageSize, pageToken, e);
+            return HttpResponse.badRequest(e.getMessage());
         } catch (RuntimeException e) {
             log.error("Error fetching all tasks", e);
             return HttpResponse.serverError("Something went wrong");
         }
     }
 
+    @Operation(summary = "Get tasks by IDs", description = "Retrieves the tasks with the given IDs in the requested order " +
+            "along with the IDs that were not found")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved tasks",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchGetTasksResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Too many IDs",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string", example = "Something went wrong")))
+    })
+    @Post(uri = "/tasks:batchGet", consumes = MediaType.APPLICATION_JSON, produces = MediaType.APPLICATION_JSON)
+    public HttpResponse<?> batchGetTasks(
+            @Parameter(description = "The ID of the user whose tasks are returned, the anonymous user when missing") @Nullable @Header(USER_ID_HEADER) String userId,
+            @Body BatchGetTasksRequest request) {
+        try {
+            List<String> ids = request.ids() == null ? List.of() : request.ids();
+            BatchGetTasksData result = taskQueryHandler.handle(new BatchGetTasksQuery(userId, ids));
+            return HttpResponse.ok(new BatchGetTasksResponse(result.tasks(), result.missingIds()));
+        } catch (DomainException e) {
+            log.debug("Error fetching tasks by IDs [{}]", request.ids(), e);
+            return HttpResponse.badRequest(e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Error fetching tasks by IDs", e);
+            return HttpResponse.serverError("Something went wrong");
+        }
+    }
+
     @Operation(summary = "Create a new task", description = "Creates a new task with the provided details")
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "Task created successfully",
@@ -68,9 +157,11 @@ public class TaskManagerRestController {
                     content = @Content(mediaType = "text/plain", schema = @Schema(type = "string", example = "Something went wrong")))
     })
     @Post(uri = "/tasks", consumes = MediaType.APPLICATION_JSON, produces = MediaType.APPLICATION_JSON)
-    public HttpResponse<?> createTask(@Body CreateTaskRequest createTaskRequest) {
+    public HttpResponse<?> createTask(
+            @Parameter(description = "The ID of the user who owns the task, the anonymous user when missing") @Nullable @Header(USER_ID_HEADER) String userId,
+            @Body CreateTaskRequest createTaskRequest) {
         try {
-            TaskData createdTask = taskCommandHandler.handle(new CreateTaskCommand(createTaskRequest.title(), createTaskRequest.description()));
+            TaskData createdTask = taskCommandHandler.handle(new CreateTaskCommand(userId, createTaskRequest.title(), createTaskRequest.description()));
             return HttpResponse.created(createdTask);
         } catch (DomainException e) {
             log.debug("Error creating task by request [{}]", createTaskRequest, e);
@@ -81,6 +172,65 @@ public class TaskManagerRestController {
         }
     }
 
+    @Operation(summary = "Create and complete tasks in batch", description = "Creates and completes many tasks in a single call. " +
+            "Items are processed independently and the result of each item is reported in the order of the request")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch processed, see the status of each item",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchTasksResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Too many items in the batch",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string", example = "Something went wrong")))
+    })
+    @Post(uri = "/tasks:batch", consumes = MediaType.APPLICATION_JSON, produces = MediaType.APPLICATION_JSON)
+    public HttpResponse<?> batchTasks(
+            @Parameter(description = "The ID of the user who owns the created tasks, the anonymous user when missing") @Nullable @Header(USER_ID_HEADER) String userId,
+            @Body BatchTasksRequest request) {
+        try {
+            List<CreateTaskCommand> create = request.create() == null ? List.of() : request.create().stream()
+                    .map(task -> new CreateTaskCommand(task.title(), task.description()))
+                    .toList();
+            List<CompleteTaskCommand> complete = request.complete() == null ? List.of() : request.complete().stream()
+                    .map(CompleteTaskCommand::new)
+                    .toList();
+            BatchTaskResultData result = taskCommandHandler.handle(new BatchTaskCommand(userId, create, complete));
+            return HttpResponse.ok(new BatchTasksResponse(result.created(), result.completed()));
+        } catch (DomainException e) {
+            log.debug("Error processing batch of tasks", e);
+            return HttpResponse.badRequest(e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Error processing batch of tasks", e);
+            return HttpResponse.serverError("Something went wrong");
+        }
+    }
+
+    @Operation(summary = "Complete matching tasks", description = "Completes every not completed task that matches " +
+            "the given tags and title prefix with a single update, however many tasks match. Tags or a title prefix are required")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Matching tasks completed, see the number of completed tasks",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CompleteMatchingTasksResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid tag, or neither tags nor a title prefix given",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string", example = "Something went wrong")))
+    })
+    @Post(uri = "/tasks:complete", consumes = MediaType.APPLICATION_JSON, produces = MediaType.APPLICATION_JSON)
+    public HttpResponse<?> completeMatchingTasks(
+            @Parameter(description = "The ID of the user who owns the tasks, the anonymous user when missing") @Nullable @Header(USER_ID_HEADER) String userId,
+            @Body CompleteMatchingTasksRequest request) {
+        try {
+            CompleteMatchingTasksResultData result = taskCommandHandler.handle(new CompleteMatchingTasksCommand(
+                    userId, request.tags(), Boolean.TRUE.equals(request.matchAllTags()), request.titlePrefix()));
+            return HttpResponse.ok(new CompleteMatchingTasksResponse(result.completedCount()));
+        } catch (DomainException e) {
+            log.debug("Error completing tasks by request [{}]", request, e);
+            return HttpResponse.badRequest(e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Error completing tasks by request [{}]", request, e);
+            return HttpResponse.serverError("Something went wrong");
+        }
+    }
+
     @Operation(summary = "Find task by ID", description = "Retrieves a task by its unique identifier")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Task found",
@@ -93,9 +243,11 @@ public class TaskManagerRestController {
                     content = @Content(mediaType = "text/plain", schema = @Schema(type = "string", example = "Something went wrong")))
     })
     @Get(uri = "/tasks/{id}", produces = MediaType.APPLICATION_JSON)
-    public HttpResponse<?> findTaskById(@Parameter(description = "The unique identifier of the task") @PathVariable("id") String id) {
+    public HttpResponse<?> findTaskById(
+            @Parameter(description = "The ID of the user who owns the task, the anonymous user when missing") @Nullable @Header(USER_ID_HEADER) String userId,
+            @Parameter(description = "The unique identifier of the task") @PathVariable("id") String id) {
         try {
-            TaskData taskData = taskQueryHandler.handle(new FindTaskByIdQuery(id));
+            TaskData taskData = taskQueryHandler.handle(new FindTaskByIdQuery(userId, id));
             return HttpResponse.ok(taskData);
         } catch (TaskNotFoundException e) {
             log.debug("Error finding task by id [{}]", id, e);
@@ -117,20 +269,26 @@ public class TaskManagerRestController {
                     content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))),
             @ApiResponse(responseCode = "404", description = "Task not found",
                     content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))),
+            @ApiResponse(responseCode = "409", description = "Task was modified concurrently",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain", schema = @Schema(type = "string", example = "Something went wrong")))
     })
     @Put(uri = "/tasks/{id}", consumes = MediaType.APPLICATION_JSON, produces = MediaType.APPLICATION_JSON)
     public HttpResponse<?> updateTask(
+            @Parameter(description = "The ID of the user who owns the task, the anonymous user when missing") @Nullable @Header(USER_ID_HEADER) String userId,
             @Parameter(description = "The unique identifier of the task to update") @PathVariable("id") String id,
             @Body UpdateTaskRequest request) {
         try {
-            UpdateTaskCommand command = new UpdateTaskCommand(id, request.title(), request.description());
+            UpdateTaskCommand command = new UpdateTaskCommand(userId, id, request.title(), request.description());
             TaskData updatedTask = taskCommandHandler.handle(command);
             return HttpResponse.ok(updatedTask);
         } catch (TaskNotFoundException e) {
             log.debug("Error updating task by id [{}], request [{}]", id, request, e);
             return HttpResponse.notFound(e.getMessage());
+        } catch (TaskConcurrentModificationException e) {
+            log.debug("Error updating task by id [{}], request [{}]", id, request, e);
+            return HttpResponse.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (DomainException e) {
             log.debug("Error updating task by id [{}], request [{}]", id, request, e);
             return HttpResponse.badRequest(e.getMessage());
@@ -148,17 +306,24 @@ public class TaskManagerRestController {
                     content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))),
             @ApiResponse(responseCode = "404", description = "Task not found",
                     content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))),
+            @ApiResponse(responseCode = "409", description = "Task was modified concurrently",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "text/plain", schema = @Schema(type = "string", example = "Something went wrong")))
     })
     @Post(uri = "/tasks/{id}/complete", produces = MediaType.APPLICATION_JSON, consumes = MediaType.APPLICATION_JSON)
-    public HttpResponse<?> completeTask(@Parameter(description = "The unique identifier of the task to complete") @PathVariable("id") String id) {
+    public HttpResponse<?> completeTask(
+            @Parameter(description = "The ID of the user who owns the task, the anonymous user when missing") @Nullable @Header(USER_ID_HEADER) String userId,
+            @Parameter(description = "The unique identifier of the task to complete") @PathVariable("id") String id) {
         try {
-            TaskData taskData = taskCommandHandler.handle(new CompleteTaskCommand(id));
+            TaskData taskData = taskCommandHandler.handle(new CompleteTaskCommand(userId, id));
             return HttpResponse.ok(taskData);
         } catch (TaskNotFoundException e) {
             log.debug("Error completing task by id [{}]", id, e);
             return HttpResponse.notFound(e.getMessage()); // TODO: Create object with standard error messages
+        } catch (TaskConcurrentModificationException e) {
+            log.debug("Error completing task by id [{}]", id, e);
+            return HttpResponse.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (DomainException e) {
             log.debug("Error completing task by id [{}]", id, e);
             return HttpResponse.badRequest(e.getMessage());
@@ -190,4 +355,40 @@ public class TaskManagerRestController {
             return HttpResponse.serverError("Something went wrong");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Negotiation is done here rather than with a second route: a separate {@code produces} route
+     * makes requests without an explicit Accept header (or with a wildcard one) ambiguous.
+     */
+    private static boolean acceptsNdjson(HttpRequest<?> request) {
+        return request.accept().stream().anyMatch(mediaType -> APPLICATION_NDJSON.equals(mediaType.getName()));
+    }
+
+
+    /**
+     * Tasks are pulled from the Mongo cursor one by one as the HTTP channel requests more items,
+     * so neither the full list nor the whole response is ever buffered in memory.
+     * With the reactive persistence adapter enabled no thread is blocked while waiting for the next batch.
+     * The query is handled before the response is returned, so invalid parameters are rejected with a status code
+     * instead of failing a stream that has already started.
+     */
+    private Flux<byte[]> streamAllTasks(StreamAvailableTasksQuery query) {
+        Flux<TaskData> tasks = reactiveTaskQueryHandler.isPresent()
+                ? reactiveTaskQueryHandler.get().handle(query)
+                : Flux.fromStream(taskQueryHandler.handle(query)).subscribeOn(Schedulers.boundedElastic());
+        return tasks
+                .map(this::toJsonLine)
+                .doOnError(e -> log.error("Error streaming all tasks", e));
+    }
+
+    private byte[] toJsonLine(TaskData taskData) {
+        try {
+            byte[] json = jsonMapper.writeValueAsBytes(taskData);
+            byte[] line = Arrays.copyOf(json, json.length + 1);
+            line[json.length] = '\n';
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
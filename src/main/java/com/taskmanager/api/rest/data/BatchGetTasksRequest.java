@@ -0,0 +1,10 @@
+package com.taskmanager.api.rest.data;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+@Serdeable
+public record BatchGetTasksRequest(@Nullable List<String> ids) {
+}
@@ -0,0 +1,12 @@
+package com.taskmanager.api.rest.data;
+
+import com.taskmanager.application.port.inbound.task.data.TaskData;
+import io.micronaut.serde.annotation.Serdeable;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+@Serdeable
+public record BatchGetTasksResponse(@Nullable List<TaskData> tasks,
+                                    @Nullable List<String> missingIds) {
+}
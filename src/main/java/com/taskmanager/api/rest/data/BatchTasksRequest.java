@@ -0,0 +1,11 @@
+package com.taskmanager.api.rest.data;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+@Serdeable
+public record BatchTasksRequest(@Nullable List<CreateTaskRequest> create,
+                                @Nullable List<String> complete) {
+}
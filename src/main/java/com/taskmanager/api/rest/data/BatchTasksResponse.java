@@ -0,0 +1,11 @@
+package com.taskmanager.api.rest.data;
+
+import com.taskmanager.application.port.inbound.task.data.TaskResultData;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.List;
+
+@Serdeable
+public record BatchTasksResponse(List<TaskResultData> created,
+                                 List<TaskResultData> completed) {
+}
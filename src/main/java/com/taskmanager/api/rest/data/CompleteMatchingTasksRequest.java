@@ -0,0 +1,12 @@
+package com.taskmanager.api.rest.data;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+@Serdeable
+public record CompleteMatchingTasksRequest(@Nullable List<String> tags,
+                                           @Nullable Boolean matchAllTags,
+                                           @Nullable String titlePrefix) {
+}
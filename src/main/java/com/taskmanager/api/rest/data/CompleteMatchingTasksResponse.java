@@ -0,0 +1,7 @@
+package com.taskmanager.api.rest.data;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+@Serdeable
+public record CompleteMatchingTasksResponse(long completedCount) {
+}
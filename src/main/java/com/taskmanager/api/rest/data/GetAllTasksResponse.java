@@ -7,5 +7,6 @@ import javax.annotation.Nullable;
 import java.util.List;
 
 @Serdeable
-public record GetAllTasksResponse(@Nullable List<TaskData> tasks) {
+public record GetAllTasksResponse(@Nullable List<TaskData> tasks,
+                                  @Nullable String nextPageToken) {
 }
@@ -2,6 +2,7 @@ package com.taskmanager.application.domain.assistent;
 
 import com.taskmanager.application.domain.task.Task;
 import com.taskmanager.application.domain.task.valueobject.TaskStatus;
+import com.taskmanager.application.domain.user.valueobject.UserId;
 import com.taskmanager.application.port.outbound.task.TaskQueryRepository;
 import dev.langchain4j.agent.tool.ToolSpecification;
 import dev.langchain4j.service.tool.ToolExecutor;
@@ -11,9 +12,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Stream;
 
 @Slf4j
 @Singleton
@@ -35,16 +36,17 @@ public class AssistantTools {
     }
 
     private @Nonnull String getTasksWithTodoStatus() {
-        List<Task> tasks = taskQueryRepository.findByStatus(TaskStatus.TODO);
-
         StringBuilder tasksMessage = new StringBuilder();
         tasksMessage.append("<tasks>");
-        tasks.forEach(task -> tasksMessage.append("<task>")
-                .append("<id>").append(Objects.requireNonNull(task.getId()).value()).append("</id>")
-                .append("<title>").append(task.getTitle()).append("</title>")
-                .append("<description>").append(task.getDescription()).append("</description>")
-                .append("</task>")
-        );
+        // the assistant keeps a single conversation for all callers, so it must not see tasks of identified users
+        try (Stream<Task> tasks = taskQueryRepository.streamByStatus(UserId.ANONYMOUS, TaskStatus.TODO)) {
+            tasks.forEach(task -> tasksMessage.append("<task>")
+                    .append("<id>").append(Objects.requireNonNull(task.getId()).value()).append("</id>")
+                    .append("<title>").append(task.getTitle()).append("</title>")
+                    .append("<description>").append(task.getDescription()).append("</description>")
+                    .append("</task>")
+            );
+        }
         tasksMessage.append("</tasks>");
 
         return tasksMessage.toString();
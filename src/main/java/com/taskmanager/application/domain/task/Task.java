@@ -34,6 +34,12 @@ public class Task implements Entity<TaskId> {
 
     private final Set<TagId> tagIds = new LinkedHashSet<>(MAX_TAGS_SIZE);
 
+    // version of the stored state the task was restored from, used to detect concurrent modifications
+    private long version;
+
+    // fields changed since the task was restored from its state, lets repositories write only what changed
+    private final Set<TaskField> changedFields = EnumSet.noneOf(TaskField.class);
+
     public Task(@Nonnull TaskTitle title, @Nonnull UserId userId) {
         this.userId = userId;
         this.title = title;
@@ -42,7 +48,10 @@ public class Task implements Entity<TaskId> {
     }
 
     public void markComplete() {
-        this.status = TaskStatus.COMPLETED;
+        if (this.status != TaskStatus.COMPLETED) {
+            this.status = TaskStatus.COMPLETED;
+            changedFields.add(TaskField.STATUS);
+        }
     }
 
     public boolean isCompleted() {
@@ -53,11 +62,15 @@ public class Task implements Entity<TaskId> {
         if ((this.tagIds.size() + tags.length) > MAX_TAGS_SIZE) {
             throw new DomainException("Task cannot have more than " + MAX_TAGS_SIZE + " tags");
         }
-        this.tagIds.addAll(Arrays.asList(tags));
+        if (this.tagIds.addAll(Arrays.asList(tags))) {
+            changedFields.add(TaskField.TAGS);
+        }
     }
 
     public void removeTags(@Nonnull TagId... tags) {
-        Arrays.asList(tags).forEach(this.tagIds::remove);
+        if (this.tagIds.removeAll(Arrays.asList(tags))) {
+            changedFields.add(TaskField.TAGS);
+        }
     }
 
     public @Nonnull List<TagId> getTags() {
@@ -73,7 +86,10 @@ public class Task implements Entity<TaskId> {
     }
 
     public void setTitle(@Nonnull TaskTitle title) {
-        this.title = title;
+        if (!this.title.equals(title)) {
+            this.title = title;
+            changedFields.add(TaskField.TITLE);
+        }
     }
 
     public @Nonnull TaskDescription getDescription() {
@@ -81,13 +97,28 @@ public class Task implements Entity<TaskId> {
     }
 
     public void setDescription(@Nonnull TaskDescription description) {
-        this.description = description;
+        if (!this.description.equals(description)) {
+            this.description = description;
+            changedFields.add(TaskField.DESCRIPTION);
+        }
     }
 
     public @Nonnull UserId getUserId() {
         return userId;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the fields changed since the task was restored from its state. Always empty for a restored task
+     * that was not modified; for a new task all fields are new regardless of what is returned here.
+     */
+    public @Nonnull Set<TaskField> getChangedFields() {
+        return changedFields.isEmpty() ? Set.of() : EnumSet.copyOf(changedFields);
+    }
+
     // ------ State Conversion ------
 
     public @Nonnull TaskState toState() {
@@ -102,6 +133,7 @@ public class Task implements Entity<TaskId> {
                 .tags(tagIds.stream()
                         .map(TagId::value)
                         .toList())
+                .version(version)
                 .build();
     }
 
@@ -110,6 +142,7 @@ public class Task implements Entity<TaskId> {
         task.id = TaskId.from(Objects.requireNonNull(state.id()));
         task.description = TaskDescription.from(state.description());
         task.status = TaskStatus.valueOf(state.status());
+        task.version = state.version();
         if (CollectionUtils.isNotEmpty(state.tags())) {
             task.tagIds.addAll(state.tags()
                     .stream()
@@ -0,0 +1,8 @@
+package com.taskmanager.application.domain.task;
+
+/**
+ * Mutable fields of a {@link Task}, used to tell a repository which parts of a loaded task were changed.
+ */
+public enum TaskField {
+    TITLE, DESCRIPTION, STATUS, TAGS
+}
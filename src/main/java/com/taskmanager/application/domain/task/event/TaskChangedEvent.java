@@ -0,0 +1,22 @@
+package com.taskmanager.application.domain.task.event;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * A stored task was created, changed or deleted, by this or any other application instance.
+ * Without a task ID any task may have changed, e.g. when changes could not be tracked for a while.
+ * The owner of the task is known only when the change reports it, e.g. from a sharded collection.
+ */
+public record TaskChangedEvent(
+        @Nullable String taskId,
+        @Nullable String userId
+) {
+
+    public TaskChangedEvent(@Nullable String taskId) {
+        this(taskId, null);
+    }
+
+    public static TaskChangedEvent anyTask() {
+        return new TaskChangedEvent(null, null);
+    }
+}
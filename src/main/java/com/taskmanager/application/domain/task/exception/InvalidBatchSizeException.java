@@ -0,0 +1,9 @@
+package com.taskmanager.application.domain.task.exception;
+
+import com.taskmanager.application.domain.shared.DomainException;
+
+public class InvalidBatchSizeException extends DomainException {
+    public InvalidBatchSizeException(String message) {
+        super(message);
+    }
+}
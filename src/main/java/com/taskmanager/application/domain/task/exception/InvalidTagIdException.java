@@ -0,0 +1,9 @@
+package com.taskmanager.application.domain.task.exception;
+
+import com.taskmanager.application.domain.shared.DomainException;
+
+public class InvalidTagIdException extends DomainException {
+    public InvalidTagIdException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.taskmanager.application.domain.task.exception;
+
+import com.taskmanager.application.domain.shared.DomainException;
+
+public class MissingTaskCriteriaException extends DomainException {
+    public MissingTaskCriteriaException(String message) {
+        super(message);
+    }
+}
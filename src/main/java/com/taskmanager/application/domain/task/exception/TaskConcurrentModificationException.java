@@ -0,0 +1,11 @@
+package com.taskmanager.application.domain.task.exception;
+
+import com.taskmanager.application.domain.shared.DomainException;
+import com.taskmanager.application.domain.task.valueobject.TaskId;
+
+public class TaskConcurrentModificationException extends DomainException {
+
+    public TaskConcurrentModificationException(TaskId taskId) {
+        super("Task with id " + taskId.value() + " was modified concurrently");
+    }
+}
@@ -13,7 +13,8 @@ public record TaskState(
         @Nonnull String title,
         @Nullable String description,
         @Nonnull String status,
-        @Nullable List<String> tags
+        @Nullable List<String> tags,
+        long version
 ) {
 
     public static @Nonnull TaskStateBuilder copy(@Nonnull TaskState state) {
@@ -23,6 +24,7 @@ public record TaskState(
                 .title(state.title())
                 .description(state.description())
                 .status(state.status())
-                .tags(state.tags());
+                .tags(state.tags())
+                .version(state.version());
     }
 }
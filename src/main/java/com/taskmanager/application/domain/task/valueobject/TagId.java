@@ -1,5 +1,6 @@
 package com.taskmanager.application.domain.task.valueobject;
 
+import com.taskmanager.application.domain.task.exception.InvalidTagIdException;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.util.StringUtils;
 
@@ -9,11 +10,11 @@ public record TagId(@NonNull String value) {
     public TagId {
         value = (value == null) ? null : value.trim();
         if (StringUtils.isEmpty(value)) {
-            throw new IllegalArgumentException("Tag ID cannot be empty");
+            throw new InvalidTagIdException("Tag ID cannot be empty");
         }
     }
 
-    public static @NonNull TagId from(@NonNull String value) {
+    public static @NonNull TagId from(@NonNull String value) throws InvalidTagIdException {
         return new TagId(value);
     }
 }
@@ -0,0 +1,15 @@
+package com.taskmanager.application.domain.task.valueobject;
+
+/**
+ * How a list of tags selects tasks.
+ */
+public enum TagMatch {
+    /**
+     * Tasks with at least one of the tags.
+     */
+    ANY,
+    /**
+     * Tasks with every one of the tags.
+     */
+    ALL
+}
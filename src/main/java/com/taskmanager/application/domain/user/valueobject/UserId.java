@@ -2,9 +2,15 @@ package com.taskmanager.application.domain.user.valueobject;
 
 import io.micronaut.core.util.StringUtils;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 
 public record UserId(@Nonnull String value) {
 
+    /**
+     * The owner of tasks created by callers that do not identify themselves.
+     */
+    public static final UserId ANONYMOUS = new UserId("anonymous");
+
     @SuppressWarnings("ConstantValue")
     public UserId {
         value = (value == null) ? null : value.trim();
@@ -16,4 +22,8 @@ public record UserId(@Nonnull String value) {
     public static @Nonnull UserId from(@Nonnull String value) {
         return new UserId(value);
     }
+
+    public static @Nonnull UserId orAnonymous(@Nullable String value) {
+        return (value == null || value.isBlank()) ? ANONYMOUS : new UserId(value);
+    }
 }
@@ -0,0 +1,25 @@
+package com.taskmanager.application.port.inbound.task;
+
+import com.taskmanager.application.domain.task.exception.InvalidTagIdException;
+import com.taskmanager.application.port.inbound.task.data.TaskData;
+import com.taskmanager.application.port.inbound.task.query.StreamAvailableTasksQuery;
+import reactor.core.publisher.Flux;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Non-blocking counterpart of {@link TaskQueryHandler} for streaming task lists.
+ * Available only when the reactive persistence adapter is enabled.
+ */
+public interface ReactiveTaskQueryHandler {
+
+    /**
+     * Handles the query to stream available tasks. Tasks are fetched from the database as they are requested.
+     *
+     * @param query the query to stream available tasks
+     * @return a Flux of task data
+     * @throws InvalidTagIdException if a tag is invalid, thrown on the call so that no stream is started
+     */
+    @Nonnull
+    Flux<TaskData> handle(@Nonnull StreamAvailableTasksQuery query);
+}
@@ -1,12 +1,20 @@
 package com.taskmanager.application.port.inbound.task;
 
+import com.taskmanager.application.domain.task.exception.InvalidBatchSizeException;
+import com.taskmanager.application.domain.task.exception.InvalidTagIdException;
 import com.taskmanager.application.domain.task.exception.InvalidTaskDescriptionException;
 import com.taskmanager.application.domain.task.exception.InvalidTaskIdException;
 import com.taskmanager.application.domain.task.exception.InvalidTaskTitleException;
+import com.taskmanager.application.domain.task.exception.MissingTaskCriteriaException;
+import com.taskmanager.application.domain.task.exception.TaskConcurrentModificationException;
 import com.taskmanager.application.domain.task.exception.TaskNotFoundException;
+import com.taskmanager.application.port.inbound.task.command.BatchTaskCommand;
+import com.taskmanager.application.port.inbound.task.command.CompleteMatchingTasksCommand;
 import com.taskmanager.application.port.inbound.task.command.CompleteTaskCommand;
 import com.taskmanager.application.port.inbound.task.command.CreateTaskCommand;
 import com.taskmanager.application.port.inbound.task.command.UpdateTaskCommand;
+import com.taskmanager.application.port.inbound.task.data.BatchTaskResultData;
+import com.taskmanager.application.port.inbound.task.data.CompleteMatchingTasksResultData;
 import com.taskmanager.application.port.inbound.task.data.TaskData;
 
 import javax.annotation.Nonnull;
@@ -34,6 +42,7 @@ public interface TaskCommandHandler {
      * @throws InvalidTaskIdException          if the task ID is invalid
      * @throws InvalidTaskTitleException       if the task title is invalid
      * @throws InvalidTaskDescriptionException if the task description is invalid
+     * @throws TaskConcurrentModificationException if the task keeps being modified concurrently
      */
     @Nonnull
     TaskData handle(@Nonnull UpdateTaskCommand command);
@@ -45,9 +54,34 @@ public interface TaskCommandHandler {
      * @return the completed task data
      * @throws InvalidTaskIdException if the task ID is invalid
      * @throws TaskNotFoundException  if the task is not found
+     * @throws TaskConcurrentModificationException if the task keeps being modified concurrently
      */
     @Nonnull
     TaskData handle(@Nonnull CompleteTaskCommand command);
 
+    /**
+     * Handles creation and completion of many tasks at once, writing all of them in a single round trip.
+     * Items are processed independently: an invalid, missing or concurrently modified task is reported
+     * in its own result and does not fail the other items. Concurrent modifications are not retried.
+     *
+     * @param command the command containing the tasks to create and the IDs of the tasks to complete
+     * @return the result of each item, in the order of the items in the command
+     * @throws InvalidBatchSizeException if the command contains too many items
+     */
+    @Nonnull
+    BatchTaskResultData handle(@Nonnull BatchTaskCommand command);
+
+    /**
+     * Handles the completion of all not completed tasks that match the criteria of the command. The tasks are
+     * completed by a single update in the repository, however many tasks match, without loading them first.
+     *
+     * @param command the command containing the criteria of the tasks to complete
+     * @return the number of completed tasks
+     * @throws InvalidTagIdException         if a tag is invalid
+     * @throws MissingTaskCriteriaException if neither tags nor a title prefix are given
+     */
+    @Nonnull
+    CompleteMatchingTasksResultData handle(@Nonnull CompleteMatchingTasksCommand command);
+
     // TODO: add remove command
 }
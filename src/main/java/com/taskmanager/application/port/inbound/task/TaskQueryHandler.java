@@ -1,13 +1,21 @@
 package com.taskmanager.application.port.inbound.task;
 
+import com.taskmanager.application.domain.task.exception.InvalidBatchSizeException;
+import com.taskmanager.application.domain.task.exception.InvalidPageSizeException;
+import com.taskmanager.application.domain.task.exception.InvalidPageTokenException;
+import com.taskmanager.application.domain.task.exception.InvalidTagIdException;
 import com.taskmanager.application.domain.task.exception.InvalidTaskIdException;
 import com.taskmanager.application.domain.task.exception.TaskNotFoundException;
+import com.taskmanager.application.port.inbound.task.data.BatchGetTasksData;
 import com.taskmanager.application.port.inbound.task.data.TaskData;
+import com.taskmanager.application.port.inbound.task.data.TaskPageData;
+import com.taskmanager.application.port.inbound.task.query.BatchGetTasksQuery;
 import com.taskmanager.application.port.inbound.task.query.FindTaskByIdQuery;
 import com.taskmanager.application.port.inbound.task.query.GetAvailableTasksQuery;
+import com.taskmanager.application.port.inbound.task.query.StreamAvailableTasksQuery;
 
 import javax.annotation.Nonnull;
-import java.util.List;
+import java.util.stream.Stream;
 
 public interface TaskQueryHandler {
 
@@ -23,11 +31,35 @@ public interface TaskQueryHandler {
     TaskData handle(@Nonnull FindTaskByIdQuery query);
 
     /**
-     * Handles the query to get all available tasks.
+     * Handles the query to get several tasks by their IDs with a single repository lookup.
      *
-     * @param query the query to get available tasks
-     * @return the list of task data
+     * @param query the query containing the task IDs
+     * @return the found tasks in the order of the requested IDs and the IDs that were not found
+     * @throws InvalidBatchSizeException if the query contains too many IDs
+     * @throws InvalidTaskIdException    if a task ID is empty
      */
     @Nonnull
-    List<TaskData> handle(@Nonnull GetAvailableTasksQuery query);
+    BatchGetTasksData handle(@Nonnull BatchGetTasksQuery query);
+
+    /**
+     * Handles the query to get a page of available tasks.
+     *
+     * @param query the query containing the page size and the continuation token
+     * @return the page of task data with the token for the next page, if any
+     * @throws InvalidPageSizeException  if the page size is not positive
+     * @throws InvalidPageTokenException if the page token is malformed
+     */
+    @Nonnull
+    TaskPageData handle(@Nonnull GetAvailableTasksQuery query);
+
+    /**
+     * Handles the query to stream all available tasks. Tasks are decoded one by one as the stream is consumed.
+     * The stream holds an open database cursor and must be closed, e.g. with try-with-resources.
+     *
+     * @param query the query to stream available tasks
+     * @return the stream of task data
+     * @throws InvalidTagIdException if a tag is invalid
+     */
+    @Nonnull
+    Stream<TaskData> handle(@Nonnull StreamAvailableTasksQuery query);
 }
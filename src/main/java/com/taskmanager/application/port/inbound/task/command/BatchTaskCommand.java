@@ -0,0 +1,18 @@
+package com.taskmanager.application.port.inbound.task.command;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * @param userId the ID of the user who owns the created and the completed tasks, or null for the anonymous user.
+ *               The user IDs of the individual commands are not used
+ */
+public record BatchTaskCommand(@Nullable String userId,
+                               @Nonnull List<CreateTaskCommand> create,
+                               @Nonnull List<CompleteTaskCommand> complete) {
+
+    public BatchTaskCommand(@Nonnull List<CreateTaskCommand> create, @Nonnull List<CompleteTaskCommand> complete) {
+        this(null, create, complete);
+    }
+}
@@ -0,0 +1,26 @@
+package com.taskmanager.application.port.inbound.task.command;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Command to complete every not completed task of a user that matches the criteria.
+ *
+ * @param userId       the ID of the user who owns the tasks, or null for the anonymous user
+ * @param tags         completes only tasks tagged with these tags, or tasks with any tags when empty
+ * @param matchAllTags completes tasks with every one of the tags (true) or with any of them (false)
+ * @param titlePrefix  completes only tasks whose title starts with this text, or tasks with any title when null or empty
+ */
+public record CompleteMatchingTasksCommand(@Nullable String userId,
+                                           List<String> tags,
+                                           boolean matchAllTags,
+                                           @Nullable String titlePrefix) {
+
+    public CompleteMatchingTasksCommand {
+        tags = tags == null ? List.of() : List.copyOf(tags);
+    }
+
+    public CompleteMatchingTasksCommand(List<String> tags, boolean matchAllTags, @Nullable String titlePrefix) {
+        this(null, tags, matchAllTags, titlePrefix);
+    }
+}
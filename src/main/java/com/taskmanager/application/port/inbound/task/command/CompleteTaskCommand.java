@@ -1,6 +1,14 @@
 package com.taskmanager.application.port.inbound.task.command;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
-public record CompleteTaskCommand(@Nonnull String taskId) {
+/**
+ * @param userId the ID of the user who owns the task, or null for the anonymous user
+ */
+public record CompleteTaskCommand(@Nullable String userId, @Nonnull String taskId) {
+
+    public CompleteTaskCommand(@Nonnull String taskId) {
+        this(null, taskId);
+    }
 }
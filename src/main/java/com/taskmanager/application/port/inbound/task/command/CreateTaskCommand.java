@@ -3,5 +3,12 @@ package com.taskmanager.application.port.inbound.task.command;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-public record CreateTaskCommand(@Nonnull String title, @Nullable String description) {
+/**
+ * @param userId the ID of the user who owns the new task, or null for the anonymous user
+ */
+public record CreateTaskCommand(@Nullable String userId, @Nonnull String title, @Nullable String description) {
+
+    public CreateTaskCommand(@Nonnull String title, @Nullable String description) {
+        this(null, title, description);
+    }
 }
@@ -3,8 +3,15 @@ package com.taskmanager.application.port.inbound.task.command;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-public record UpdateTaskCommand(@Nonnull String taskId,
+/**
+ * @param userId the ID of the user who owns the task, or null for the anonymous user
+ */
+public record UpdateTaskCommand(@Nullable String userId,
+                                @Nonnull String taskId,
                                 @Nonnull String title,
                                 @Nullable String description) {
-}
 
+    public UpdateTaskCommand(@Nonnull String taskId, @Nonnull String title, @Nullable String description) {
+        this(null, taskId, title, description);
+    }
+}
@@ -0,0 +1,13 @@
+package com.taskmanager.application.port.inbound.task.data;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.List;
+
+/**
+ * @param tasks      the found tasks, in the order of the requested IDs
+ * @param missingIds the requested IDs that do not belong to a task of the user
+ */
+public record BatchGetTasksData(@NonNull List<TaskData> tasks,
+                                @NonNull List<String> missingIds) {
+}
@@ -0,0 +1,12 @@
+package com.taskmanager.application.port.inbound.task.data;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.List;
+
+/**
+ * Per-item results of a batch command, in the order of the items in the command.
+ */
+public record BatchTaskResultData(@NonNull List<TaskResultData> created,
+                                  @NonNull List<TaskResultData> completed) {
+}
@@ -0,0 +1,7 @@
+package com.taskmanager.application.port.inbound.task.data;
+
+/**
+ * @param completedCount the number of tasks completed by the command, not counting tasks that were already completed
+ */
+public record CompleteMatchingTasksResultData(long completedCount) {
+}
@@ -0,0 +1,10 @@
+package com.taskmanager.application.port.inbound.task.data;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.List;
+
+public record TaskPageData(@NonNull List<TaskData> tasks,
+                           @Nullable String nextPageToken) {
+}
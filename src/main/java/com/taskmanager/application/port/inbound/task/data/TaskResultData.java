@@ -0,0 +1,30 @@
+package com.taskmanager.application.port.inbound.task.data;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.serde.annotation.Serdeable;
+
+/**
+ * Result of a single item of a batch command: the task if the item succeeded, otherwise the reason it failed.
+ */
+@Serdeable
+public record TaskResultData(@NonNull Status status,
+                             @Nullable TaskData task,
+                             @Nullable String error) {
+
+    public enum Status {
+        OK,
+        INVALID,
+        NOT_FOUND,
+        CONFLICT,
+        FAILED
+    }
+
+    public static @NonNull TaskResultData ok(@NonNull TaskData task) {
+        return new TaskResultData(Status.OK, task, null);
+    }
+
+    public static @NonNull TaskResultData failed(@NonNull Status status, @NonNull String error) {
+        return new TaskResultData(status, null, error);
+    }
+}
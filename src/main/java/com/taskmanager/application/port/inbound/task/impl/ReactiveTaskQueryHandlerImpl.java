@@ -0,0 +1,35 @@
+package com.taskmanager.application.port.inbound.task.impl;
+
+import com.taskmanager.application.domain.user.valueobject.UserId;
+import com.taskmanager.application.port.inbound.task.ReactiveTaskQueryHandler;
+import com.taskmanager.application.port.inbound.task.data.TaskData;
+import com.taskmanager.application.port.inbound.task.mapper.TaskDataMapper;
+import com.taskmanager.application.port.inbound.task.mapper.TaskFilterMapper;
+import com.taskmanager.application.port.inbound.task.query.StreamAvailableTasksQuery;
+import com.taskmanager.application.port.outbound.task.ReactiveTaskQueryRepository;
+import com.taskmanager.application.port.outbound.task.TaskFilter;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.NonNull;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+import javax.annotation.Nonnull;
+
+@Singleton
+@RequiredArgsConstructor
+@Requires(beans = ReactiveTaskQueryRepository.class)
+public class ReactiveTaskQueryHandlerImpl implements ReactiveTaskQueryHandler {
+
+    private final ReactiveTaskQueryRepository taskQueryRepository;
+    private final TaskDataMapper taskDataMapper;
+    private final TaskFilterMapper taskFilterMapper;
+
+    @Override
+    public @NonNull Flux<TaskData> handle(@Nonnull StreamAvailableTasksQuery query) {
+        UserId userId = UserId.orAnonymous(query.userId());
+        TaskFilter filter = taskFilterMapper.toFilter(query);
+        return taskQueryRepository.findViews(userId, filter)
+                .map(taskDataMapper::toTaskData);
+    }
+}
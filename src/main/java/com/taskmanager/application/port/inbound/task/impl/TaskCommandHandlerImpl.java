@@ -1,34 +1,69 @@
 package com.taskmanager.application.port.inbound.task.impl;
 
+import com.taskmanager.application.domain.shared.DomainException;
 import com.taskmanager.application.domain.task.Task;
+import com.taskmanager.application.domain.task.exception.InvalidBatchSizeException;
+import com.taskmanager.application.domain.task.exception.MissingTaskCriteriaException;
+import com.taskmanager.application.domain.task.exception.TaskConcurrentModificationException;
 import com.taskmanager.application.domain.task.exception.TaskNotFoundException;
 import com.taskmanager.application.domain.task.valueobject.TaskDescription;
 import com.taskmanager.application.domain.task.valueobject.TaskId;
 import com.taskmanager.application.domain.task.valueobject.TaskTitle;
 import com.taskmanager.application.domain.user.valueobject.UserId;
 import com.taskmanager.application.port.inbound.task.TaskCommandHandler;
+import com.taskmanager.application.port.inbound.task.command.BatchTaskCommand;
+import com.taskmanager.application.port.inbound.task.command.CompleteMatchingTasksCommand;
 import com.taskmanager.application.port.inbound.task.command.CompleteTaskCommand;
 import com.taskmanager.application.port.inbound.task.command.CreateTaskCommand;
 import com.taskmanager.application.port.inbound.task.command.UpdateTaskCommand;
+import com.taskmanager.application.port.inbound.task.data.BatchTaskResultData;
+import com.taskmanager.application.port.inbound.task.data.CompleteMatchingTasksResultData;
 import com.taskmanager.application.port.inbound.task.data.TaskData;
+import com.taskmanager.application.port.inbound.task.data.TaskResultData;
 import com.taskmanager.application.port.inbound.task.mapper.TaskDataMapper;
+import com.taskmanager.application.port.inbound.task.mapper.TaskFilterMapper;
 import com.taskmanager.application.port.outbound.task.TaskCommandRepository;
+import com.taskmanager.application.port.outbound.task.TaskFilter;
+import com.taskmanager.application.port.outbound.task.TaskWriteResult;
+import io.micronaut.context.annotation.Value;
 import io.micronaut.core.annotation.NonNull;
 import jakarta.inject.Singleton;
-import lombok.RequiredArgsConstructor;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 @Singleton
-@RequiredArgsConstructor
 public class TaskCommandHandlerImpl implements TaskCommandHandler {
 
+    static final int MAX_BATCH_SIZE = 1000;
+
     private final TaskCommandRepository taskCommandRepository;
     private final TaskDataMapper taskDataMapper;
+    private final TaskFilterMapper taskFilterMapper;
+
+    // how many times a command is re-applied to a freshly loaded task when a concurrent modification is detected
+    private final int conflictRetries;
+
+    public TaskCommandHandlerImpl(TaskCommandRepository taskCommandRepository,
+                                  TaskDataMapper taskDataMapper,
+                                  TaskFilterMapper taskFilterMapper,
+                                  @Value("${task-manager.commands.conflict-retries:0}") int conflictRetries) {
+        this.taskCommandRepository = taskCommandRepository;
+        this.taskDataMapper = taskDataMapper;
+        this.taskFilterMapper = taskFilterMapper;
+        this.conflictRetries = conflictRetries;
+    }
 
     @Override
     public @NonNull TaskData handle(@Nonnull CreateTaskCommand command) {
-        UserId userId = UserId.from("anonymous"); // TODO: replace with actual user ID
+        UserId userId = UserId.orAnonymous(command.userId());
         TaskTitle taskTitle = TaskTitle.from(command.title());
         TaskDescription taskDescription = TaskDescription.from(command.description());
 
@@ -41,26 +76,127 @@ public class TaskCommandHandlerImpl implements TaskCommandHandler {
 
     @Override
     public @NonNull TaskData handle(@NonNull UpdateTaskCommand command) {
+        UserId userId = UserId.orAnonymous(command.userId());
         TaskId id = TaskId.from(command.taskId());
         TaskTitle taskTitle = TaskTitle.from(command.title());
         TaskDescription taskDescription = TaskDescription.from(command.description());
 
-        Task task = taskCommandRepository.findById(id).orElseThrow(() -> new TaskNotFoundException(id));
-        task.setTitle(taskTitle);
-        task.setDescription(taskDescription);
-
-        task = taskCommandRepository.save(task);
-        return taskDataMapper.toTaskData(task);
+        return modify(userId, id, task -> {
+            task.setTitle(taskTitle);
+            task.setDescription(taskDescription);
+        });
     }
 
     @Override
     public @Nonnull TaskData handle(@Nonnull CompleteTaskCommand command) {
+        UserId userId = UserId.orAnonymous(command.userId());
         TaskId id = TaskId.from(command.taskId());
 
-        Task task = taskCommandRepository.findById(id).orElseThrow(() -> new TaskNotFoundException(id));
-        task.markComplete();
+        return modify(userId, id, Task::markComplete);
+    }
 
-        task = taskCommandRepository.save(task);
-        return taskDataMapper.toTaskData(task);
+    @Override
+    public @Nonnull BatchTaskResultData handle(@Nonnull BatchTaskCommand command) {
+        int createCount = command.create().size();
+        int itemCount = createCount + command.complete().size();
+        if (itemCount > MAX_BATCH_SIZE) {
+            throw new InvalidBatchSizeException("Batch cannot contain more than " + MAX_BATCH_SIZE + " items");
+        }
+        TaskResultData[] results = new TaskResultData[itemCount];
+        List<Task> tasksToSave = new ArrayList<>(itemCount);
+        List<List<Integer>> itemsOfTasksToSave = new ArrayList<>(itemCount);
+
+        UserId userId = UserId.orAnonymous(command.userId());
+        for (int i = 0; i < createCount; i++) {
+            CreateTaskCommand create = command.create().get(i);
+            try {
+                Task task = new Task(TaskTitle.from(create.title()), userId);
+                task.setDescription(TaskDescription.from(create.description()));
+                tasksToSave.add(task);
+                itemsOfTasksToSave.add(List.of(i));
+            } catch (DomainException e) {
+                results[i] = toFailedResult(e);
+            }
+        }
+
+        // the same task may be listed more than once, it is completed once and the result is shared
+        Map<String, TaskId> completeIds = new LinkedHashMap<>();
+        Map<String, List<Integer>> completeItemsById = new LinkedHashMap<>();
+        for (int i = createCount; i < itemCount; i++) {
+            try {
+                TaskId id = TaskId.from(command.complete().get(i - createCount).taskId());
+                completeIds.putIfAbsent(normalize(id.value()), id);
+                completeItemsById.computeIfAbsent(normalize(id.value()), key -> new ArrayList<>()).add(i);
+            } catch (DomainException e) {
+                results[i] = toFailedResult(e);
+            }
+        }
+        for (Task task : taskCommandRepository.findAllById(userId, List.copyOf(completeIds.values()))) {
+            List<Integer> items = completeItemsById.remove(normalize(Objects.requireNonNull(task.getId()).value()));
+            if (items != null) {
+                task.markComplete();
+                tasksToSave.add(task);
+                itemsOfTasksToSave.add(items);
+            }
+        }
+        completeItemsById.forEach((key, items) -> items.forEach(i -> results[i] = toFailedResult(new TaskNotFoundException(completeIds.get(key)))));
+
+        List<TaskWriteResult> writeResults = tasksToSave.isEmpty() ? List.of() : taskCommandRepository.saveAll(tasksToSave);
+        for (int t = 0; t < writeResults.size(); t++) {
+            TaskWriteResult writeResult = writeResults.get(t);
+            TaskResultData result = writeResult.isSaved()
+                    ? TaskResultData.ok(taskDataMapper.toTaskData(writeResult.task()))
+                    : toFailedResult(writeResult.error());
+            itemsOfTasksToSave.get(t).forEach(i -> results[i] = result);
+        }
+
+        List<TaskResultData> allResults = Arrays.asList(results);
+        return new BatchTaskResultData(List.copyOf(allResults.subList(0, createCount)), List.copyOf(allResults.subList(createCount, itemCount)));
+    }
+
+    @Override
+    public @Nonnull CompleteMatchingTasksResultData handle(@Nonnull CompleteMatchingTasksCommand command) {
+        UserId userId = UserId.orAnonymous(command.userId());
+        TaskFilter filter = taskFilterMapper.toFilter(command);
+        if (filter.tags().isEmpty() && filter.titlePrefix() == null) {
+            // a bulk completion cannot be undone, so completing all tasks by accident is ruled out
+            throw new MissingTaskCriteriaException("Tags or a title prefix are required to complete matching tasks");
+        }
+        return new CompleteMatchingTasksResultData(taskCommandRepository.completeAll(userId, filter));
+    }
+
+    private static String normalize(String taskId) {
+        return taskId.toLowerCase(Locale.ROOT); // task IDs are hex strings, stored in lower case
+    }
+
+    private static TaskResultData toFailedResult(RuntimeException e) {
+        if (e instanceof TaskNotFoundException) {
+            return TaskResultData.failed(TaskResultData.Status.NOT_FOUND, e.getMessage());
+        }
+        if (e instanceof TaskConcurrentModificationException) {
+            return TaskResultData.failed(TaskResultData.Status.CONFLICT, e.getMessage());
+        }
+        if (e instanceof DomainException) {
+            return TaskResultData.failed(TaskResultData.Status.INVALID, e.getMessage());
+        }
+        return TaskResultData.failed(TaskResultData.Status.FAILED, "Task cannot be saved");
+    }
+
+    /**
+     * Loads the task, applies the change and saves it. If the task was modified by someone else in between,
+     * the change is re-applied to the latest state up to the configured number of times.
+     */
+    private TaskData modify(UserId userId, TaskId id, Consumer<Task> change) throws TaskConcurrentModificationException {
+        for (int attempt = 0; ; attempt++) {
+            Task task = taskCommandRepository.findById(userId, id).orElseThrow(() -> new TaskNotFoundException(id));
+            change.accept(task);
+            try {
+                return taskDataMapper.toTaskData(taskCommandRepository.save(task));
+            } catch (TaskConcurrentModificationException e) {
+                if (attempt >= conflictRetries) {
+                    throw e;
+                }
+            }
+        }
     }
 }
\ No newline at end of file
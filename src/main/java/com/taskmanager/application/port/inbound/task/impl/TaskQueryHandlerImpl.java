@@ -1,40 +1,125 @@
 package com.taskmanager.application.port.inbound.task.impl;
 
+import com.taskmanager.application.domain.task.TaskView;
+import com.taskmanager.application.domain.task.exception.InvalidBatchSizeException;
+import com.taskmanager.application.domain.task.exception.InvalidPageSizeException;
 import com.taskmanager.application.domain.task.exception.TaskNotFoundException;
 import com.taskmanager.application.domain.task.valueobject.TaskId;
+import com.taskmanager.application.domain.user.valueobject.UserId;
 import com.taskmanager.application.port.inbound.task.TaskQueryHandler;
+import com.taskmanager.application.port.inbound.task.data.BatchGetTasksData;
 import com.taskmanager.application.port.inbound.task.data.TaskData;
+import com.taskmanager.application.port.inbound.task.data.TaskPageData;
 import com.taskmanager.application.port.inbound.task.mapper.TaskDataMapper;
+import com.taskmanager.application.port.inbound.task.mapper.TaskFilterMapper;
+import com.taskmanager.application.port.inbound.task.mapper.TaskPageTokenMapper;
+import com.taskmanager.application.port.inbound.task.query.BatchGetTasksQuery;
 import com.taskmanager.application.port.inbound.task.query.FindTaskByIdQuery;
 import com.taskmanager.application.port.inbound.task.query.GetAvailableTasksQuery;
+import com.taskmanager.application.port.inbound.task.query.StreamAvailableTasksQuery;
+import com.taskmanager.application.port.outbound.task.TaskFilter;
 import com.taskmanager.application.port.outbound.task.TaskQueryRepository;
 import io.micronaut.core.annotation.NonNull;
 import jakarta.inject.Singleton;
 import lombok.RequiredArgsConstructor;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Singleton
 @RequiredArgsConstructor
 public class TaskQueryHandlerImpl implements TaskQueryHandler {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    static final int MAX_BATCH_GET_SIZE = 1000;
+
     private final TaskQueryRepository taskQueryRepository;
     private final TaskDataMapper taskDataMapper;
+    private final TaskPageTokenMapper taskPageTokenMapper;
+    private final TaskFilterMapper taskFilterMapper;
 
     @Override
     public @NonNull TaskData handle(@Nonnull FindTaskByIdQuery query) {
+        UserId userId = UserId.orAnonymous(query.userId());
         TaskId id = TaskId.from(query.taskId());
-        return taskQueryRepository.findById(id)
+        return taskQueryRepository.findById(userId, id)
                 .map(taskDataMapper::toTaskData)
                 .orElseThrow(() -> new TaskNotFoundException(id));
     }
 
     @Override
-    public @NonNull List<TaskData> handle(@Nonnull GetAvailableTasksQuery query) {
-        return taskQueryRepository.findAll()
-                .stream()
+    public @NonNull BatchGetTasksData handle(@Nonnull BatchGetTasksQuery query) {
+        if (query.taskIds().size() > MAX_BATCH_GET_SIZE) {
+            throw new InvalidBatchSizeException("Cannot get more than " + MAX_BATCH_GET_SIZE + " tasks at once");
+        }
+        UserId userId = UserId.orAnonymous(query.userId());
+        List<TaskId> ids = query.taskIds().stream()
+                .map(TaskId::from)
+                .distinct()
+                .toList();
+
+        // the repository returns the tasks in no particular order, so they are put back into the requested one
+        Map<String, TaskData> tasksById = taskQueryRepository.findAllById(userId, ids).stream()
+                .map(taskDataMapper::toTaskData)
+                .collect(Collectors.toMap(task -> normalize(task.id()), Function.identity()));
+        List<TaskData> tasks = new ArrayList<>(ids.size());
+        List<String> missingIds = new ArrayList<>();
+        for (TaskId id : ids) {
+            TaskData task = tasksById.get(normalize(id.value()));
+            if (task != null) {
+                tasks.add(task);
+            } else {
+                missingIds.add(id.value());
+            }
+        }
+        return new BatchGetTasksData(tasks, missingIds);
+    }
+
+    @Override
+    public @NonNull TaskPageData handle(@Nonnull GetAvailableTasksQuery query) {
+        UserId userId = UserId.orAnonymous(query.userId());
+        int pageSize = resolvePageSize(query.pageSize());
+        TaskId lastSeenId = taskPageTokenMapper.toLastSeenTaskId(query.pageToken());
+        TaskFilter filter = taskFilterMapper.toFilter(query);
+
+        // one extra task is requested to find out whether there is a next page without a count query
+        List<TaskView> tasks = taskQueryRepository.findViewsAfter(userId, filter, lastSeenId, pageSize + 1);
+        List<TaskData> page = tasks.stream()
+                .limit(pageSize)
                 .map(taskDataMapper::toTaskData)
                 .toList();
+
+        String nextPageToken = tasks.size() > pageSize
+                ? taskPageTokenMapper.toPageToken(page.getLast().id())
+                : null;
+        return new TaskPageData(page, nextPageToken);
+    }
+
+    @Override
+    public @NonNull Stream<TaskData> handle(@Nonnull StreamAvailableTasksQuery query) {
+        UserId userId = UserId.orAnonymous(query.userId());
+        Stream<TaskView> tasks = taskQueryRepository.streamViews(userId, taskFilterMapper.toFilter(query));
+        return tasks.map(taskDataMapper::toTaskData);
+    }
+
+    private static String normalize(String taskId) {
+        return taskId.toLowerCase(Locale.ROOT); // task IDs are hex strings, stored in lower case
+    }
+
+    private static int resolvePageSize(Integer requestedPageSize) {
+        if (requestedPageSize == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (requestedPageSize <= 0) {
+            throw new InvalidPageSizeException("Page size must be positive");
+        }
+        return Math.min(requestedPageSize, MAX_PAGE_SIZE);
     }
 }
@@ -1,6 +1,7 @@
 package com.taskmanager.application.port.inbound.task.mapper;
 
 import com.taskmanager.application.domain.task.Task;
+import com.taskmanager.application.domain.task.TaskView;
 import com.taskmanager.application.port.inbound.task.data.TaskData;
 import io.micronaut.core.annotation.NonNull;
 import jakarta.inject.Singleton;
@@ -21,4 +22,8 @@ public class TaskDataMapper {
         );
     }
 
+    public @NonNull TaskData toTaskData(@NonNull TaskView view) {
+        return new TaskData(view.id(), view.title(), view.description(), view.completed());
+    }
+
 }
@@ -0,0 +1,59 @@
+package com.taskmanager.application.port.inbound.task.mapper;
+
+import com.taskmanager.application.domain.task.exception.InvalidTagIdException;
+import com.taskmanager.application.domain.task.valueobject.TagId;
+import com.taskmanager.application.domain.task.valueobject.TagMatch;
+import com.taskmanager.application.domain.task.valueobject.TaskStatus;
+import com.taskmanager.application.port.inbound.task.command.CompleteMatchingTasksCommand;
+import com.taskmanager.application.port.inbound.task.query.GetAvailableTasksQuery;
+import com.taskmanager.application.port.inbound.task.query.StreamAvailableTasksQuery;
+import com.taskmanager.application.port.outbound.task.TaskFilter;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.inject.Singleton;
+
+import java.util.List;
+
+/**
+ * Converts the list criteria of queries and commands to a {@link TaskFilter}, so every use case narrows down
+ * a user's tasks the same way.
+ */
+@Singleton
+public class TaskFilterMapper {
+
+    public @NonNull TaskFilter toFilter(@NonNull GetAvailableTasksQuery query) throws InvalidTagIdException {
+        return toFilter(query.completed(), query.tags(), query.matchAllTags(), query.titlePrefix(), query.newestFirst());
+    }
+
+    public @NonNull TaskFilter toFilter(@NonNull StreamAvailableTasksQuery query) throws InvalidTagIdException {
+        return toFilter(query.completed(), query.tags(), query.matchAllTags(), query.titlePrefix(), query.newestFirst());
+    }
+
+    /**
+     * Only not completed tasks match, as completed ones cannot be completed again.
+     */
+    public @NonNull TaskFilter toFilter(@NonNull CompleteMatchingTasksCommand command) throws InvalidTagIdException {
+        return toFilter(false, command.tags(), command.matchAllTags(), command.titlePrefix(), false);
+    }
+
+    private static TaskFilter toFilter(@Nullable Boolean completed,
+                                       List<String> tags,
+                                       boolean matchAllTags,
+                                       @Nullable String titlePrefix,
+                                       boolean newestFirst) {
+        return TaskFilter.builder()
+                .status(toStatus(completed))
+                .tags(tags.stream().map(TagId::from).distinct().toList())
+                .tagMatch(matchAllTags ? TagMatch.ALL : TagMatch.ANY)
+                .titlePrefix(titlePrefix)
+                .newestFirst(newestFirst)
+                .build();
+    }
+
+    private static TaskStatus toStatus(Boolean completed) {
+        if (completed == null) {
+            return null;
+        }
+        return completed ? TaskStatus.COMPLETED : TaskStatus.TODO;
+    }
+}
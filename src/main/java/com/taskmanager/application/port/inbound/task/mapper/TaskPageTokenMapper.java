@@ -0,0 +1,37 @@
+package com.taskmanager.application.port.inbound.task.mapper;
+
+import com.taskmanager.application.domain.task.exception.InvalidPageTokenException;
+import com.taskmanager.application.domain.task.exception.InvalidTaskIdException;
+import com.taskmanager.application.domain.task.valueobject.TaskId;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.StringUtils;
+import jakarta.inject.Singleton;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Converts the ID of the last task on a page to an opaque continuation token and back.
+ * Clients must not rely on the token format.
+ */
+@Singleton
+public class TaskPageTokenMapper {
+
+    public @NonNull String toPageToken(@NonNull String lastTaskId) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(lastTaskId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public @Nullable TaskId toLastSeenTaskId(@Nullable String pageToken) throws InvalidPageTokenException {
+        if (StringUtils.isEmpty(pageToken)) {
+            return null;
+        }
+        try {
+            return TaskId.from(new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException | InvalidTaskIdException e) {
+            throw new InvalidPageTokenException("Page token is invalid");
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.taskmanager.application.port.inbound.task.query;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * @param userId  the ID of the user who owns the tasks, or null for the anonymous user
+ * @param taskIds the IDs of the tasks to get, in the order the tasks are returned
+ */
+public record BatchGetTasksQuery(@Nullable String userId, @Nonnull List<String> taskIds) {
+
+    public BatchGetTasksQuery(@Nonnull List<String> taskIds) {
+        this(null, taskIds);
+    }
+}
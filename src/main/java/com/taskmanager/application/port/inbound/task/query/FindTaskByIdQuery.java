@@ -1,6 +1,14 @@
 package com.taskmanager.application.port.inbound.task.query;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
-public record FindTaskByIdQuery(@Nonnull String taskId) {
+/**
+ * @param userId the ID of the user who owns the task, or null for the anonymous user
+ */
+public record FindTaskByIdQuery(@Nullable String userId, @Nonnull String taskId) {
+
+    public FindTaskByIdQuery(@Nonnull String taskId) {
+        this(null, taskId);
+    }
 }
@@ -1,4 +1,42 @@
 package com.taskmanager.application.port.inbound.task.query;
 
-public record GetAvailableTasksQuery() {
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Query for a single page of available tasks of a user.
+ *
+ * @param userId       the ID of the user whose tasks are listed, or null for the anonymous user
+ * @param pageSize     the maximum number of tasks to return, or null to use the default page size
+ * @param pageToken    the opaque continuation token returned with the previous page, or null for the first page
+ * @param completed    lists only completed (true) or only not completed (false) tasks, or all tasks when null
+ * @param tags         lists only tasks tagged with these tags, or all tasks when empty
+ * @param matchAllTags lists tasks with every one of the tags (true) or with any of them (false)
+ * @param titlePrefix  lists only tasks whose title starts with this text, or all tasks when null or empty
+ * @param newestFirst  lists the most recently created tasks first (true) or the oldest first (false)
+ */
+public record GetAvailableTasksQuery(@Nullable String userId,
+                                     @Nullable Integer pageSize,
+                                     @Nullable String pageToken,
+                                     @Nullable Boolean completed,
+                                     List<String> tags,
+                                     boolean matchAllTags,
+                                     @Nullable String titlePrefix,
+                                     boolean newestFirst) {
+
+    public GetAvailableTasksQuery {
+        tags = tags == null ? List.of() : List.copyOf(tags);
+    }
+
+    public GetAvailableTasksQuery(@Nullable String userId, @Nullable Integer pageSize, @Nullable String pageToken) {
+        this(userId, pageSize, pageToken, null, null, false, null, false);
+    }
+
+    public GetAvailableTasksQuery(@Nullable Integer pageSize, @Nullable String pageToken) {
+        this(null, pageSize, pageToken);
+    }
+
+    public GetAvailableTasksQuery() {
+        this(null, null, null);
+    }
 }
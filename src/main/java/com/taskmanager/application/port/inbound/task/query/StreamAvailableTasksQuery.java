@@ -0,0 +1,38 @@
+package com.taskmanager.application.port.inbound.task.query;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Query for a stream of available tasks of a user.
+ *
+ * @param userId       the ID of the user whose tasks are streamed, or null for the anonymous user
+ * @param completed    streams only completed (true) or only not completed (false) tasks, or all tasks when null
+ * @param tags         streams only tasks tagged with these tags, or all tasks when empty
+ * @param matchAllTags streams tasks with every one of the tags (true) or with any of them (false)
+ * @param titlePrefix  streams only tasks whose title starts with this text, or all tasks when null or empty
+ * @param newestFirst  streams the most recently created tasks first (true) or the oldest first (false)
+ */
+public record StreamAvailableTasksQuery(@Nullable String userId,
+                                        @Nullable Boolean completed,
+                                        List<String> tags,
+                                        boolean matchAllTags,
+                                        @Nullable String titlePrefix,
+                                        boolean newestFirst) {
+
+    public StreamAvailableTasksQuery {
+        tags = tags == null ? List.of() : List.copyOf(tags);
+    }
+
+    public StreamAvailableTasksQuery(@Nullable String userId, @Nullable Boolean completed) {
+        this(userId, completed, null, false, null, false);
+    }
+
+    public StreamAvailableTasksQuery(@Nullable Boolean completed) {
+        this(null, completed);
+    }
+
+    public StreamAvailableTasksQuery() {
+        this(null, null);
+    }
+}
@@ -0,0 +1,25 @@
+package com.taskmanager.application.port.outbound.task;
+
+import com.taskmanager.application.domain.task.TaskView;
+import com.taskmanager.application.domain.user.valueobject.UserId;
+import io.micronaut.core.annotation.NonNull;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking repository interface for streaming task lists.
+ * Tasks are fetched from the database as the subscriber requests them. Lists are always scoped to a single user.
+ */
+public interface ReactiveTaskQueryRepository {
+
+    /**
+     * Retrieves views of all of a user's tasks that match a filter in the order of the filter.
+     * Only the fields a view shows are read and no task is loaded, so it suits lists that are only displayed.
+     * All criteria of the filter are evaluated by the database in a single query.
+     *
+     * @param userId the ID of the user
+     * @param filter the criteria the tasks have to meet and their order
+     * @return a Flux of views of the user's matching tasks
+     */
+    @NonNull
+    Flux<TaskView> findViews(@NonNull UserId userId, @NonNull TaskFilter filter);
+}
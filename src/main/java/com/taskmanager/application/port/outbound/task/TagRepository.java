@@ -0,0 +1,58 @@
+package com.taskmanager.application.port.outbound.task;
+
+import com.taskmanager.application.domain.task.Tag;
+import com.taskmanager.application.domain.task.valueobject.TagId;
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Repository interface for tags. Tags are shared by all users, tasks refer to them by ID.
+ */
+public interface TagRepository {
+
+    /**
+     * Saves a tag. A new tag is given an ID.
+     *
+     * @param tag the tag to save
+     * @return the saved tag
+     */
+    @NonNull
+    Tag save(@NonNull Tag tag);
+
+    /**
+     * Finds a tag by its ID.
+     *
+     * @param id the ID of the tag
+     * @return an Optional containing the found tag, or empty if there is no tag with the ID
+     */
+    @NonNull
+    Optional<Tag> findById(@NonNull TagId id);
+
+    /**
+     * Finds tags by their IDs in a single lookup, e.g. to show the tags of a whole list of tasks.
+     *
+     * @param ids the IDs of the tags
+     * @return the found tags by ID, IDs without a tag are missing from the map
+     */
+    @NonNull
+    Map<TagId, Tag> findAllById(@NonNull Collection<TagId> ids);
+
+    /**
+     * Retrieves all tags ordered by ID.
+     *
+     * @return a list of all tags
+     */
+    @NonNull
+    List<Tag> findAll();
+
+    /**
+     * Deletes a tag. Tasks keep referring to the ID of a deleted tag.
+     *
+     * @param id the ID of the tag to delete
+     */
+    void delete(@NonNull TagId id);
+}
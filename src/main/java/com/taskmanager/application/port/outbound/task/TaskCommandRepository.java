@@ -1,9 +1,13 @@
 package com.taskmanager.application.port.outbound.task;
 
 import com.taskmanager.application.domain.task.Task;
+import com.taskmanager.application.domain.task.exception.TaskConcurrentModificationException;
 import com.taskmanager.application.domain.task.valueobject.TaskId;
+import com.taskmanager.application.domain.user.valueobject.UserId;
 import io.micronaut.core.annotation.NonNull;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -12,23 +16,56 @@ import java.util.Optional;
 public interface TaskCommandRepository {
 
     /**
-     * Finds a task by its ID.
+     * Finds a task of a user by its ID.
      *
-     * @param id the ID of the task
-     * @return an Optional containing the found task, or empty if no task was found
+     * @param userId the ID of the user who owns the task
+     * @param id     the ID of the task
+     * @return an Optional containing the found task, or empty if the user has no task with the ID
      */
     @NonNull
-    Optional<Task> findById(@NonNull TaskId id);
+    Optional<Task> findById(@NonNull UserId userId, @NonNull TaskId id);
 
     /**
-     * Saves a task to the repository.
+     * Finds tasks of a user by their IDs in a single round trip. IDs without a task of the user are skipped.
+     *
+     * @param userId the ID of the user who owns the tasks
+     * @param ids    the IDs of the tasks
+     * @return the found tasks, in no particular order
+     */
+    @NonNull
+    List<Task> findAllById(@NonNull UserId userId, @NonNull Collection<TaskId> ids);
+
+    /**
+     * Saves a task to the repository. An existing task is saved only if it was not modified since it was loaded.
      *
      * @param task the task to save
      * @return the saved task
+     * @throws TaskConcurrentModificationException if the stored task was modified since the given task was loaded
      */
     @NonNull
     Task save(@NonNull Task task);
 
+    /**
+     * Saves the given tasks in a single round trip. Tasks are written independently: a task that cannot be saved,
+     * e.g. because it was modified concurrently, does not prevent the others from being saved.
+     *
+     * @param tasks the tasks to save
+     * @return the result of each write, in the order of the given tasks
+     */
+    @NonNull
+    List<TaskWriteResult> saveAll(@NonNull List<Task> tasks);
+
+    /**
+     * Completes all not completed tasks of a user that match the filter with a single server-side update,
+     * however many tasks match. The sort order of the filter is ignored. Every completed task gets a new version,
+     * so a save of a copy loaded before fails with a concurrent modification.
+     *
+     * @param userId the ID of the user who owns the tasks
+     * @param filter the criteria the tasks must match
+     * @return the number of tasks that were completed
+     */
+    long completeAll(@NonNull UserId userId, @NonNull TaskFilter filter);
+
     /**
      * Deletes a task from the repository.
      *
@@ -0,0 +1,40 @@
+package com.taskmanager.application.port.outbound.task;
+
+import com.taskmanager.application.domain.task.valueobject.TagId;
+import com.taskmanager.application.domain.task.valueobject.TagMatch;
+import com.taskmanager.application.domain.task.valueobject.TaskStatus;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Criteria that narrow down a list of a user's tasks. A task is listed when it meets all given criteria,
+ * criteria that are not given do not restrict the list.
+ *
+ * @param status      only tasks with this status, or tasks with any status when null
+ * @param tags        only tasks tagged with these tags, or tasks with any tags when empty
+ * @param tagMatch    whether a task needs any or all of the tags
+ * @param titlePrefix only tasks whose title starts with this text, matched case-sensitively, or any title when null
+ * @param newestFirst lists tasks by ID descending, i.e. the most recently created first, instead of ascending
+ */
+@Builder
+public record TaskFilter(@Nullable TaskStatus status,
+                         @NonNull List<TagId> tags,
+                         @NonNull TagMatch tagMatch,
+                         @Nullable String titlePrefix,
+                         boolean newestFirst) {
+
+    public static final TaskFilter NONE = TaskFilter.builder().build();
+
+    public TaskFilter {
+        tags = tags == null ? List.of() : List.copyOf(tags);
+        tagMatch = tagMatch == null ? TagMatch.ANY : tagMatch;
+        titlePrefix = (titlePrefix == null || titlePrefix.isEmpty()) ? null : titlePrefix;
+    }
+
+    public static @NonNull TaskFilter byStatus(@NonNull TaskStatus status) {
+        return TaskFilter.builder().status(status).build();
+    }
+}
@@ -1,41 +1,79 @@
 package com.taskmanager.application.port.outbound.task;
 
 import com.taskmanager.application.domain.task.Task;
+import com.taskmanager.application.domain.task.TaskView;
 import com.taskmanager.application.domain.task.valueobject.TaskStatus;
 import com.taskmanager.application.domain.task.valueobject.TaskId;
+import com.taskmanager.application.domain.user.valueobject.UserId;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for read operations on tasks.
+ * Lists are always scoped to a single user, so their cost depends on the user's tasks only.
  */
 public interface TaskQueryRepository {
 
     /**
-     * Finds a task by its ID.
+     * Finds a task of a user by its ID.
      *
-     * @param id the ID of the task
-     * @return an Optional containing the found task, or empty if no task was found
+     * @param userId the ID of the user who owns the task
+     * @param id     the ID of the task
+     * @return an Optional containing the found task, or empty if the user has no task with the ID
      */
     @NonNull
-    Optional<Task> findById(@NonNull TaskId id);
+    Optional<Task> findById(@NonNull UserId userId, @NonNull TaskId id);
 
     /**
-     * Retrieves all tasks from the repository.
+     * Finds tasks of a user by their IDs in a single query.
+     * IDs that are malformed or do not belong to a task of the user are skipped.
      *
-     * @return a list of all tasks
+     * @param userId the ID of the user who owns the tasks
+     * @param ids    the IDs of the tasks
+     * @return the found tasks in no particular order
      */
     @NonNull
-    List<Task> findAll();
+    List<Task> findAllById(@NonNull UserId userId, @NonNull Collection<TaskId> ids);
 
     /**
-     * Finds tasks by status.
+     * Streams tasks of a user by status ordered by ID without loading them into memory at once.
+     * The stream holds an open database cursor and must be closed, e.g. with try-with-resources.
      *
+     * @param userId the ID of the user
      * @param status the status to search for
-     * @return a list of tasks with the specified status
+     * @return a stream of tasks of the user with the specified status
      */
     @NonNull
-    List<Task> findByStatus(@NonNull TaskStatus status);
-}
\ No newline at end of file
+    Stream<Task> streamByStatus(@NonNull UserId userId, @NonNull TaskStatus status);
+
+    /**
+     * Retrieves views of a user's tasks that match a filter, starting right after the given task ID in the order
+     * of the filter (keyset pagination). Only the fields a view shows are read and no task is loaded,
+     * so it suits lists that are only displayed. All criteria of the filter are evaluated by the database in a single query.
+     *
+     * @param userId     the ID of the user
+     * @param filter     the criteria the tasks have to meet and their order
+     * @param lastSeenId the ID of the last task of the previous page, or null to start from the first task
+     * @param limit      the maximum number of views to return
+     * @return a list of at most {@code limit} views of the user's matching tasks
+     */
+    @NonNull
+    List<TaskView> findViewsAfter(@NonNull UserId userId, @NonNull TaskFilter filter, @Nullable TaskId lastSeenId, int limit);
+
+    /**
+     * Streams views of all of a user's tasks that match a filter in the order of the filter,
+     * see {@link #findViewsAfter(UserId, TaskFilter, TaskId, int)}.
+     * The stream holds an open database cursor and must be closed, e.g. with try-with-resources.
+     *
+     * @param userId the ID of the user
+     * @param filter the criteria the tasks have to meet and their order
+     * @return a stream of views of the user's matching tasks
+     */
+    @NonNull
+    Stream<TaskView> streamViews(@NonNull UserId userId, @NonNull TaskFilter filter);
+}
@@ -0,0 +1,24 @@
+package com.taskmanager.application.port.outbound.task;
+
+import com.taskmanager.application.domain.task.Task;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * Result of writing a single task as a part of a batch: either the saved task or the reason it was not saved.
+ */
+public record TaskWriteResult(@Nullable Task task,
+                              @Nullable RuntimeException error) {
+
+    public static @NonNull TaskWriteResult saved(@NonNull Task task) {
+        return new TaskWriteResult(task, null);
+    }
+
+    public static @NonNull TaskWriteResult failed(@NonNull RuntimeException error) {
+        return new TaskWriteResult(null, error);
+    }
+
+    public boolean isSaved() {
+        return error == null;
+    }
+}
@@ -1,6 +1,8 @@
 package com.taskmanager.infrastructure.api;
 
+import com.taskmanager.infrastructure.execution.config.ExecutionConfig;
 import dev.langchain4j.model.anthropic.AnthropicChatModel;
+import dev.langchain4j.model.chat.ChatLanguageModel;
 import io.micronaut.context.annotation.Factory;
 import io.micronaut.context.annotation.Value;
 import jakarta.inject.Singleton;
@@ -12,13 +14,14 @@ public class AnthropicChatModelConfig {
     private String apiKey;
 
     @Singleton
-    public AnthropicChatModel chatModel() {
-        return AnthropicChatModel.builder()
+    public ChatLanguageModel chatModel(ExecutionConfig executionConfig) {
+        AnthropicChatModel chatModel = AnthropicChatModel.builder()
                 .apiKey(apiKey)
                 .modelName("claude-3-haiku-20240307")
                 .maxTokens(1024)
                 .temperature(0.0)
                 .build();
+        return new ConcurrencyLimitedChatLanguageModel(chatModel, executionConfig.getMaxConcurrentLlmCalls());
     }
 
 }
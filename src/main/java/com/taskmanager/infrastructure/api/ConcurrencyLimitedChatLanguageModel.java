@@ -0,0 +1,115 @@
+package com.taskmanager.infrastructure.api;
+
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.listener.ChatModelListener;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.Response;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Chat model decorator that caps the number of calls in flight to the underlying model.
+ * Callers above the limit wait for a permit, which is cheap when they run on virtual threads.
+ */
+@SuppressWarnings("removal")
+public class ConcurrencyLimitedChatLanguageModel implements ChatLanguageModel {
+
+    private final ChatLanguageModel delegate;
+    private final Semaphore permits;
+
+    public ConcurrencyLimitedChatLanguageModel(ChatLanguageModel delegate, int maxConcurrentCalls) {
+        if (maxConcurrentCalls <= 0) {
+            throw new IllegalArgumentException("Max concurrent calls must be positive");
+        }
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+    }
+
+    @Override
+    public ChatResponse chat(ChatRequest chatRequest) {
+        return limited(() -> delegate.chat(chatRequest));
+    }
+
+    @Override
+    public String chat(String userMessage) {
+        return limited(() -> delegate.chat(userMessage));
+    }
+
+    @Override
+    public ChatResponse chat(ChatMessage... messages) {
+        return limited(() -> delegate.chat(messages));
+    }
+
+    @Override
+    public ChatResponse chat(List<ChatMessage> messages) {
+        return limited(() -> delegate.chat(messages));
+    }
+
+    @Override
+    public ChatResponse doChat(ChatRequest chatRequest) {
+        return limited(() -> delegate.doChat(chatRequest));
+    }
+
+    @Override
+    public List<ChatModelListener> listeners() {
+        return delegate.listeners();
+    }
+
+    @Override
+    public ChatRequestParameters defaultRequestParameters() {
+        return delegate.defaultRequestParameters();
+    }
+
+    @Override
+    public Set<Capability> supportedCapabilities() {
+        return delegate.supportedCapabilities();
+    }
+
+    @Override
+    public String generate(String userMessage) {
+        return limited(() -> delegate.generate(userMessage));
+    }
+
+    @Override
+    public Response<AiMessage> generate(ChatMessage... messages) {
+        return limited(() -> delegate.generate(messages));
+    }
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages) {
+        return limited(() -> delegate.generate(messages));
+    }
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages, List<ToolSpecification> toolSpecifications) {
+        return limited(() -> delegate.generate(messages, toolSpecifications));
+    }
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages, ToolSpecification toolSpecification) {
+        return limited(() -> delegate.generate(messages, toolSpecification));
+    }
+
+    private <T> T limited(Supplier<T> call) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a chat model permit", e);
+        }
+        try {
+            return call.get();
+        } finally {
+            permits.release();
+        }
+    }
+}
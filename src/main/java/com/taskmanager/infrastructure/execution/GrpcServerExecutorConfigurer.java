@@ -0,0 +1,27 @@
+package com.taskmanager.infrastructure.execution;
+
+import io.grpc.ServerBuilder;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Makes the gRPC server run service calls on the same executor as the REST handlers.
+ */
+@Singleton
+public class GrpcServerExecutorConfigurer implements BeanCreatedEventListener<ServerBuilder<?>> {
+
+    private final ExecutorService handlerExecutor;
+
+    public GrpcServerExecutorConfigurer(@Named(HandlerExecutorFactory.NAME) ExecutorService handlerExecutor) {
+        this.handlerExecutor = handlerExecutor;
+    }
+
+    @Override
+    public ServerBuilder<?> onCreated(BeanCreatedEvent<ServerBuilder<?>> event) {
+        return event.getBean().executor(handlerExecutor);
+    }
+}
@@ -0,0 +1,33 @@
+package com.taskmanager.infrastructure.execution;
+
+import com.taskmanager.infrastructure.execution.config.ExecutionConfig;
+import io.micronaut.context.annotation.Bean;
+import io.micronaut.context.annotation.Factory;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Provides the executor that runs blocking REST and gRPC handlers.
+ */
+@Slf4j
+@Factory
+public class HandlerExecutorFactory {
+
+    public static final String NAME = "task-manager-handlers";
+
+    @Singleton
+    @Named(NAME)
+    @Bean(preDestroy = "shutdown")
+    public ExecutorService handlerExecutor(ExecutionConfig config) {
+        if (config.isVirtualThreads()) {
+            log.info("Handlers run on virtual threads");
+            // a parked virtual thread costs almost nothing, so slow chats no longer hold back cheap lookups
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("handler-", 0).factory());
+        }
+        return Executors.newCachedThreadPool(Thread.ofPlatform().name("handler-", 0).factory());
+    }
+}
@@ -0,0 +1,33 @@
+package com.taskmanager.infrastructure.execution.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("task-manager.execution")
+public class ExecutionConfig {
+
+    /**
+     * Runs every REST and gRPC call on its own virtual thread instead of a shared pool of platform threads.
+     */
+    private boolean virtualThreads = false;
+
+    /**
+     * Maximum number of LLM calls in flight at once. Further callers wait until a call completes.
+     */
+    private int maxConcurrentLlmCalls = 8;
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public int getMaxConcurrentLlmCalls() {
+        return maxConcurrentLlmCalls;
+    }
+
+    public void setMaxConcurrentLlmCalls(int maxConcurrentLlmCalls) {
+        this.maxConcurrentLlmCalls = maxConcurrentLlmCalls;
+    }
+}
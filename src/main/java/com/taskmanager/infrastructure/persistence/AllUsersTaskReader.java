@@ -0,0 +1,23 @@
+package com.taskmanager.infrastructure.persistence;
+
+import com.taskmanager.application.domain.task.Task;
+import com.taskmanager.application.domain.task.valueobject.TaskId;
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Reads tasks regardless of who owns them. Meant for infrastructure that has to see the whole collection,
+ * like the read model, so it is kept out of the user-scoped repository ports.
+ */
+interface AllUsersTaskReader {
+
+    /**
+     * Streams the tasks of all users ordered by ID, read from the primary.
+     * The stream holds an open database cursor and must be closed, e.g. with try-with-resources.
+     */
+    @NonNull Stream<Task> streamAllUsersTasks();
+
+    @NonNull Optional<Task> findAnyUsersTaskById(@NonNull TaskId id);
+}
@@ -0,0 +1,171 @@
+package com.taskmanager.infrastructure.persistence;
+
+import com.taskmanager.application.domain.task.Task;
+import com.taskmanager.application.domain.task.valueobject.TaskId;
+import com.taskmanager.application.domain.user.valueobject.UserId;
+import com.taskmanager.application.port.outbound.task.TaskCommandRepository;
+import com.taskmanager.application.port.outbound.task.TaskFilter;
+import com.taskmanager.application.port.outbound.task.TaskWriteResult;
+import com.taskmanager.infrastructure.persistence.config.GroupCommitConfig;
+import io.micronaut.context.annotation.Primary;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.util.StringUtils;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces saves arriving within a short window into a single bulk write. Every caller still waits for
+ * the result of its own task, so it sees the same outcome as with a direct save, while bursts of commands
+ * turn into a few writes instead of one write per command.
+ * <p>
+ * A batch is written as soon as it is full or when its first save has waited for the configured delay,
+ * so a save waits at most the delay plus the time of one bulk write.
+ * </p>
+ */
+@Slf4j
+@Primary
+@Singleton
+@Requires(property = "task-manager.persistence.mongodb.group-commit.enabled", value = StringUtils.TRUE)
+public class GroupCommitTaskCommandRepository implements TaskCommandRepository {
+
+    private final TaskCommandRepository delegate;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final ScheduledExecutorService scheduler;
+
+    private final Object lock = new Object();
+    private List<PendingSave> pendingSaves = new ArrayList<>();
+    private boolean closed;
+
+    private record PendingSave(Task task, CompletableFuture<TaskWriteResult> result) {
+    }
+
+    @Inject
+    public GroupCommitTaskCommandRepository(MongoDbTaskRepositoryAdapter delegate, GroupCommitConfig config) {
+        this(delegate, config.getMaxBatchSize(), config.getMaxDelay());
+    }
+
+    GroupCommitTaskCommandRepository(TaskCommandRepository delegate, int maxBatchSize, Duration maxDelay) {
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-group-commit");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public @NonNull Task save(@NonNull Task task) {
+        PendingSave pendingSave = new PendingSave(task, new CompletableFuture<>());
+        List<PendingSave> fullBatch = null;
+        synchronized (lock) {
+            if (closed) {
+                fullBatch = List.of(pendingSave); // the scheduler is shut down, so the save is written on its own
+            } else {
+                pendingSaves.add(pendingSave);
+                if (pendingSaves.size() == 1) {
+                    List<PendingSave> batch = pendingSaves;
+                    scheduler.schedule(() -> writeIfStillPending(batch), maxDelayNanos, TimeUnit.NANOSECONDS);
+                }
+                if (pendingSaves.size() >= maxBatchSize) {
+                    fullBatch = pendingSaves;
+                    pendingSaves = new ArrayList<>();
+                }
+            }
+        }
+        if (fullBatch != null) {
+            write(fullBatch); // on the caller's thread, so a full batch does not wait for the scheduler
+        }
+
+        TaskWriteResult result;
+        try {
+            result = pendingSave.result().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        if (!result.isSaved()) {
+            throw result.error();
+        }
+        return result.task();
+    }
+
+    @Override
+    public @NonNull List<TaskWriteResult> saveAll(@NonNull List<Task> tasks) {
+        return delegate.saveAll(tasks);
+    }
+
+    @Override
+    public @NonNull Optional<Task> findById(@NonNull UserId userId, @NonNull TaskId id) {
+        return delegate.findById(userId, id);
+    }
+
+    @Override
+    public @NonNull List<Task> findAllById(@NonNull UserId userId, @NonNull Collection<TaskId> ids) {
+        return delegate.findAllById(userId, ids);
+    }
+
+    @Override
+    public long completeAll(@NonNull UserId userId, @NonNull TaskFilter filter) {
+        return delegate.completeAll(userId, filter);
+    }
+
+    @Override
+    public void delete(@NonNull Task task) {
+        delegate.delete(task);
+    }
+
+    /**
+     * Writes the saves still waiting for their batch. Saves arriving afterwards are written one by one.
+     */
+    @PreDestroy
+    void close() {
+        List<PendingSave> batch;
+        synchronized (lock) {
+            closed = true;
+            batch = pendingSaves;
+            pendingSaves = new ArrayList<>();
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+        scheduler.shutdown();
+    }
+
+    private void writeIfStillPending(List<PendingSave> batch) {
+        synchronized (lock) {
+            if (pendingSaves != batch) {
+                return; // already written because it got full
+            }
+            pendingSaves = new ArrayList<>();
+        }
+        write(batch);
+    }
+
+    private void write(List<PendingSave> batch) {
+        try {
+            List<TaskWriteResult> results = delegate.saveAll(batch.stream().map(PendingSave::task).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.error("Cannot write batch of {} tasks", batch.size(), e);
+            batch.forEach(pendingSave -> pendingSave.result().completeExceptionally(e));
+        }
+    }
+}
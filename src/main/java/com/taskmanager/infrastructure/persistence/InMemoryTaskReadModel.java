@@ -0,0 +1,327 @@
+package com.taskmanager.infrastructure.persistence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskmanager.application.domain.task.Task;
+import com.taskmanager.application.domain.task.TaskView;
+import com.taskmanager.application.domain.task.event.TaskChangedEvent;
+import com.taskmanager.application.domain.task.exception.InvalidTaskIdException;
+import com.taskmanager.application.domain.task.state.TaskState;
+import com.taskmanager.application.domain.task.valueobject.TagMatch;
+import com.taskmanager.application.domain.task.valueobject.TaskId;
+import com.taskmanager.application.domain.task.valueobject.TaskStatus;
+import com.taskmanager.application.domain.user.valueobject.UserId;
+import com.taskmanager.application.port.outbound.task.TaskFilter;
+import com.taskmanager.application.port.outbound.task.TaskQueryRepository;
+import io.micronaut.context.annotation.Primary;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.annotation.Order;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.TaskScheduler;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Query side of the task repositories held fully in memory: tasks indexed by ID and by user,
+ * each index ordered by ID like the MongoDB queries it replaces. Writes keep going to MongoDB, the model
+ * follows them through {@link TaskChangedEvent}s from the change stream, whichever instance made them.
+ * <p>
+ * The model is filled from a scan of the collection at startup. Until the scan has finished, while it is
+ * repeated after changes could not be tracked and while a failed scan waits to be retried, queries are answered
+ * by MongoDB. Changes reported during a scan are applied once it completes.
+ * </p>
+ */
+@Slf4j
+@Primary
+@Order(-2) // outranks the near cache for reads, the model already holds every task
+@Singleton
+@Requires(property = "task-manager.persistence.mongodb.read-model.enabled", value = StringUtils.TRUE)
+@Requires(property = "task-manager.persistence.mongodb.change-stream.enabled", value = StringUtils.TRUE)
+public class InMemoryTaskReadModel implements TaskQueryRepository {
+
+    private static final Duration INITIAL_RETRY_DELAY = Duration.ofSeconds(1);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(1);
+    private static final Duration DELETED_TASK_RETENTION = Duration.ofMinutes(5);
+
+    private final TaskQueryRepository delegate;
+    private final AllUsersTaskReader allUsersTasks;
+    private final TaskScheduler taskScheduler;
+
+    private final NavigableMap<String, TaskState> tasksById = new ConcurrentSkipListMap<>();
+    private final Map<String, NavigableMap<String, TaskState>> tasksByUser = new ConcurrentHashMap<>();
+    // task IDs are never reused, so any state read of a deleted task is older than its deletion;
+    // the IDs are kept for much longer than a refresh or a scan takes to apply what it read
+    private final Cache<String, Boolean> deletedTaskIds = Caffeine.newBuilder().expireAfterWrite(DELETED_TASK_RETENTION).build();
+
+    private final Object writeLock = new Object();
+    private final Object pendingChangesLock = new Object();
+    private final Set<TaskChangedEvent> pendingChanges = new HashSet<>();
+    private boolean pendingChangeOfAnyTask;
+    private volatile boolean ready;
+    private Duration retryDelay = INITIAL_RETRY_DELAY;
+
+    @Inject
+    public InMemoryTaskReadModel(MongoDbTaskRepositoryAdapter adapter, @Named(TaskExecutors.SCHEDULED) TaskScheduler taskScheduler) {
+        this(adapter, adapter, taskScheduler);
+    }
+
+    InMemoryTaskReadModel(TaskQueryRepository delegate, AllUsersTaskReader allUsersTasks, TaskScheduler taskScheduler) {
+        this.delegate = delegate;
+        this.allUsersTasks = allUsersTasks;
+        this.taskScheduler = taskScheduler;
+    }
+
+    @PostConstruct
+    void start() {
+        startLoad();
+    }
+
+    @EventListener
+    void onTaskChanged(TaskChangedEvent event) {
+        synchronized (pendingChangesLock) {
+            if (!ready) {
+                if (event.taskId() == null) {
+                    pendingChangeOfAnyTask = true;
+                } else {
+                    pendingChanges.add(event);
+                }
+                return;
+            }
+            if (event.taskId() == null) {
+                ready = false;
+            }
+        }
+        if (event.taskId() == null) {
+            startLoad();
+        } else {
+            refresh(event);
+        }
+    }
+
+    /**
+     * Replaces the model with a scan of the collection, then applies the changes reported meanwhile.
+     * The scan is repeated when a change of any task was reported meanwhile, and retried with a growing delay
+     * when it fails.
+     */
+    void load() {
+        boolean rescan = true;
+        while (rescan) {
+            long start = System.nanoTime();
+            synchronized (writeLock) {
+                tasksById.clear();
+                tasksByUser.clear();
+            }
+            try (Stream<Task> tasks = allUsersTasks.streamAllUsersTasks()) {
+                tasks.forEach(task -> apply(task.toState()));
+            } catch (RuntimeException e) {
+                log.error("Cannot load tasks read model, queries keep going to the database, retrying in {}", retryDelay, e);
+                taskScheduler.schedule(retryDelay, this::load);
+                retryDelay = retryDelay.multipliedBy(2).compareTo(MAX_RETRY_DELAY) < 0 ? retryDelay.multipliedBy(2) : MAX_RETRY_DELAY;
+                return;
+            }
+            rescan = applyPendingChanges();
+            if (!rescan) {
+                retryDelay = INITIAL_RETRY_DELAY;
+                log.info("Loaded {} tasks into the read model in {} ms", tasksById.size(), (System.nanoTime() - start) / 1_000_000);
+            }
+        }
+    }
+
+    /**
+     * Applies the changes reported during a scan until none is left, then serves queries from the model.
+     *
+     * @return true if a change of any task was reported, so the scan has to be repeated
+     */
+    private boolean applyPendingChanges() {
+        while (true) {
+            Set<TaskChangedEvent> changes;
+            synchronized (pendingChangesLock) {
+                if (pendingChangeOfAnyTask) {
+                    pendingChangeOfAnyTask = false;
+                    pendingChanges.clear();
+                    return true;
+                }
+                if (pendingChanges.isEmpty()) {
+                    ready = true;
+                    return false;
+                }
+                changes = Set.copyOf(pendingChanges);
+                pendingChanges.clear();
+            }
+            changes.forEach(this::refresh);
+        }
+    }
+
+    private void startLoad() {
+        Thread.ofPlatform().name("task-read-model-load").daemon().start(this::load);
+    }
+
+    boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public @NonNull Optional<Task> findById(@NonNull UserId userId, @NonNull TaskId id) {
+        if (!ready) {
+            return delegate.findById(userId, id);
+        }
+        String owner = MongoDbTaskRepositoryAdapter.normalizeUserId(userId);
+        return Optional.ofNullable(tasksById.get(normalize(id)))
+                .filter(task -> owner.equals(task.userId()))
+                .map(Task::fromState);
+    }
+
+    @Override
+    public @NonNull List<Task> findAllById(@NonNull UserId userId, @NonNull Collection<TaskId> ids) {
+        if (!ready) {
+            return delegate.findAllById(userId, ids);
+        }
+        NavigableMap<String, TaskState> tasks = tasksOf(userId);
+        return ids.stream()
+                .map(TaskId::value)
+                .filter(ObjectId::isValid) // a malformed ID cannot belong to any task
+                .map(id -> tasks.get(new ObjectId(id).toHexString()))
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(Task::fromState)
+                .toList();
+    }
+
+    @Override
+    public @NonNull Stream<Task> streamByStatus(@NonNull UserId userId, @NonNull TaskStatus status) {
+        if (!ready) {
+            return delegate.streamByStatus(userId, status);
+        }
+        return tasksOf(userId).values().stream()
+                .filter(task -> status.name().equals(task.status()))
+                .map(Task::fromState);
+    }
+
+    @Override
+    public @NonNull List<TaskView> findViewsAfter(@NonNull UserId userId, @NonNull TaskFilter filter, @Nullable TaskId lastSeenId, int limit) {
+        if (!ready) {
+            return delegate.findViewsAfter(userId, filter, lastSeenId, limit);
+        }
+        NavigableMap<String, TaskState> tasks = filter.newestFirst() ? tasksOf(userId).descendingMap() : tasksOf(userId);
+        if (lastSeenId != null) {
+            tasks = tasks.tailMap(normalize(lastSeenId), false);
+        }
+        return tasks.values().stream()
+                .filter(task -> matches(task, filter))
+                .limit(limit)
+                .map(InMemoryTaskReadModel::toView)
+                .toList();
+    }
+
+    @Override
+    public @NonNull Stream<TaskView> streamViews(@NonNull UserId userId, @NonNull TaskFilter filter) {
+        if (!ready) {
+            return delegate.streamViews(userId, filter);
+        }
+        NavigableMap<String, TaskState> tasks = filter.newestFirst() ? tasksOf(userId).descendingMap() : tasksOf(userId);
+        return tasks.values().stream()
+                .filter(task -> matches(task, filter))
+                .map(InMemoryTaskReadModel::toView);
+    }
+
+    private static boolean matches(TaskState task, TaskFilter filter) {
+        if (filter.status() != null && !filter.status().name().equals(task.status())) {
+            return false;
+        }
+        if (filter.titlePrefix() != null && !task.title().startsWith(filter.titlePrefix())) {
+            return false;
+        }
+        if (filter.tags().isEmpty()) {
+            return true;
+        }
+        List<String> taskTags = task.tags() == null ? List.of() : task.tags();
+        return filter.tagMatch() == TagMatch.ALL
+                ? filter.tags().stream().allMatch(tag -> taskTags.contains(tag.value()))
+                : filter.tags().stream().anyMatch(tag -> taskTags.contains(tag.value()));
+    }
+
+    /**
+     * Views are built from the held states directly, no task is created on the way.
+     */
+    private static TaskView toView(TaskState task) {
+        return new TaskView(task.id(), task.title(), task.description(), TaskStatus.COMPLETED.name().equals(task.status()));
+    }
+
+    private NavigableMap<String, TaskState> tasksOf(UserId userId) {
+        String key = MongoDbTaskRepositoryAdapter.normalizeUserId(userId);
+        return tasksByUser.getOrDefault(key, Collections.emptyNavigableMap());
+    }
+
+    private void refresh(TaskChangedEvent event) {
+        String taskId = event.taskId();
+        try {
+            // a change that names the owner is looked up on its shard only, otherwise every shard is asked
+            Optional<Task> task = event.userId() == null
+                    ? allUsersTasks.findAnyUsersTaskById(TaskId.from(taskId))
+                    : delegate.findById(UserId.from(event.userId()), TaskId.from(taskId));
+            task.ifPresentOrElse(found -> apply(found.toState()), () -> remove(taskId));
+        } catch (RuntimeException e) {
+            log.error("Cannot refresh task [{}] in the read model", taskId, e);
+        }
+    }
+
+    private void apply(TaskState task) {
+        synchronized (writeLock) {
+            TaskState current = tasksById.get(task.id());
+            if (current != null && current.version() > task.version()) {
+                return; // a newer state was applied by a concurrent refresh
+            }
+            if (deletedTaskIds.getIfPresent(task.id()) != null) {
+                return; // read before the task was deleted, the deletion was already applied
+            }
+            if (current != null) {
+                unindex(current);
+            }
+            tasksById.put(task.id(), task);
+            tasksByUser.computeIfAbsent(task.userId(), key -> new ConcurrentSkipListMap<>()).put(task.id(), task);
+        }
+    }
+
+    private void remove(String taskId) {
+        synchronized (writeLock) {
+            deletedTaskIds.put(taskId, Boolean.TRUE);
+            TaskState removed = tasksById.remove(taskId);
+            if (removed != null) {
+                unindex(removed);
+            }
+        }
+    }
+
+    private void unindex(TaskState task) {
+        Optional.ofNullable(tasksByUser.get(task.userId())).ifPresent(tasks -> tasks.remove(task.id()));
+    }
+
+    private static String normalize(TaskId id) throws InvalidTaskIdException {
+        if (!ObjectId.isValid(id.value())) {
+            throw new InvalidTaskIdException("Task ID has invalid format");
+        }
+        return new ObjectId(id.value()).toHexString(); // the same ordering and spelling as the stored IDs
+    }
+}
@@ -0,0 +1,95 @@
+package com.taskmanager.infrastructure.persistence;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.ReplaceOptions;
+import com.taskmanager.application.domain.task.Tag;
+import com.taskmanager.application.domain.task.valueobject.TagId;
+import com.taskmanager.application.port.outbound.task.TagRepository;
+import com.taskmanager.infrastructure.persistence.codec.TagEntityCodec;
+import com.taskmanager.infrastructure.persistence.entity.TagEntity;
+import com.taskmanager.infrastructure.persistence.mapper.TagEntityMapper;
+import io.micronaut.core.annotation.NonNull;
+import jakarta.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Sorts.ascending;
+import static org.bson.codecs.configuration.CodecRegistries.fromCodecs;
+import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
+
+/**
+ * Tags are shared by all users, so they are kept in the default database rather than routed per user like tasks.
+ */
+@Singleton
+public class MongoDbTagRepositoryAdapter implements TagRepository {
+
+    private final MongoCollection<TagEntity> tagCollection;
+    private final TagEntityMapper tagEntityMapper;
+
+    private static class Field {
+        private static final String ID = "_id";
+    }
+
+    public MongoDbTagRepositoryAdapter(MongoClient mongoClient) {
+        MongoDatabase database = mongoClient.getDatabase("task-manager");
+        this.tagCollection = database
+                .getCollection("tags", TagEntity.class)
+                .withCodecRegistry(fromRegistries(fromCodecs(new TagEntityCodec()), database.getCodecRegistry()));
+        this.tagEntityMapper = new TagEntityMapper();
+    }
+
+    @Override
+    public @NonNull Tag save(@NonNull Tag tag) {
+        TagEntity tagEntity = tagEntityMapper.convertToEntity(tag.toState());
+        if (tagEntity.getId() == null) {
+            tagCollection.insertOne(tagEntity); // the codec sets the generated ID on the entity
+        } else {
+            tagCollection.replaceOne(eq(Field.ID, tagEntity.getId()), tagEntity, new ReplaceOptions().upsert(true));
+        }
+        return Tag.fromState(tagEntityMapper.convertToDomain(tagEntity));
+    }
+
+    @Override
+    public @NonNull Optional<Tag> findById(@NonNull TagId id) {
+        return Optional.ofNullable(tagCollection.find(eq(Field.ID, id.value())).first())
+                .map(tagEntityMapper::convertToDomain)
+                .map(Tag::fromState);
+    }
+
+    @Override
+    public @NonNull Map<TagId, Tag> findAllById(@NonNull Collection<TagId> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        List<String> values = ids.stream().map(TagId::value).distinct().toList();
+        Map<TagId, Tag> tags = new HashMap<>(values.size());
+        tagCollection.find(in(Field.ID, values))
+                .map(tagEntityMapper::convertToDomain)
+                .map(Tag::fromState)
+                .forEach(tag -> tags.put(tag.getId(), tag));
+        return tags;
+    }
+
+    @Override
+    public @NonNull List<Tag> findAll() {
+        return tagCollection.find()
+                .sort(ascending(Field.ID))
+                .map(tagEntityMapper::convertToDomain)
+                .map(Tag::fromState)
+                .into(new ArrayList<>());
+    }
+
+    @Override
+    public void delete(@NonNull TagId id) {
+        tagCollection.deleteOne(eq(Field.ID, id.value()));
+    }
+}
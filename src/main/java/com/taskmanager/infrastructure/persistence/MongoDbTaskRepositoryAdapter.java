@@ -1,89 +1,553 @@
 package com.taskmanager.infrastructure.persistence;
 
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadConcernLevel;
+import com.mongodb.ReadPreference;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.client.result.UpdateResult;
 import com.taskmanager.application.domain.task.Task;
+import com.taskmanager.application.domain.task.TaskField;
+import com.taskmanager.application.domain.task.TaskView;
+import com.taskmanager.application.domain.task.exception.InvalidTaskIdException;
+import com.taskmanager.application.domain.task.exception.TaskConcurrentModificationException;
+import com.taskmanager.application.domain.task.state.TaskState;
+import com.taskmanager.application.domain.task.valueobject.TagId;
+import com.taskmanager.application.domain.task.valueobject.TagMatch;
 import com.taskmanager.application.domain.task.valueobject.TaskStatus;
 import com.taskmanager.application.domain.task.valueobject.TaskId;
+import com.taskmanager.application.domain.user.valueobject.UserId;
 import com.taskmanager.application.port.outbound.task.TaskCommandRepository;
+import com.taskmanager.application.port.outbound.task.TaskFilter;
 import com.taskmanager.application.port.outbound.task.TaskQueryRepository;
+import com.taskmanager.application.port.outbound.task.TaskWriteResult;
+import com.taskmanager.infrastructure.persistence.codec.TaskEntityCodec;
+import com.taskmanager.infrastructure.persistence.codec.TaskViewCodec;
+import com.taskmanager.infrastructure.persistence.config.MongoDbTaskRepositoryConfig;
+import com.taskmanager.infrastructure.persistence.config.ShardingConfig;
 import com.taskmanager.infrastructure.persistence.entity.TaskEntity;
 import com.taskmanager.infrastructure.persistence.mapper.TaskEntityMapper;
+import io.micronaut.configuration.mongo.core.DefaultMongoConfiguration;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import static com.mongodb.client.model.Filters.all;
+import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.gt;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Filters.lt;
+import static com.mongodb.client.model.Filters.ne;
+import static com.mongodb.client.model.Filters.or;
+import static com.mongodb.client.model.Filters.regex;
+import static com.mongodb.client.model.Sorts.ascending;
+import static com.mongodb.client.model.Sorts.descending;
+import static com.mongodb.client.model.Updates.combine;
+import static com.mongodb.client.model.Updates.inc;
+import static com.mongodb.client.model.Updates.set;
+import static org.bson.codecs.configuration.CodecRegistries.fromCodecs;
+import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
 
 @Slf4j
 @Singleton
-public class MongoDbTaskRepositoryAdapter implements TaskCommandRepository, TaskQueryRepository {
+public class MongoDbTaskRepositoryAdapter implements TaskCommandRepository, TaskQueryRepository, AllUsersTaskReader {
 
-    private final MongoCollection<TaskEntity> taskCollection;
+    private final TenantDatabaseRouter router;
+    private final Map<String, TaskCollections> collectionsByDatabase = new LinkedHashMap<>();
+    private final List<MongoClient> tenantClients = new ArrayList<>();
     private final TaskEntityMapper taskEntityMapper;
+    private final int cursorBatchSize;
+    private final MongoDbTaskRepositoryConfig config;
+    private final ShardingConfig shardingConfig;
+
+    /**
+     * @param command reads made before a change and all writes
+     * @param query   lists and streams, may be served by secondaries
+     * @param views   the query collection read into task views
+     */
+    private record TaskCollections(MongoDatabase admin,
+                                   MongoCollection<TaskEntity> command,
+                                   MongoCollection<TaskEntity> query,
+                                   MongoCollection<TaskView> views) {
+    }
 
     private static class Field {
         private static final String ID = "_id";
+        private static final String USER_ID = "userId";
+        private static final String TITLE = "title";
         private static final String STATUS = "status";
+        private static final String TAGS = "tags";
+        private static final String VERSION = "version";
     }
 
-    public MongoDbTaskRepositoryAdapter(MongoClient mongoClient) {
-        this.taskCollection = mongoClient
-                .getDatabase("task-manager")
-                .getCollection("tasks", TaskEntity.class);
+    public MongoDbTaskRepositoryAdapter(MongoClient mongoClient,
+                                        DefaultMongoConfiguration mongoConfiguration,
+                                        MongoDbTaskRepositoryConfig config,
+                                        ShardingConfig shardingConfig,
+                                        TenantDatabaseRouter router) {
+        this.router = router;
         this.taskEntityMapper = new TaskEntityMapper();
+        this.cursorBatchSize = config.getCursorBatchSize();
+        this.config = config;
+        this.shardingConfig = shardingConfig;
+        for (String name : router.databases()) {
+            ConnectionString connectionString = router.connectionString(name);
+            MongoClient client = connectionString == null
+                    ? mongoClient
+                    : MongoClients.create(tenantClientSettings(mongoConfiguration, connectionString));
+            if (client != mongoClient) {
+                tenantClients.add(client);
+            }
+            MongoDatabase database = client.getDatabase(router.databaseName(name));
+            MongoCollection<TaskEntity> taskCollection = database
+                    .getCollection("tasks", TaskEntity.class)
+                    .withCodecRegistry(fromRegistries(fromCodecs(new TaskEntityCodec(), new TaskViewCodec()), database.getCodecRegistry()));
+            MongoCollection<TaskEntity> taskQueryCollection = taskCollection
+                    .withReadPreference(queryReadPreference(config))
+                    .withReadConcern(queryReadConcern(config));
+            collectionsByDatabase.put(name, new TaskCollections(client.getDatabase("admin"),
+                    taskCollection, taskQueryCollection, taskQueryCollection.withDocumentClass(TaskView.class)));
+        }
+    }
+
+    @PostConstruct
+    void reconcileIndexes() {
+        for (TaskCollections collections : collectionsByDatabase.values()) {
+            if (config.isAutoCreateIndexes()) {
+                new TaskIndexReconciler(config.isBuildIndexesInBackground()).reconcile(collections.command());
+            }
+            if (shardingConfig.isEnabled()) {
+                new TaskCollectionSharder(shardingConfig.getKeyType()).shard(collections.admin(), collections.command());
+            }
+        }
+    }
+
+    @PreDestroy
+    void closeTenantClients() {
+        tenantClients.forEach(MongoClient::close);
     }
 
     @Override
     public @NonNull Task save(@NonNull Task task) {
-        TaskEntity taskEntity = taskEntityMapper.convertToEntity(task.toState());
+        TaskState taskState = task.toState();
+        TaskEntity taskEntity = taskEntityMapper.convertToEntity(taskState);
         ObjectId entityId = taskEntity.getId();
+        MongoCollection<TaskEntity> taskCollection = collectionsOf(task.getUserId()).command();
         if (entityId == null) {
             taskCollection.insertOne(taskEntity);
             // TODO: handle mongo exceptions
         } else {
-            // no need to use findAndModify here, as we are using replaceOne that updates the whole state
-            taskCollection.replaceOne(eq(Field.ID, entityId), taskEntity);
+            // only changed fields are sent; any concurrent change, even of another field, fails the version check below
+            // and is reported as a conflict, which TaskCommandHandlerImpl.modify retries on the latest state
+            List<Bson> updates = taskEntityMapper.convertToUpdates(taskState, task.getChangedFields());
+            if (!updates.isEmpty()) {
+                // the version condition makes the write fail instead of silently losing a concurrent update
+                UpdateResult result = taskCollection.updateOne(versionedFilter(taskEntity, taskState.version()), versionedUpdate(updates));
+                if (result.getMatchedCount() == 0) {
+                    throw new TaskConcurrentModificationException(TaskId.from(entityId.toHexString()));
+                }
+                taskEntity.setVersion(taskState.version() + 1);
+            }
         }
         return Task.fromState(taskEntityMapper.convertToDomain(taskEntity));
     }
 
+    /**
+     * Tasks of users routed to different databases are written with one bulk write per database.
+     */
+    @Override
+    public @NonNull List<TaskWriteResult> saveAll(@NonNull List<Task> tasks) {
+        Map<String, List<Integer>> taskIndexesByDatabase = new LinkedHashMap<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            taskIndexesByDatabase.computeIfAbsent(router.route(tasks.get(i).getUserId()), database -> new ArrayList<>()).add(i);
+        }
+        if (taskIndexesByDatabase.size() == 1) {
+            String database = taskIndexesByDatabase.keySet().iterator().next();
+            return saveAll(collectionsByDatabase.get(database).command(), tasks);
+        }
+        TaskWriteResult[] results = new TaskWriteResult[tasks.size()];
+        taskIndexesByDatabase.forEach((database, taskIndexes) -> {
+            List<TaskWriteResult> databaseResults = saveAll(
+                    collectionsByDatabase.get(database).command(), taskIndexes.stream().map(tasks::get).toList());
+            for (int j = 0; j < taskIndexes.size(); j++) {
+                results[taskIndexes.get(j)] = databaseResults.get(j);
+            }
+        });
+        return List.of(results);
+    }
+
+    private List<TaskWriteResult> saveAll(MongoCollection<TaskEntity> taskCollection, List<Task> tasks) {
+        TaskWriteResult[] results = new TaskWriteResult[tasks.size()];
+        List<TaskEntity> entities = new ArrayList<>(tasks.size());
+        List<WriteModel<TaskEntity>> writes = new ArrayList<>(tasks.size());
+        List<Integer> writtenTaskIndexes = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            TaskState taskState = task.toState();
+            TaskEntity taskEntity = taskEntityMapper.convertToEntity(taskState);
+            entities.add(taskEntity);
+            if (taskEntity.getId() == null) {
+                taskEntity.setId(new ObjectId()); // assigned upfront, so the result does not depend on the driver filling it in
+                writes.add(new InsertOneModel<>(taskEntity));
+                writtenTaskIndexes.add(i);
+                continue;
+            }
+            List<Bson> updates = taskEntityMapper.convertToUpdates(taskState, task.getChangedFields());
+            if (updates.isEmpty()) {
+                results[i] = TaskWriteResult.saved(Task.fromState(taskEntityMapper.convertToDomain(taskEntity)));
+            } else {
+                writes.add(new UpdateOneModel<>(versionedFilter(taskEntity, taskState.version()), versionedUpdate(updates)));
+                writtenTaskIndexes.add(i);
+            }
+        }
+        if (writes.isEmpty()) {
+            return List.of(results);
+        }
+
+        // unordered, so one failed write does not stop the rest and the server may apply them in parallel
+        BulkWriteResult bulkResult;
+        Map<Integer, BulkWriteError> writeErrors = new HashMap<>();
+        try {
+            bulkResult = taskCollection.bulkWrite(writes, new BulkWriteOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            bulkResult = e.getWriteResult();
+            e.getWriteErrors().forEach(error -> writeErrors.put(error.getIndex(), error));
+        }
+
+        List<Task> updatedTasks = new ArrayList<>(writes.size());
+        for (int w = 0; w < writes.size(); w++) {
+            if (writes.get(w) instanceof UpdateOneModel<?> && !writeErrors.containsKey(w)) {
+                updatedTasks.add(tasks.get(writtenTaskIndexes.get(w)));
+            }
+        }
+        Set<ObjectId> appliedIds = bulkResult.getMatchedCount() < updatedTasks.size()
+                ? findApplied(taskCollection, updatedTasks)
+                : updatedTasks.stream().map(task -> toObjectId(Objects.requireNonNull(task.getId()))).collect(Collectors.toSet());
+
+        for (int w = 0; w < writes.size(); w++) {
+            int i = writtenTaskIndexes.get(w);
+            TaskEntity taskEntity = entities.get(i);
+            BulkWriteError writeError = writeErrors.get(w);
+            boolean update = writes.get(w) instanceof UpdateOneModel<?>;
+            if (writeError != null) {
+                log.warn("Cannot write task [{}]: {}", taskEntity.getId(), writeError.getMessage());
+                results[i] = TaskWriteResult.failed(new MongoException(writeError.getCode(), writeError.getMessage()));
+            } else if (update && !appliedIds.contains(taskEntity.getId())) {
+                results[i] = TaskWriteResult.failed(new TaskConcurrentModificationException(TaskId.from(taskEntity.getId().toHexString())));
+            } else {
+                if (update) {
+                    taskEntity.setVersion(versionOf(taskEntity) + 1);
+                }
+                results[i] = TaskWriteResult.saved(Task.fromState(taskEntityMapper.convertToDomain(taskEntity)));
+            }
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Completed tasks are excluded from the update, so the modified count is the number of tasks completed by this call.
+     */
+    @Override
+    public long completeAll(@NonNull UserId userId, @NonNull TaskFilter filter) {
+        String completed = TaskStatus.COMPLETED.name();
+        UpdateResult result = collectionsOf(userId).command().updateMany(
+                and(matching(userId, filter, null), ne(Field.STATUS, completed)),
+                versionedUpdate(List.of(set(Field.STATUS, completed))));
+        return result.getModifiedCount();
+    }
+
     @Override
     public void delete(@NonNull Task task) {
         TaskEntity taskEntity = taskEntityMapper.convertToEntity(task.toState());
-        taskCollection.deleteOne(eq(Field.ID, taskEntity.getId()));
+        collectionsOf(task.getUserId()).command()
+                .deleteOne(and(userFilter(taskEntity.getUserId()), eq(Field.ID, taskEntity.getId())));
     }
 
     @Override
-    public @NonNull Optional<Task> findById(@NonNull TaskId id) {
-        TaskEntity taskState = taskCollection.find(eq(Field.ID, new ObjectId(id.value()))).first();
+    public @NonNull Optional<Task> findById(@NonNull UserId userId, @NonNull TaskId id) {
+        TaskEntity taskState = collectionsOf(userId).command()
+                .find(and(userFilter(userId), eq(Field.ID, toObjectId(id))))
+                .first();
         return Optional.ofNullable(taskState)
                 .map(taskEntityMapper::convertToDomain)
                 .map(Task::fromState);
     }
 
+    /**
+     * Finds a task by its ID whoever owns it. Without the owner the lookup is sent to every shard of every database,
+     * so it is meant only for following changes that do not tell the owner of the task.
+     */
     @Override
-    public @NonNull List<Task> findAll() {
-        FindIterable<TaskEntity> entities = taskCollection.find();
-        return StreamSupport.stream(entities.spliterator(), false)
+    public @NonNull Optional<Task> findAnyUsersTaskById(@NonNull TaskId id) {
+        ObjectId objectId = toObjectId(id);
+        return collectionsByDatabase.values().stream()
+                .map(collections -> collections.command().find(eq(Field.ID, objectId)).first())
+                .filter(Objects::nonNull)
+                .findFirst()
                 .map(taskEntityMapper::convertToDomain)
-                .map(Task::fromState)
-                .collect(Collectors.toList());
+                .map(Task::fromState);
     }
 
+    /**
+     * Serves both the command and the query side. The lookup is a single {@code $in} query on the primary,
+     * so tasks are found right after they were written.
+     */
     @Override
-    public @NonNull List<Task> findByStatus(@NonNull TaskStatus status) {
-        FindIterable<TaskEntity> entities = taskCollection.find(eq(Field.STATUS, status.name()));
-        return StreamSupport.stream(entities.spliterator(), false)
+    public @NonNull List<Task> findAllById(@NonNull UserId userId, @NonNull Collection<TaskId> ids) {
+        List<ObjectId> objectIds = ids.stream()
+                .map(TaskId::value)
+                .filter(ObjectId::isValid) // a malformed ID cannot belong to any task
+                .distinct()
+                .map(ObjectId::new)
+                .toList();
+        if (objectIds.isEmpty()) {
+            return List.of();
+        }
+        return collectionsOf(userId).command().find(and(userFilter(userId), in(Field.ID, objectIds)))
                 .map(taskEntityMapper::convertToDomain)
                 .map(Task::fromState)
-                .collect(Collectors.toList());
+                .into(new ArrayList<>(objectIds.size()));
+    }
+
+    @Override
+    public @NonNull Stream<Task> streamByStatus(@NonNull UserId userId, @NonNull TaskStatus status) {
+        Bson filter = and(userFilter(userId), eq(Field.STATUS, status.name()));
+        return stream(collectionsOf(userId).query().find(filter).sort(ascending(Field.ID)));
+    }
+
+    @Override
+    public @NonNull List<TaskView> findViewsAfter(@NonNull UserId userId, @NonNull TaskFilter filter, @Nullable TaskId lastSeenId, int limit) {
+        return collectionsOf(userId).views().find(matching(userId, filter, lastSeenId))
+                .projection(TaskViewCodec.PROJECTION)
+                .sort(orderOf(filter))
+                .limit(limit)
+                .into(new ArrayList<>(limit));
+    }
+
+    @Override
+    public @NonNull Stream<TaskView> streamViews(@NonNull UserId userId, @NonNull TaskFilter filter) {
+        return cursorStream(collectionsOf(userId).views().find(matching(userId, filter, null))
+                .projection(TaskViewCodec.PROJECTION)
+                .sort(orderOf(filter)));
+    }
+
+    /**
+     * Tasks are ordered by ID within each database, the databases follow each other.
+     */
+    @Override
+    public @NonNull Stream<Task> streamAllUsersTasks() {
+        return collectionsByDatabase.values().stream()
+                .flatMap(collections -> stream(collections.command().find().sort(ascending(Field.ID))));
+    }
+
+    private TaskCollections collectionsOf(UserId userId) {
+        return collectionsByDatabase.get(router.route(userId));
+    }
+
+    private Stream<Task> stream(FindIterable<TaskEntity> entities) {
+        return cursorStream(entities)
+                .map(taskEntityMapper::convertToDomain)
+                .map(Task::fromState);
+    }
+
+    /**
+     * Decodes documents lazily from the cursor, so only one batch of documents is held in memory at a time.
+     * Closing the stream closes the cursor.
+     */
+    private <T> Stream<T> cursorStream(FindIterable<T> documents) {
+        MongoCursor<T> cursor = documents.batchSize(cursorBatchSize).cursor();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(cursor::close);
+    }
+
+    /**
+     * A bulk write reports only the total number of matched documents, so when some versioned updates did not match,
+     * the tasks are read back to tell which of them were applied: an update was applied when the task is at the next
+     * version and holds the written values. If another writer made the very same change from the same version
+     * in the meantime, the two cannot be told apart and the write is reported as saved, which leaves the task
+     * as it was requested anyway.
+     */
+    private Set<ObjectId> findApplied(MongoCollection<TaskEntity> taskCollection, List<Task> updatedTasks) {
+        // the owners are part of the filter, so on a sharded collection only their shards are asked
+        Set<Object> userIds = updatedTasks.stream().map(task -> userIdValue(task.getUserId().value())).collect(Collectors.toSet());
+        List<ObjectId> ids = updatedTasks.stream().map(task -> toObjectId(Objects.requireNonNull(task.getId()))).toList();
+        Map<ObjectId, TaskState> storedTasks = new HashMap<>();
+        taskCollection.find(and(in(Field.USER_ID, userIds), in(Field.ID, ids)))
+                .forEach(entity -> storedTasks.put(entity.getId(), taskEntityMapper.convertToDomain(entity)));
+
+        Set<ObjectId> appliedIds = new HashSet<>();
+        for (Task task : updatedTasks) {
+            TaskState written = task.toState();
+            TaskState stored = storedTasks.get(new ObjectId(Objects.requireNonNull(written.id())));
+            if (stored != null && stored.version() == written.version() + 1 && holdsValues(stored, written, task.getChangedFields())) {
+                appliedIds.add(new ObjectId(written.id()));
+            }
+        }
+        return appliedIds;
+    }
+
+    private static boolean holdsValues(TaskState stored, TaskState written, Set<TaskField> fields) {
+        return fields.stream().allMatch(field -> switch (field) {
+            case TITLE -> Objects.equals(stored.title(), written.title());
+            case DESCRIPTION -> Objects.equals(stored.description(), written.description());
+            case STATUS -> Objects.equals(stored.status(), written.status());
+            case TAGS -> Objects.equals(Objects.requireNonNullElse(stored.tags(), List.of()), Objects.requireNonNullElse(written.tags(), List.of()));
+        });
+    }
+
+    private static long versionOf(TaskEntity taskEntity) {
+        return taskEntity.getVersion() == null ? 0 : taskEntity.getVersion();
+    }
+
+    private static Bson versionedFilter(TaskEntity taskEntity, long version) {
+        return and(userFilter(taskEntity.getUserId()), eq(Field.ID, taskEntity.getId()), versionFilter(version));
+    }
+
+    private static Bson versionedUpdate(List<Bson> updates) {
+        return combine(combine(updates), inc(Field.VERSION, 1L));
+    }
+
+    /**
+     * A tenant client takes the application's mongodb.* settings, e.g. the connection pool size and the timeouts,
+     * and the hosts, credentials and options of its own connection string, which win over the configured ones.
+     */
+    static MongoClientSettings tenantClientSettings(DefaultMongoConfiguration mongoConfiguration, ConnectionString connectionString) {
+        return MongoClientSettings.builder(mongoConfiguration.buildSettings())
+                .applyConnectionString(connectionString)
+                .build();
+    }
+
+    static ReadPreference queryReadPreference(MongoDbTaskRepositoryConfig config) {
+        ReadPreference readPreference = ReadPreference.valueOf(config.getQueryReadPreference());
+        if (readPreference.equals(ReadPreference.primary()) || config.getQueryMaxStaleness() == null) {
+            return readPreference; // max staleness applies to secondaries only
+        }
+        return ReadPreference.valueOf(config.getQueryReadPreference(), List.of(),
+                config.getQueryMaxStaleness().toSeconds(), TimeUnit.SECONDS);
+    }
+
+    static ReadConcern queryReadConcern(MongoDbTaskRepositoryConfig config) {
+        return new ReadConcern(ReadConcernLevel.fromString(config.getQueryReadConcern()));
+    }
+
+    /**
+     * The user ID is the shard key, so filters that include it are routed to a single shard.
+     */
+    private static Bson userFilter(UserId userId) {
+        return userFilter(userId.value());
+    }
+
+    private static Bson userFilter(String userId) {
+        return eq(Field.USER_ID, userIdValue(userId));
+    }
+
+    /**
+     * The codec stores user IDs that are valid object IDs as such, so they have to be queried the same way.
+     */
+    private static Object userIdValue(String userId) {
+        return ObjectId.isValid(userId) ? new ObjectId(userId) : userId;
+    }
+
+    /**
+     * The user ID as it is read back from the database, e.g. to compare it with the owner of a loaded task.
+     */
+    static String normalizeUserId(UserId userId) {
+        return userIdValue(userId.value()) instanceof ObjectId objectId ? objectId.toHexString() : userId.value();
+    }
+
+    /**
+     * Compiles a filter into a single query. The user ID always leads, so the query is served by the index
+     * on the user and the most selective other criterion: status or tags. The title prefix is anchored and
+     * escaped, so it stays a plain prefix match.
+     */
+    static Bson matching(UserId userId, TaskFilter filter, @Nullable TaskId lastSeenId) {
+        List<Bson> conditions = new ArrayList<>(5);
+        conditions.add(userFilter(userId));
+        if (filter.status() != null) {
+            conditions.add(eq(Field.STATUS, filter.status().name()));
+        }
+        if (!filter.tags().isEmpty()) {
+            conditions.add(tagFilter(filter.tags(), filter.tagMatch()));
+        }
+        if (filter.titlePrefix() != null) {
+            conditions.add(regex(Field.TITLE, "^" + escapeRegex(filter.titlePrefix())));
+        }
+        if (lastSeenId != null) {
+            ObjectId lastSeen = toObjectId(lastSeenId);
+            conditions.add(filter.newestFirst() ? lt(Field.ID, lastSeen) : gt(Field.ID, lastSeen));
+        }
+        return and(conditions);
+    }
+
+    static Bson orderOf(TaskFilter filter) {
+        return filter.newestFirst() ? descending(Field.ID) : ascending(Field.ID);
+    }
+
+    /**
+     * Tags are stored as an array, so {@code $in} matches tasks with any and {@code $all} tasks with every one of the tags.
+     */
+    static Bson tagFilter(Collection<TagId> tags, TagMatch match) {
+        List<String> values = tags.stream().map(TagId::value).distinct().toList();
+        return match == TagMatch.ALL ? all(Field.TAGS, values) : in(Field.TAGS, values);
+    }
+
+    private static Bson versionFilter(long version) {
+        // documents written before versioning was introduced have no version, which counts as 0
+        return version == 0 ? or(eq(Field.VERSION, 0L), eq(Field.VERSION, null)) : eq(Field.VERSION, version);
+    }
+
+    private static String escapeRegex(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            if ("\\^$.|?*+()[]{}".indexOf(c) >= 0) {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    private static ObjectId toObjectId(TaskId id) throws InvalidTaskIdException {
+        if (!ObjectId.isValid(id.value())) {
+            throw new InvalidTaskIdException("Task ID has invalid format");
+        }
+        return new ObjectId(id.value());
     }
 }
@@ -0,0 +1,205 @@
+package com.taskmanager.infrastructure.persistence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.taskmanager.application.domain.task.Task;
+import com.taskmanager.application.domain.task.TaskView;
+import com.taskmanager.application.domain.task.event.TaskChangedEvent;
+import com.taskmanager.application.domain.task.state.TaskState;
+import com.taskmanager.application.domain.task.valueobject.TaskId;
+import com.taskmanager.application.domain.task.valueobject.TaskStatus;
+import com.taskmanager.application.domain.user.valueobject.UserId;
+import com.taskmanager.application.port.outbound.task.TaskCommandRepository;
+import com.taskmanager.application.port.outbound.task.TaskFilter;
+import com.taskmanager.application.port.outbound.task.TaskQueryRepository;
+import com.taskmanager.application.port.outbound.task.TaskWriteResult;
+import com.taskmanager.infrastructure.persistence.config.NearCacheConfig;
+import io.micronaut.context.annotation.Primary;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.annotation.Order;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Keeps recently read tasks in memory in front of the task repositories, so lookups by ID, including the ones
+ * made before every update and completion, are served without a round trip to MongoDB.
+ * <p>
+ * A cached task is dropped whenever it is saved or deleted through this instance, including saves that failed
+ * because of a concurrent modification, so a retried command always reloads the task. Tasks changed by other
+ * application instances are dropped as soon as the change stream listener reports them, and expire after
+ * the configured time at the latest. Lists and streams are not cached.
+ * </p>
+ */
+@Slf4j
+@Primary
+@Order(-1) // outranks the group commit decorator when both are enabled, this one wraps it
+@Singleton
+@Requires(property = "task-manager.persistence.mongodb.near-cache.enabled", value = StringUtils.TRUE)
+public class NearCacheTaskRepository implements TaskCommandRepository, TaskQueryRepository {
+
+    private final TaskCommandRepository commandDelegate;
+    private final TaskQueryRepository queryDelegate;
+    private final Cache<TaskId, TaskState> cache; // states are immutable, every caller gets its own task
+    private final AtomicLong invalidations = new AtomicLong(); // counted before the tasks are dropped
+
+    @Inject
+    public NearCacheTaskRepository(MongoDbTaskRepositoryAdapter adapter,
+                                   @Nullable GroupCommitTaskCommandRepository groupCommit,
+                                   NearCacheConfig config) {
+        this(groupCommit != null ? groupCommit : adapter, adapter, config.getMaximumSize(), config.getExpireAfterWrite());
+    }
+
+    NearCacheTaskRepository(TaskCommandRepository commandDelegate,
+                            TaskQueryRepository queryDelegate,
+                            long maximumSize,
+                            Duration expireAfterWrite) {
+        this.commandDelegate = commandDelegate;
+        this.queryDelegate = queryDelegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Tasks are cached by ID alone, so a task cached for its owner is not handed out to another user.
+     */
+    @Override
+    public @NonNull Optional<Task> findById(@NonNull UserId userId, @NonNull TaskId id) {
+        TaskState state = cache.get(id, key -> queryDelegate.findById(userId, key).map(Task::toState).orElse(null));
+        return Optional.ofNullable(state).filter(ownedBy(userId)).map(Task::fromState);
+    }
+
+    /**
+     * Unlike a single lookup, the bulk load is not atomic against dropping tasks. When any task was dropped
+     * while it ran, the loaded tasks are dropped again, as they may have been read before the change.
+     */
+    @Override
+    public @NonNull List<Task> findAllById(@NonNull UserId userId, @NonNull Collection<TaskId> ids) {
+        Map<TaskId, TaskState> states = new HashMap<>(cache.getAllPresent(ids));
+        List<TaskId> missingIds = ids.stream().filter(id -> !states.containsKey(id)).distinct().toList();
+        if (!missingIds.isEmpty()) {
+            long invalidationsBefore = invalidations.get();
+            Map<TaskId, TaskState> loaded = new HashMap<>();
+            commandDelegate.findAllById(userId, missingIds)
+                    .forEach(task -> loaded.put(Objects.requireNonNull(task.getId()), task.toState()));
+            cache.putAll(loaded);
+            if (invalidations.get() != invalidationsBefore) {
+                cache.invalidateAll(loaded.keySet());
+            }
+            states.putAll(loaded);
+        }
+        return states.values().stream().filter(ownedBy(userId)).map(Task::fromState).toList();
+    }
+
+    @Override
+    public @NonNull Task save(@NonNull Task task) {
+        try {
+            return commandDelegate.save(task);
+        } finally {
+            invalidate(task);
+        }
+    }
+
+    @Override
+    public @NonNull List<TaskWriteResult> saveAll(@NonNull List<Task> tasks) {
+        try {
+            return commandDelegate.saveAll(tasks);
+        } finally {
+            tasks.forEach(this::invalidate);
+        }
+    }
+
+    /**
+     * The completed tasks are not known here, so all cached tasks of the user are dropped.
+     */
+    @Override
+    public long completeAll(@NonNull UserId userId, @NonNull TaskFilter filter) {
+        try {
+            return commandDelegate.completeAll(userId, filter);
+        } finally {
+            invalidations.incrementAndGet();
+            cache.asMap().values().removeIf(ownedBy(userId));
+        }
+    }
+
+    @Override
+    public void delete(@NonNull Task task) {
+        try {
+            commandDelegate.delete(task);
+        } finally {
+            invalidate(task);
+        }
+    }
+
+    @Override
+    public @NonNull Stream<Task> streamByStatus(@NonNull UserId userId, @NonNull TaskStatus status) {
+        return queryDelegate.streamByStatus(userId, status);
+    }
+
+    @Override
+    public @NonNull List<TaskView> findViewsAfter(@NonNull UserId userId, @NonNull TaskFilter filter, @Nullable TaskId lastSeenId, int limit) {
+        return queryDelegate.findViewsAfter(userId, filter, lastSeenId, limit);
+    }
+
+    @Override
+    public @NonNull Stream<TaskView> streamViews(@NonNull UserId userId, @NonNull TaskFilter filter) {
+        return queryDelegate.streamViews(userId, filter);
+    }
+
+    /**
+     * Drops tasks changed by any application instance, see {@link TaskChangeStreamListener}.
+     */
+    @EventListener
+    void onTaskChanged(TaskChangedEvent event) {
+        invalidations.incrementAndGet();
+        if (event.taskId() == null) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(TaskId.from(event.taskId()));
+        }
+    }
+
+    public @NonNull CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Scheduled(fixedDelay = "${task-manager.persistence.mongodb.near-cache.stats-log-interval:5m}")
+    void logStats() {
+        CacheStats stats = cache.stats();
+        log.info("Task near cache: size [{}], hits [{}], misses [{}], hit rate [{}], evictions [{}]",
+                cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                String.format("%.2f", stats.hitRate()), stats.evictionCount());
+    }
+
+    private static Predicate<TaskState> ownedBy(UserId userId) {
+        String owner = MongoDbTaskRepositoryAdapter.normalizeUserId(userId);
+        return state -> owner.equals(state.userId());
+    }
+
+    private void invalidate(Task task) {
+        if (task.getId() != null) { // a new task cannot be cached yet
+            invalidations.incrementAndGet();
+            cache.invalidate(task.getId());
+        }
+    }
+}
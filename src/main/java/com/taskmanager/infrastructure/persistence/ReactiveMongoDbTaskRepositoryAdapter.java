@@ -0,0 +1,85 @@
+package com.taskmanager.infrastructure.persistence;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import com.taskmanager.application.domain.task.TaskView;
+import com.taskmanager.application.domain.user.valueobject.UserId;
+import com.taskmanager.application.port.outbound.task.ReactiveTaskQueryRepository;
+import com.taskmanager.application.port.outbound.task.TaskFilter;
+import com.taskmanager.infrastructure.persistence.codec.TaskViewCodec;
+import com.taskmanager.infrastructure.persistence.config.MongoDbTaskRepositoryConfig;
+import io.micronaut.configuration.mongo.core.DefaultMongoConfiguration;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.util.StringUtils;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.taskmanager.infrastructure.persistence.MongoDbTaskRepositoryAdapter.matching;
+import static com.taskmanager.infrastructure.persistence.MongoDbTaskRepositoryAdapter.orderOf;
+import static org.bson.codecs.configuration.CodecRegistries.fromCodecs;
+import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
+
+/**
+ * Streams task lists on the Reactive Streams driver. It reads the same collection and documents
+ * as {@link MongoDbTaskRepositoryAdapter}, but never blocks the calling thread.
+ */
+@Singleton
+@Requires(property = "task-manager.persistence.mongodb.reactive.enabled", value = StringUtils.TRUE)
+public class ReactiveMongoDbTaskRepositoryAdapter implements ReactiveTaskQueryRepository {
+
+    private final TenantDatabaseRouter router;
+    private final Map<String, MongoCollection<TaskView>> viewsByDatabase = new HashMap<>();
+    private final List<MongoClient> tenantClients = new ArrayList<>();
+    private final int cursorBatchSize;
+
+    public ReactiveMongoDbTaskRepositoryAdapter(MongoClient mongoClient,
+                                                DefaultMongoConfiguration mongoConfiguration,
+                                                MongoDbTaskRepositoryConfig config,
+                                                TenantDatabaseRouter router) {
+        this.router = router;
+        this.cursorBatchSize = config.getCursorBatchSize();
+        for (String name : router.databases()) {
+            ConnectionString connectionString = router.connectionString(name);
+            MongoClient client = connectionString == null
+                    ? mongoClient
+                    : MongoClients.create(MongoDbTaskRepositoryAdapter.tenantClientSettings(mongoConfiguration, connectionString));
+            if (client != mongoClient) {
+                tenantClients.add(client);
+            }
+            MongoDatabase database = client.getDatabase(router.databaseName(name));
+            MongoCollection<TaskView> views = database
+                    .getCollection("tasks", TaskView.class)
+                    .withCodecRegistry(fromRegistries(fromCodecs(new TaskViewCodec()), database.getCodecRegistry()))
+                    .withReadPreference(MongoDbTaskRepositoryAdapter.queryReadPreference(config))
+                    .withReadConcern(MongoDbTaskRepositoryAdapter.queryReadConcern(config));
+            viewsByDatabase.put(name, views);
+        }
+    }
+
+    @PreDestroy
+    void closeTenantClients() {
+        tenantClients.forEach(MongoClient::close);
+    }
+
+    /**
+     * The driver fetches the next batch only when the subscriber has requested more documents,
+     * so a slow subscriber never has more than one batch buffered.
+     */
+    @Override
+    public @NonNull Flux<TaskView> findViews(@NonNull UserId userId, @NonNull TaskFilter filter) {
+        return Flux.defer(() -> Flux.from(viewsByDatabase.get(router.route(userId)).find(matching(userId, filter, null))
+                .projection(TaskViewCodec.PROJECTION)
+                .sort(orderOf(filter))
+                .batchSize(cursorBatchSize)));
+    }
+}
@@ -0,0 +1,138 @@
+package com.taskmanager.infrastructure.persistence;
+
+import com.taskmanager.application.domain.task.Tag;
+import com.taskmanager.application.domain.task.state.TagState;
+import com.taskmanager.application.domain.task.valueobject.TagId;
+import com.taskmanager.application.port.outbound.task.TagRepository;
+import io.micronaut.context.annotation.Primary;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tags held fully in memory by ID, so the name and description of any tag are resolved without a database lookup,
+ * also for the tags of a whole list of tasks at once.
+ * <p>
+ * The dictionary is filled from the tags collection at startup. Writes go through it to MongoDB and are applied
+ * right away, changes made by other instances are picked up by reloading the whole dictionary at a fixed delay,
+ * as tags are few and small. Until the first load has succeeded, lookups are answered by MongoDB.
+ * </p>
+ */
+@Slf4j
+@Primary
+@Singleton
+@Requires(property = "task-manager.persistence.mongodb.tag-dictionary.enabled", value = StringUtils.TRUE)
+public class TagDictionary implements TagRepository {
+
+    private final TagRepository delegate;
+
+    private final Object writeLock = new Object();
+    private volatile Map<TagId, TagState> tagsById; // null until loaded
+
+    @Inject
+    public TagDictionary(MongoDbTagRepositoryAdapter adapter) {
+        this((TagRepository) adapter);
+    }
+
+    TagDictionary(TagRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @PostConstruct
+    void start() {
+        load();
+    }
+
+    /**
+     * Replaces the dictionary with the tags currently stored. Writes wait for the reload, so none of them is lost
+     * by swapping in tags read before it.
+     */
+    @Scheduled(fixedDelay = "${task-manager.persistence.mongodb.tag-dictionary.refresh-interval:1m}",
+            initialDelay = "${task-manager.persistence.mongodb.tag-dictionary.refresh-interval:1m}")
+    void load() {
+        synchronized (writeLock) {
+            try {
+                Map<TagId, TagState> tags = new ConcurrentHashMap<>();
+                delegate.findAll().forEach(tag -> tags.put(tag.getId(), tag.toState()));
+                tagsById = tags;
+            } catch (RuntimeException e) {
+                log.error("Cannot load tag dictionary, {}", tagsById == null ? "lookups keep going to the database" : "keeping the loaded tags", e);
+            }
+        }
+    }
+
+    boolean isLoaded() {
+        return tagsById != null;
+    }
+
+    @Override
+    public @NonNull Tag save(@NonNull Tag tag) {
+        synchronized (writeLock) {
+            Tag savedTag = delegate.save(tag);
+            if (tagsById != null) {
+                tagsById.put(savedTag.getId(), savedTag.toState());
+            }
+            return savedTag;
+        }
+    }
+
+    @Override
+    public @NonNull Optional<Tag> findById(@NonNull TagId id) {
+        Map<TagId, TagState> tags = tagsById;
+        if (tags == null) {
+            return delegate.findById(id);
+        }
+        return Optional.ofNullable(tags.get(id)).map(Tag::fromState);
+    }
+
+    @Override
+    public @NonNull Map<TagId, Tag> findAllById(@NonNull Collection<TagId> ids) {
+        Map<TagId, TagState> tags = tagsById;
+        if (tags == null) {
+            return delegate.findAllById(ids);
+        }
+        Map<TagId, Tag> found = new HashMap<>(ids.size());
+        for (TagId id : ids) {
+            TagState tag = tags.get(id);
+            if (tag != null) {
+                found.put(id, Tag.fromState(tag));
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public @NonNull List<Tag> findAll() {
+        Map<TagId, TagState> tags = tagsById;
+        if (tags == null) {
+            return delegate.findAll();
+        }
+        return tags.values().stream()
+                .sorted(Comparator.comparing(TagState::id))
+                .map(Tag::fromState)
+                .toList();
+    }
+
+    @Override
+    public void delete(@NonNull TagId id) {
+        synchronized (writeLock) {
+            delegate.delete(id);
+            if (tagsById != null) {
+                tagsById.remove(id);
+            }
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.taskmanager.infrastructure.persistence;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoServerException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.taskmanager.application.domain.task.event.TaskChangedEvent;
+import com.taskmanager.infrastructure.persistence.config.ChangeStreamConfig;
+import io.micronaut.configuration.mongo.core.DefaultMongoConfiguration;
+import io.micronaut.context.annotation.Context;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.core.util.StringUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.mongodb.client.model.Filters.eq;
+
+/**
+ * Follows the change stream of the tasks collection and publishes a {@link TaskChangedEvent} for every change,
+ * whichever application instance made it, so local caches and read models can drop stale tasks.
+ * <p>
+ * With tenant routing every database is followed by a cursor of its own, see {@link TenantDatabaseRouter}.
+ * The position in each stream (resume token) is stored per instance in the database it belongs to, so after
+ * a restart every stream continues where it stopped instead of missing the changes made in between. When
+ * the stored position is no longer available on the server, the stream starts over from now and a change
+ * of any task is published. When the collection is dropped or renamed, the server ends the stream with an
+ * invalidate event, a change of any task is published and a new stream starts right after that event.
+ * </p>
+ */
+@Slf4j
+@Context
+@Requires(property = "task-manager.persistence.mongodb.change-stream.enabled", value = StringUtils.TRUE)
+public class TaskChangeStreamListener {
+
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+
+    private final List<DatabaseFollower> followers = new ArrayList<>();
+    private final List<MongoClient> tenantClients = new ArrayList<>();
+    private final ApplicationEventPublisher<TaskChangedEvent> eventPublisher;
+    private final String consumerId;
+    private final Duration resumeTokenSaveInterval;
+    private final Duration maxAwaitTime;
+
+    private static class Field {
+        private static final String ID = "_id";
+        private static final String USER_ID = "userId";
+        private static final String TOKEN = "token";
+        private static final String SAVED_AT = "savedAt";
+    }
+
+    public TaskChangeStreamListener(MongoClient mongoClient,
+                                    DefaultMongoConfiguration mongoConfiguration,
+                                    TenantDatabaseRouter router,
+                                    ApplicationEventPublisher<TaskChangedEvent> eventPublisher,
+                                    ChangeStreamConfig config) {
+        this.eventPublisher = eventPublisher;
+        this.consumerId = Optional.ofNullable(config.getConsumerId()).orElseGet(TaskChangeStreamListener::hostName);
+        this.resumeTokenSaveInterval = config.getResumeTokenSaveInterval();
+        this.maxAwaitTime = config.getMaxAwaitTime();
+        for (String name : router.databases()) {
+            ConnectionString connectionString = router.connectionString(name);
+            MongoClient client = connectionString == null
+                    ? mongoClient
+                    : MongoClients.create(MongoDbTaskRepositoryAdapter.tenantClientSettings(mongoConfiguration, connectionString));
+            if (client != mongoClient) {
+                tenantClients.add(client);
+            }
+            followers.add(new DatabaseFollower(name, client.getDatabase(router.databaseName(name))));
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        followers.forEach(DatabaseFollower::start);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        for (DatabaseFollower follower : followers) {
+            follower.stop();
+        }
+        tenantClients.forEach(MongoClient::close);
+    }
+
+    private static TaskChangedEvent toEvent(ChangeStreamDocument<Document> change) {
+        BsonDocument documentKey = change.getDocumentKey();
+        BsonValue id = documentKey == null ? null : documentKey.get(Field.ID);
+        if (id == null || !id.isObjectId()) {
+            // the collection was dropped, renamed or invalidated, nothing tells which tasks are affected
+            return TaskChangedEvent.anyTask();
+        }
+        // on a sharded collection the document key also holds the shard key, i.e. the owner of the task
+        BsonValue userId = documentKey.get(Field.USER_ID);
+        String owner = userId == null ? null
+                : userId.isObjectId() ? userId.asObjectId().getValue().toHexString()
+                : userId.isString() ? userId.asString().getValue()
+                : null;
+        return new TaskChangedEvent(id.asObjectId().getValue().toHexString(), owner);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("Cannot resolve host name, set the change stream consumer ID explicitly", e);
+        }
+    }
+
+    /**
+     * Follows the tasks collection of one database on a thread of its own and keeps the position in its stream.
+     */
+    private class DatabaseFollower {
+
+        private final String name;
+        private final MongoCollection<Document> taskCollection;
+        private final MongoCollection<BsonDocument> resumeTokenCollection;
+
+        private volatile boolean running;
+        private Thread thread;
+        private BsonDocument resumeToken;
+        private BsonDocument savedResumeToken;
+        private Instant resumeTokenSavedAt = Instant.MIN;
+
+        private DatabaseFollower(String name, MongoDatabase database) {
+            this.name = name;
+            this.taskCollection = database.getCollection("tasks");
+            this.resumeTokenCollection = database.getCollection("change_stream_resume_tokens", BsonDocument.class);
+        }
+
+        private void start() {
+            resumeToken = loadResumeToken();
+            savedResumeToken = resumeToken;
+            running = true;
+            thread = Thread.ofPlatform()
+                    .name("task-change-stream-" + name)
+                    .daemon()
+                    .start(this::follow);
+            log.info("Following task changes of database [{}] as [{}], {}", name, consumerId,
+                    resumeToken == null ? "starting from now" : "resuming");
+        }
+
+        private void stop() throws InterruptedException {
+            running = false;
+            thread.join(maxAwaitTime.plusSeconds(1).toMillis()); // the loop notices the flag after the current wait at the latest
+            saveResumeToken();
+        }
+
+        private void follow() {
+            while (running) {
+                try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = watch().cursor()) {
+                    while (running) {
+                        ChangeStreamDocument<Document> change = cursor.tryNext();
+                        if (change != null) {
+                            eventPublisher.publishEvent(toEvent(change));
+                            if (change.getOperationType() == OperationType.INVALIDATE) {
+                                // the server closed the stream, the next one starts after the invalidate event
+                                resumeToken = change.getResumeToken();
+                                break;
+                            }
+                        }
+                        Optional.ofNullable(cursor.getResumeToken()).ifPresent(token -> resumeToken = token);
+                        if (Instant.now().isAfter(resumeTokenSavedAt.plus(resumeTokenSaveInterval))) {
+                            saveResumeToken();
+                        }
+                    }
+                } catch (MongoServerException e) {
+                    if (e.getCode() == CHANGE_STREAM_HISTORY_LOST) {
+                        log.warn("Stored position of task changes of database [{}] is no longer available, starting from now", name, e);
+                        resumeToken = null;
+                        eventPublisher.publishEvent(TaskChangedEvent.anyTask());
+                    } else {
+                        waitBeforeRetry(e);
+                    }
+                } catch (RuntimeException e) {
+                    waitBeforeRetry(e);
+                }
+            }
+        }
+
+        private ChangeStreamIterable<Document> watch() {
+            ChangeStreamIterable<Document> changes = taskCollection.watch()
+                    .maxAwaitTime(maxAwaitTime.toMillis(), TimeUnit.MILLISECONDS);
+            // unlike resumeAfter, startAfter also accepts the token of an invalidate event
+            return resumeToken == null ? changes : changes.startAfter(resumeToken);
+        }
+
+        private BsonDocument loadResumeToken() {
+            BsonDocument stored = resumeTokenCollection.find(eq(Field.ID, consumerId)).first();
+            return stored == null || !stored.isDocument(Field.TOKEN) ? null : stored.getDocument(Field.TOKEN);
+        }
+
+        private void saveResumeToken() {
+            resumeTokenSavedAt = Instant.now();
+            BsonDocument token = resumeToken;
+            if (token == null || token.equals(savedResumeToken)) {
+                return;
+            }
+            try {
+                resumeTokenCollection.replaceOne(eq(Field.ID, consumerId),
+                        new BsonDocument(Field.ID, new BsonString(consumerId))
+                                .append(Field.TOKEN, token)
+                                .append(Field.SAVED_AT, new BsonDateTime(resumeTokenSavedAt.toEpochMilli())),
+                        new ReplaceOptions().upsert(true));
+                savedResumeToken = token;
+            } catch (RuntimeException e) {
+                log.warn("Cannot save position of task changes of database [{}]", name, e); // retried with the next save
+            }
+        }
+
+        private void waitBeforeRetry(RuntimeException e) {
+            if (!running) {
+                return;
+            }
+            log.error("Error following task changes of database [{}], retrying in {}", name, RETRY_DELAY, e);
+            try {
+                Thread.sleep(RETRY_DELAY);
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+        }
+    }
+}
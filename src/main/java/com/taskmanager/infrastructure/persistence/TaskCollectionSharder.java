@@ -0,0 +1,56 @@
+package com.taskmanager.infrastructure.persistence;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.taskmanager.infrastructure.persistence.config.ShardingConfig.KeyType;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+/**
+ * Shards the tasks collection by the owner of the tasks, so every query of the repositories, which all filter
+ * by user ID, is routed to a single shard.
+ * <p>
+ * A hashed key needs its own index, which is created first. A ranged key is the user ID followed by the task ID,
+ * the prefix of the index the task lists already use. Sharding a collection that is already sharded with
+ * the same key does nothing, with a different key it fails and is only reported.
+ * </p>
+ */
+@Slf4j
+class TaskCollectionSharder {
+
+    private final KeyType keyType;
+
+    TaskCollectionSharder(KeyType keyType) {
+        this.keyType = keyType;
+    }
+
+    void shard(MongoDatabase adminDatabase, MongoCollection<?> collection) {
+        try {
+            if (keyType == KeyType.HASHED) {
+                collection.createIndex(Indexes.hashed("userId"), new IndexOptions().name("userId_hashed"));
+            }
+            adminDatabase.runCommand(shardCollectionCommand(collection.getNamespace().getFullName()));
+            log.info("Sharded [{}] by {}", collection.getNamespace(), shardKey().toJson());
+        } catch (MongoException e) {
+            // e.g. not connected through mongos, the collection keeps working unsharded
+            log.error("Cannot shard [{}] by {}", collection.getNamespace(), shardKey().toJson(), e);
+        }
+    }
+
+    Document shardCollectionCommand(String namespace) {
+        return new Document("shardCollection", namespace).append("key", shardKey());
+    }
+
+    BsonDocument shardKey() {
+        Bson key = switch (keyType) {
+            case HASHED -> Indexes.hashed("userId");
+            case RANGED -> Indexes.ascending("userId", "_id");
+        };
+        return key.toBsonDocument();
+    }
+}
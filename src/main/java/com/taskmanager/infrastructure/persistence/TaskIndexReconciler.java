@@ -0,0 +1,101 @@
+package com.taskmanager.infrastructure.persistence;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.IndexOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.mongodb.client.model.Indexes.ascending;
+
+/**
+ * Makes sure the tasks collection has the indexes the repository queries rely on.
+ * <p>
+ * Missing indexes are created. Indexes that exist under a declared name but with different keys, and indexes
+ * that are not declared at all, are only reported: dropping or rebuilding them is left to an operator.
+ * </p>
+ */
+@Slf4j
+class TaskIndexReconciler {
+
+    private static final String DEFAULT_ID_INDEX = "_id_";
+
+    static final List<IndexModel> DECLARED_INDEXES = List.of(
+            // a user's tasks ordered by ID, e.g. pages of the task list
+            new IndexModel(ascending("userId", "_id"), new IndexOptions().name("userId_id")),
+            // a user's tasks with a status ordered by ID, e.g. the assistant's list of tasks to do
+            new IndexModel(ascending("userId", "status", "_id"), new IndexOptions().name("userId_status_id")),
+            // a user's tasks with a tag ordered by ID, multikey over the tags array
+            new IndexModel(ascending("userId", "tags", "_id"), new IndexOptions().name("userId_tags_id"))
+    );
+
+    private final boolean buildInBackground;
+
+    TaskIndexReconciler(boolean buildInBackground) {
+        this.buildInBackground = buildInBackground;
+    }
+
+    void reconcile(MongoCollection<?> collection) {
+        try {
+            Map<String, BsonDocument> existingKeys = new HashMap<>();
+            collection.listIndexes(BsonDocument.class)
+                    .forEach(index -> existingKeys.put(index.getString("name").getValue(), index.getDocument("key")));
+
+            List<IndexModel> missing = new ArrayList<>();
+            for (IndexModel declared : DECLARED_INDEXES) {
+                String name = declared.getOptions().getName();
+                BsonDocument keys = existingKeys.remove(name);
+                if (keys == null) {
+                    missing.add(withBackgroundOption(declared));
+                } else if (!sameKeys(keys, declared.getKeys().toBsonDocument())) {
+                    log.warn("Index [{}] on [{}] has keys {} but {} are declared, rebuild it to restore query performance",
+                            name, collection.getNamespace(), keys.toJson(), declared.getKeys().toBsonDocument().toJson());
+                }
+            }
+            existingKeys.remove(DEFAULT_ID_INDEX);
+            existingKeys.forEach((name, keys) ->
+                    log.info("Index [{}] on [{}] with keys {} is not declared", name, collection.getNamespace(), keys.toJson()));
+
+            if (!missing.isEmpty()) {
+                List<String> created = collection.createIndexes(missing);
+                log.info("Created indexes {} on [{}]", created, collection.getNamespace());
+            }
+        } catch (MongoException e) {
+            // the application can still serve requests without the indexes, only slower
+            log.error("Cannot reconcile indexes on [{}]", collection.getNamespace(), e);
+        }
+    }
+
+    private IndexModel withBackgroundOption(IndexModel index) {
+        IndexOptions options = index.getOptions();
+        return new IndexModel(index.getKeys(), new IndexOptions()
+                .name(options.getName())
+                .background(buildInBackground));
+    }
+
+    /**
+     * Compares index keys in order. Directions are compared numerically, because indexes created from the shell
+     * store them as doubles.
+     */
+    private static boolean sameKeys(BsonDocument existing, BsonDocument declared) {
+        if (!new ArrayList<>(existing.keySet()).equals(new ArrayList<>(declared.keySet()))) {
+            return false;
+        }
+        return declared.keySet().stream().allMatch(field -> sameDirection(existing.get(field), declared.get(field)));
+    }
+
+    private static boolean sameDirection(BsonValue existing, BsonValue declared) {
+        if (existing.isNumber() && declared.isNumber()) {
+            return existing.asNumber().doubleValue() == declared.asNumber().doubleValue();
+        }
+        return Objects.equals(existing, declared);
+    }
+}
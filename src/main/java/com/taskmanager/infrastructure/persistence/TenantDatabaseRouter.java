@@ -0,0 +1,118 @@
+package com.taskmanager.infrastructure.persistence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.ConnectionString;
+import com.taskmanager.application.domain.user.valueobject.UserId;
+import com.taskmanager.infrastructure.persistence.config.TenantRoutingConfig;
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Tells which database holds the tasks of a user. Users are placed on a hash ring with a number of points
+ * per database, so adding a database moves only the users that land on its points, about an equal share
+ * of every other database, and leaves the rest where they are. Users listed in the assignments are placed
+ * explicitly, e.g. to keep them on their current database until their tasks are copied over.
+ * <p>
+ * Without tenant routing there is a single database, the default one.
+ * </p>
+ */
+@Singleton
+public class TenantDatabaseRouter {
+
+    static final String DEFAULT_DATABASE = "default";
+    private static final String DEFAULT_DATABASE_NAME = "task-manager";
+
+    private final Set<String> databases;
+    private final Map<String, ConnectionString> connectionStrings = new HashMap<>();
+    private final Map<String, String> assignments = new HashMap<>();
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+    private final Cache<String, String> routes = Caffeine.newBuilder().maximumSize(100_000).build();
+
+    @Inject
+    public TenantDatabaseRouter(TenantRoutingConfig config) {
+        this(config.isEnabled() ? config.getDatabases() : Map.of(),
+                config.isEnabled() ? config.getAssignments() : Map.of(),
+                config.getVirtualNodes());
+    }
+
+    TenantDatabaseRouter(Map<String, String> databases, Map<String, String> assignments, int virtualNodes) {
+        Set<String> names = new TreeSet<>(databases.keySet());
+        names.add(DEFAULT_DATABASE);
+        this.databases = Collections.unmodifiableSet(names);
+        databases.forEach((name, uri) -> connectionStrings.put(name, new ConnectionString(uri)));
+        assignments.forEach((userId, database) -> {
+            if (!names.contains(database)) {
+                throw new ConfigurationException("User [" + userId + "] is assigned to unknown database [" + database + "]");
+            }
+            this.assignments.put(MongoDbTaskRepositoryAdapter.normalizeUserId(UserId.from(userId)), database);
+        });
+        for (String name : names) {
+            for (int point = 0; point < virtualNodes; point++) {
+                ring.put(hash(name + "#" + point), name);
+            }
+        }
+    }
+
+    /**
+     * The name of the database that holds the tasks of the given user.
+     */
+    @NonNull String route(@NonNull UserId userId) {
+        if (databases.size() == 1) {
+            return DEFAULT_DATABASE;
+        }
+        return routes.get(MongoDbTaskRepositoryAdapter.normalizeUserId(userId), this::locate);
+    }
+
+    @NonNull Set<String> databases() {
+        return databases;
+    }
+
+    /**
+     * The connection string of an additional database, or null for the default one, which uses
+     * the application's MongoDB client.
+     */
+    @Nullable ConnectionString connectionString(@NonNull String database) {
+        return connectionStrings.get(database);
+    }
+
+    @NonNull String databaseName(@NonNull String database) {
+        ConnectionString connectionString = connectionStrings.get(database);
+        return connectionString == null || connectionString.getDatabase() == null
+                ? DEFAULT_DATABASE_NAME
+                : connectionString.getDatabase();
+    }
+
+    private String locate(String userId) {
+        String assigned = assignments.get(userId);
+        if (assigned != null) {
+            return assigned;
+        }
+        Map.Entry<Long, String> point = ring.ceilingEntry(hash(userId));
+        return (point != null ? point : ring.firstEntry()).getValue();
+    }
+
+    private static long hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e); // every Java platform is required to provide it
+        }
+    }
+}
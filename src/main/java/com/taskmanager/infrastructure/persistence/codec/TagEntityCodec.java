@@ -0,0 +1,90 @@
+package com.taskmanager.infrastructure.persistence.codec;
+
+import com.taskmanager.infrastructure.persistence.entity.TagEntity;
+import org.bson.BsonReader;
+import org.bson.BsonString;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.BsonWriter;
+import org.bson.codecs.CollectibleCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+
+/**
+ * Reads and writes {@link TagEntity} documents field by field.
+ * <p>
+ * Tasks store the IDs of their tags as strings, so tag IDs are stored as strings too and new ones are generated
+ * as the hex form of an object ID. Fields that are not known to the codec are skipped when reading.
+ * </p>
+ */
+public class TagEntityCodec implements CollectibleCodec<TagEntity> {
+
+    private static class Field {
+        private static final String ID = "_id";
+        private static final String NAME = "name";
+        private static final String DESCRIPTION = "description";
+    }
+
+    @Override
+    public void encode(BsonWriter writer, TagEntity entity, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        writeString(writer, Field.ID, entity.getId());
+        writeString(writer, Field.NAME, entity.getName());
+        writeString(writer, Field.DESCRIPTION, entity.getDescription());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public TagEntity decode(BsonReader reader, DecoderContext decoderContext) {
+        TagEntity entity = new TagEntity();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (reader.getCurrentBsonType() == BsonType.NULL) {
+                reader.readNull();
+                continue;
+            }
+            switch (name) {
+                case Field.ID -> entity.setId(reader.readString());
+                case Field.NAME -> entity.setName(reader.readString());
+                case Field.DESCRIPTION -> entity.setDescription(reader.readString());
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return entity;
+    }
+
+    @Override
+    public Class<TagEntity> getEncoderClass() {
+        return TagEntity.class;
+    }
+
+    @Override
+    public TagEntity generateIdIfAbsentFromDocument(TagEntity entity) {
+        if (entity.getId() == null) {
+            entity.setId(new ObjectId().toHexString());
+        }
+        return entity;
+    }
+
+    @Override
+    public boolean documentHasId(TagEntity entity) {
+        return entity.getId() != null;
+    }
+
+    @Override
+    public BsonValue getDocumentId(TagEntity entity) {
+        if (entity.getId() == null) {
+            throw new IllegalStateException("The tag entity does not contain an _id");
+        }
+        return new BsonString(entity.getId());
+    }
+
+    private static void writeString(BsonWriter writer, String name, String value) {
+        if (value != null) {
+            writer.writeString(name, value);
+        }
+    }
+}
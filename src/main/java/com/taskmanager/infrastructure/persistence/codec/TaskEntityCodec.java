@@ -0,0 +1,140 @@
+package com.taskmanager.infrastructure.persistence.codec;
+
+import com.taskmanager.infrastructure.persistence.entity.TaskEntity;
+import org.bson.BsonObjectId;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.BsonWriter;
+import org.bson.codecs.CollectibleCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes {@link TaskEntity} documents field by field, without the reflection the POJO codec relies on.
+ * <p>
+ * User IDs that are valid object IDs are stored as such, other user IDs (e.g. "anonymous") are stored as strings.
+ * Tags are stored as an array of strings and omitted when a task has none.
+ * Fields that are not known to the codec are skipped when reading.
+ * </p>
+ */
+public class TaskEntityCodec implements CollectibleCodec<TaskEntity> {
+
+    private static class Field {
+        private static final String ID = "_id";
+        private static final String USER_ID = "userId";
+        private static final String TITLE = "title";
+        private static final String DESCRIPTION = "description";
+        private static final String STATUS = "status";
+        private static final String TAGS = "tags";
+        private static final String VERSION = "version";
+    }
+
+    @Override
+    public void encode(BsonWriter writer, TaskEntity entity, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        if (entity.getId() != null) {
+            writer.writeObjectId(Field.ID, entity.getId());
+        }
+        if (entity.getUserId() != null) {
+            if (ObjectId.isValid(entity.getUserId())) {
+                writer.writeObjectId(Field.USER_ID, new ObjectId(entity.getUserId()));
+            } else {
+                writer.writeString(Field.USER_ID, entity.getUserId());
+            }
+        }
+        writeString(writer, Field.TITLE, entity.getTitle());
+        writeString(writer, Field.DESCRIPTION, entity.getDescription());
+        writeString(writer, Field.STATUS, entity.getStatus());
+        if (entity.getTags() != null && !entity.getTags().isEmpty()) {
+            writer.writeStartArray(Field.TAGS);
+            entity.getTags().forEach(writer::writeString);
+            writer.writeEndArray();
+        }
+        if (entity.getVersion() != null) {
+            writer.writeInt64(Field.VERSION, entity.getVersion());
+        }
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public TaskEntity decode(BsonReader reader, DecoderContext decoderContext) {
+        TaskEntity entity = new TaskEntity();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (reader.getCurrentBsonType() == BsonType.NULL) {
+                reader.readNull();
+                continue;
+            }
+            switch (name) {
+                case Field.ID -> entity.setId(reader.readObjectId());
+                case Field.USER_ID -> entity.setUserId(reader.getCurrentBsonType() == BsonType.OBJECT_ID
+                        ? reader.readObjectId().toHexString()
+                        : reader.readString());
+                case Field.TITLE -> entity.setTitle(reader.readString());
+                case Field.DESCRIPTION -> entity.setDescription(reader.readString());
+                case Field.STATUS -> entity.setStatus(reader.readString());
+                case Field.TAGS -> entity.setTags(readStrings(reader));
+                case Field.VERSION -> entity.setVersion(readLong(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return entity;
+    }
+
+    @Override
+    public Class<TaskEntity> getEncoderClass() {
+        return TaskEntity.class;
+    }
+
+    @Override
+    public TaskEntity generateIdIfAbsentFromDocument(TaskEntity entity) {
+        if (entity.getId() == null) {
+            entity.setId(new ObjectId());
+        }
+        return entity;
+    }
+
+    @Override
+    public boolean documentHasId(TaskEntity entity) {
+        return entity.getId() != null;
+    }
+
+    @Override
+    public BsonValue getDocumentId(TaskEntity entity) {
+        if (entity.getId() == null) {
+            throw new IllegalStateException("The task entity does not contain an _id");
+        }
+        return new BsonObjectId(entity.getId());
+    }
+
+    private static void writeString(BsonWriter writer, String name, String value) {
+        if (value != null) {
+            writer.writeString(name, value);
+        }
+    }
+
+    private static List<String> readStrings(BsonReader reader) {
+        List<String> values = new ArrayList<>();
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            values.add(reader.readString());
+        }
+        reader.readEndArray();
+        return values;
+    }
+
+    private static long readLong(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case DOUBLE -> (long) reader.readDouble();
+            default -> reader.readInt64();
+        };
+    }
+}
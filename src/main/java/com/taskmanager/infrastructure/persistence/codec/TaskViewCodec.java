@@ -0,0 +1,69 @@
+package com.taskmanager.infrastructure.persistence.codec;
+
+import com.taskmanager.application.domain.task.TaskView;
+import com.taskmanager.application.domain.task.valueobject.TaskStatus;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+import static com.mongodb.client.model.Projections.include;
+
+/**
+ * Reads task documents straight into {@link TaskView}s, without the entity, state and aggregate a task is
+ * otherwise loaded through. Meant for lists, together with {@link #PROJECTION}, so only the fields a view
+ * shows are sent by the server. Views are read-only, they cannot be written.
+ */
+public class TaskViewCodec implements Codec<TaskView> {
+
+    private static class Field {
+        private static final String ID = "_id";
+        private static final String TITLE = "title";
+        private static final String DESCRIPTION = "description";
+        private static final String STATUS = "status";
+    }
+
+    public static final Bson PROJECTION = include(Field.ID, Field.TITLE, Field.DESCRIPTION, Field.STATUS);
+
+    @Override
+    public TaskView decode(BsonReader reader, DecoderContext decoderContext) {
+        ObjectId id = null;
+        String title = null;
+        String description = null;
+        boolean completed = false;
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (reader.getCurrentBsonType() == BsonType.NULL) {
+                reader.readNull();
+                continue;
+            }
+            switch (name) {
+                case Field.ID -> id = reader.readObjectId();
+                case Field.TITLE -> title = reader.readString();
+                case Field.DESCRIPTION -> description = reader.readString();
+                case Field.STATUS -> completed = TaskStatus.COMPLETED.name().equals(reader.readString());
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        if (id == null || title == null) {
+            throw new IllegalStateException("The task document does not contain an _id or a title");
+        }
+        return new TaskView(id.toHexString(), title, description, completed);
+    }
+
+    @Override
+    public void encode(BsonWriter writer, TaskView view, EncoderContext encoderContext) {
+        throw new UnsupportedOperationException("Task views are read-only");
+    }
+
+    @Override
+    public Class<TaskView> getEncoderClass() {
+        return TaskView.class;
+    }
+}
@@ -0,0 +1,66 @@
+package com.taskmanager.infrastructure.persistence.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.Duration;
+
+@ConfigurationProperties("task-manager.persistence.mongodb.change-stream")
+public class ChangeStreamConfig {
+
+    /**
+     * Watches the tasks collection and publishes every change, so local caches and read models
+     * can drop what other application instances changed. Requires MongoDB to run as a replica set.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Identifies this instance's position in the stream, stored between restarts. Must be stable across
+     * restarts and unique per instance. Defaults to the host name.
+     */
+    @Nullable
+    private String consumerId;
+
+    /**
+     * How often the position in the stream is stored. Changes since the last stored position are delivered
+     * again after a restart.
+     */
+    private Duration resumeTokenSaveInterval = Duration.ofSeconds(1);
+
+    /**
+     * How long the server waits for new changes before returning an empty batch.
+     */
+    private Duration maxAwaitTime = Duration.ofSeconds(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public @Nullable String getConsumerId() {
+        return consumerId;
+    }
+
+    public void setConsumerId(@Nullable String consumerId) {
+        this.consumerId = consumerId;
+    }
+
+    public Duration getResumeTokenSaveInterval() {
+        return resumeTokenSaveInterval;
+    }
+
+    public void setResumeTokenSaveInterval(Duration resumeTokenSaveInterval) {
+        this.resumeTokenSaveInterval = resumeTokenSaveInterval;
+    }
+
+    public Duration getMaxAwaitTime() {
+        return maxAwaitTime;
+    }
+
+    public void setMaxAwaitTime(Duration maxAwaitTime) {
+        this.maxAwaitTime = maxAwaitTime;
+    }
+}
@@ -0,0 +1,48 @@
+package com.taskmanager.infrastructure.persistence.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("task-manager.persistence.mongodb.group-commit")
+public class GroupCommitConfig {
+
+    /**
+     * Coalesces task saves arriving close to each other into a single bulk write.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of saves that makes a batch be written without waiting for the delay to pass.
+     */
+    private int maxBatchSize = 500;
+
+    /**
+     * Longest time a save waits for other saves to join its batch.
+     */
+    private Duration maxDelay = Duration.ofMillis(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    public void setMaxDelay(Duration maxDelay) {
+        this.maxDelay = maxDelay;
+    }
+}
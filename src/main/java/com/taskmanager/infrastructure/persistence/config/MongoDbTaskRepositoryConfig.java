@@ -0,0 +1,92 @@
+package com.taskmanager.infrastructure.persistence.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.Duration;
+
+@ConfigurationProperties("task-manager.persistence.mongodb")
+public class MongoDbTaskRepositoryConfig {
+
+    /**
+     * Number of documents fetched from the server per cursor round trip when streaming tasks.
+     */
+    private int cursorBatchSize = 500;
+
+    /**
+     * Creates the indexes the repository queries rely on when the repository starts, if they are missing.
+     */
+    private boolean autoCreateIndexes = true;
+
+    /**
+     * Builds missing indexes in the background. Only has an effect on MongoDB versions before 4.2,
+     * newer servers always use an optimized build that holds an exclusive lock only at the beginning and the end.
+     */
+    private boolean buildIndexesInBackground = false;
+
+    /**
+     * Replica set members that serve task lists and streams, e.g. {@code primary} or {@code secondaryPreferred}.
+     * Reads made before a change, like loading the task to update, always go to the primary.
+     */
+    private String queryReadPreference = "secondaryPreferred";
+
+    /**
+     * How far behind the primary a secondary may be to still serve task lists and streams, at least 90 seconds.
+     * Ignored when lists are read from the primary.
+     */
+    @Nullable
+    private Duration queryMaxStaleness = Duration.ofSeconds(90);
+
+    /**
+     * Read concern level of task lists and streams, e.g. {@code local} or {@code majority}.
+     */
+    private String queryReadConcern = "local";
+
+    public int getCursorBatchSize() {
+        return cursorBatchSize;
+    }
+
+    public void setCursorBatchSize(int cursorBatchSize) {
+        this.cursorBatchSize = cursorBatchSize;
+    }
+
+    public boolean isAutoCreateIndexes() {
+        return autoCreateIndexes;
+    }
+
+    public void setAutoCreateIndexes(boolean autoCreateIndexes) {
+        this.autoCreateIndexes = autoCreateIndexes;
+    }
+
+    public boolean isBuildIndexesInBackground() {
+        return buildIndexesInBackground;
+    }
+
+    public void setBuildIndexesInBackground(boolean buildIndexesInBackground) {
+        this.buildIndexesInBackground = buildIndexesInBackground;
+    }
+
+    public String getQueryReadPreference() {
+        return queryReadPreference;
+    }
+
+    public void setQueryReadPreference(String queryReadPreference) {
+        this.queryReadPreference = queryReadPreference;
+    }
+
+    public @Nullable Duration getQueryMaxStaleness() {
+        return queryMaxStaleness;
+    }
+
+    public void setQueryMaxStaleness(@Nullable Duration queryMaxStaleness) {
+        this.queryMaxStaleness = queryMaxStaleness;
+    }
+
+    public String getQueryReadConcern() {
+        return queryReadConcern;
+    }
+
+    public void setQueryReadConcern(String queryReadConcern) {
+        this.queryReadConcern = queryReadConcern;
+    }
+}
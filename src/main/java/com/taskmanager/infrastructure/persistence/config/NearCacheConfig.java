@@ -0,0 +1,49 @@
+package com.taskmanager.infrastructure.persistence.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("task-manager.persistence.mongodb.near-cache")
+public class NearCacheConfig {
+
+    /**
+     * Keeps recently read tasks in memory, so repeated lookups by ID do not go to MongoDB.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of tasks kept in the cache. The least recently used ones are evicted first.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * How long a cached task is served before it is read again. Bounds how stale a task can be
+     * when it was changed by another application instance.
+     */
+    private Duration expireAfterWrite = Duration.ofSeconds(30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    public void setExpireAfterWrite(Duration expireAfterWrite) {
+        this.expireAfterWrite = expireAfterWrite;
+    }
+}
@@ -0,0 +1,46 @@
+package com.taskmanager.infrastructure.persistence.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("task-manager.persistence.mongodb.sharding")
+public class ShardingConfig {
+
+    public enum KeyType {
+        /**
+         * Spreads users evenly over the shards, also when new users get increasing IDs.
+         */
+        HASHED,
+        /**
+         * Keeps users with neighbouring IDs on the same shard, so chunks can be split along the task IDs
+         * of a single user with many tasks.
+         */
+        RANGED
+    }
+
+    /**
+     * Shards the tasks collection by user ID at startup. Requires a connection through mongos,
+     * against a replica set or a standalone server the collection stays unsharded.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How the user ID shard key distributes tasks over the shards.
+     */
+    private KeyType keyType = KeyType.HASHED;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public KeyType getKeyType() {
+        return keyType;
+    }
+
+    public void setKeyType(KeyType keyType) {
+        this.keyType = keyType;
+    }
+}
@@ -0,0 +1,66 @@
+package com.taskmanager.infrastructure.persistence.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties("task-manager.persistence.mongodb.tenants")
+public class TenantRoutingConfig {
+
+    /**
+     * Spreads the tasks of different users over several databases. The default database keeps taking part,
+     * under the name {@code default}. The change stream is followed in every database, so changes to any user's
+     * tasks reach the read model and the near cache.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Points per database on the hash ring. More points spread users more evenly.
+     */
+    private int virtualNodes = 100;
+
+    /**
+     * Additional databases by name, as connection strings. The database is taken from the path
+     * of the connection string and defaults to {@code task-manager}.
+     */
+    private Map<String, String> databases = new HashMap<>();
+
+    /**
+     * Databases of single users by user ID, taking precedence over the hash ring. Pins users to the database
+     * that holds their tasks while databases are added, and moves large users to a database of their own.
+     */
+    private Map<String, String> assignments = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    public void setVirtualNodes(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    public Map<String, String> getDatabases() {
+        return databases;
+    }
+
+    public void setDatabases(Map<String, String> databases) {
+        this.databases = databases;
+    }
+
+    public Map<String, String> getAssignments() {
+        return assignments;
+    }
+
+    public void setAssignments(Map<String, String> assignments) {
+        this.assignments = assignments;
+    }
+}
@@ -0,0 +1,22 @@
+package com.taskmanager.infrastructure.persistence.entity;
+
+import com.mongodb.lang.NonNull;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Stored form of a tag, read and written by
+ * {@link com.taskmanager.infrastructure.persistence.codec.TagEntityCodec}.
+ */
+@Getter
+@Setter
+public class TagEntity {
+
+    private String id; // the tag ID as referred to by tasks, generated by the codec on insert
+
+    @NonNull
+    private String name;
+
+    private String description;
+
+}
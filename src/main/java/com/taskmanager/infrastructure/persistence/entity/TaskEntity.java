@@ -3,20 +3,21 @@ package com.taskmanager.infrastructure.persistence.entity;
 import com.mongodb.lang.NonNull;
 import lombok.Getter;
 import lombok.Setter;
-import org.bson.BsonType;
-import org.bson.codecs.pojo.annotations.BsonId;
-import org.bson.codecs.pojo.annotations.BsonRepresentation;
 import org.bson.types.ObjectId;
 
+import java.util.List;
+
+/**
+ * Stored form of a task, read and written by
+ * {@link com.taskmanager.infrastructure.persistence.codec.TaskEntityCodec}.
+ */
 @Getter
 @Setter
 public class TaskEntity {
 
-    @BsonId
-    private ObjectId id;  // MongoDB auto-generates ID
+    private ObjectId id;  // generated by the codec on insert
 
     @NonNull
-    @BsonRepresentation(BsonType.OBJECT_ID)
     private String userId;
 
     @NonNull
@@ -27,4 +28,8 @@ public class TaskEntity {
     @NonNull
     private String status;
 
+    private List<String> tags; // omitted from documents of untagged tasks
+
+    private Long version; // missing in documents written before versioning was introduced, read as 0
+
 }
@@ -0,0 +1,24 @@
+package com.taskmanager.infrastructure.persistence.mapper;
+
+import com.taskmanager.application.domain.task.state.TagState;
+import com.taskmanager.infrastructure.persistence.entity.TagEntity;
+
+public class TagEntityMapper {
+
+    public TagEntity convertToEntity(TagState tagState) {
+        TagEntity tagEntity = new TagEntity();
+        tagEntity.setId(tagState.id());
+        tagEntity.setName(tagState.name());
+        tagEntity.setDescription(tagState.description());
+        return tagEntity;
+    }
+
+    public TagState convertToDomain(TagEntity tagEntity) {
+        return TagState.builder()
+                .id(tagEntity.getId())
+                .name(tagEntity.getName())
+                .description(tagEntity.getDescription())
+                .build();
+    }
+
+}
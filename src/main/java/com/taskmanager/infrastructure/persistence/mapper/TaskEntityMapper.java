@@ -1,10 +1,17 @@
 package com.taskmanager.infrastructure.persistence.mapper;
 
+import com.taskmanager.application.domain.task.TaskField;
 import com.taskmanager.application.domain.task.state.TaskState;
 import com.taskmanager.infrastructure.persistence.entity.TaskEntity;
+import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+
+import static com.mongodb.client.model.Updates.set;
 
 public class TaskEntityMapper {
 
@@ -17,9 +24,27 @@ public class TaskEntityMapper {
         taskEntity.setTitle(taskState.title());
         taskEntity.setDescription(taskState.description());
         taskEntity.setStatus(taskState.status());
+        taskEntity.setTags(taskState.tags());
+        taskEntity.setVersion(taskState.version());
         return taskEntity;
     }
 
+    /**
+     * Converts changed task fields into {@code $set} operations on the corresponding document fields.
+     */
+    public List<Bson> convertToUpdates(TaskState taskState, Set<TaskField> changedFields) {
+        List<Bson> updates = new ArrayList<>(changedFields.size());
+        for (TaskField field : changedFields) {
+            switch (field) {
+                case TITLE -> updates.add(set("title", taskState.title()));
+                case DESCRIPTION -> updates.add(set("description", taskState.description()));
+                case STATUS -> updates.add(set("status", taskState.status()));
+                case TAGS -> updates.add(set("tags", Optional.ofNullable(taskState.tags()).orElse(List.of())));
+            }
+        }
+        return updates;
+    }
+
     public TaskState convertToDomain(TaskEntity taskEntity) {
         return TaskState.builder()
                 .id(taskEntity.getId().toHexString())
@@ -27,6 +52,8 @@ public class TaskEntityMapper {
                 .title(taskEntity.getTitle())
                 .description(taskEntity.getDescription())
                 .status(taskEntity.getStatus())
+                .tags(taskEntity.getTags())
+                .version(Optional.ofNullable(taskEntity.getVersion()).orElse(0L))
                 .build();
     }
 
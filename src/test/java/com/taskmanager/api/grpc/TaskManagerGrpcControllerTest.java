@@ -1,26 +1,41 @@
 package com.taskmanager.api.grpc;
 
-import com.google.protobuf.Empty;
 import com.taskmanager.api.grpc.generated.*;
 import com.taskmanager.api.grpc.generated.TaskManagerControllerGrpc.TaskManagerControllerBlockingStub;
 import com.taskmanager.application.domain.assistent.exception.PromptIsEmptyException;
+import com.taskmanager.application.domain.task.exception.InvalidBatchSizeException;
+import com.taskmanager.application.domain.task.exception.InvalidPageSizeException;
+import com.taskmanager.application.domain.task.exception.InvalidTagIdException;
 import com.taskmanager.application.domain.task.exception.InvalidTaskDescriptionException;
 import com.taskmanager.application.domain.task.exception.InvalidTaskIdException;
 import com.taskmanager.application.domain.task.exception.InvalidTaskTitleException;
+import com.taskmanager.application.domain.task.exception.MissingTaskCriteriaException;
+import com.taskmanager.application.domain.task.exception.TaskConcurrentModificationException;
 import com.taskmanager.application.domain.task.exception.TaskNotFoundException;
 import com.taskmanager.application.domain.task.valueobject.TaskId;
 import com.taskmanager.application.port.inbound.assistent.AssistantQueryHandler;
 import com.taskmanager.application.port.inbound.assistent.query.AskQuery;
 import com.taskmanager.application.port.inbound.task.TaskCommandHandler;
 import com.taskmanager.application.port.inbound.task.TaskQueryHandler;
+import com.taskmanager.application.port.inbound.task.command.BatchTaskCommand;
+import com.taskmanager.application.port.inbound.task.command.CompleteMatchingTasksCommand;
 import com.taskmanager.application.port.inbound.task.command.CompleteTaskCommand;
 import com.taskmanager.application.port.inbound.task.command.CreateTaskCommand;
 import com.taskmanager.application.port.inbound.task.command.UpdateTaskCommand;
+import com.taskmanager.application.port.inbound.task.data.BatchGetTasksData;
+import com.taskmanager.application.port.inbound.task.data.BatchTaskResultData;
+import com.taskmanager.application.port.inbound.task.data.CompleteMatchingTasksResultData;
 import com.taskmanager.application.port.inbound.task.data.TaskData;
+import com.taskmanager.application.port.inbound.task.data.TaskPageData;
+import com.taskmanager.application.port.inbound.task.data.TaskResultData;
+import com.taskmanager.application.port.inbound.task.query.BatchGetTasksQuery;
 import com.taskmanager.application.port.inbound.task.query.FindTaskByIdQuery;
 import com.taskmanager.application.port.inbound.task.query.GetAvailableTasksQuery;
+import com.taskmanager.application.port.inbound.task.query.StreamAvailableTasksQuery;
+import io.grpc.Metadata;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
+import io.grpc.stub.MetadataUtils;
 import io.micronaut.test.annotation.MockBean;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import jakarta.inject.Inject;
@@ -28,7 +43,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -59,10 +77,10 @@ public class TaskManagerGrpcControllerTest {
         void shouldReturnAvailableTasks() {
             // given
             TaskData taskData = Sample.taskData();
-            given(taskQueryHandler.handle(new GetAvailableTasksQuery())).willReturn(List.of(taskData));
+            given(taskQueryHandler.handle(new GetAvailableTasksQuery())).willReturn(new TaskPageData(List.of(taskData), null));
 
             // when
-            TaskList response = taskManagerGrpcController.getTasks(Empty.getDefaultInstance());
+            TaskList response = taskManagerGrpcController.getTasks(GetTasksRequest.getDefaultInstance());
 
             // then
             assertThat(response.getTasksList()).hasSize(1);
@@ -72,16 +90,74 @@ public class TaskManagerGrpcControllerTest {
                 assertThat(task.getDescription()).isEqualTo(taskData.description());
                 assertThat(task.getCompleted()).isEqualTo(taskData.completed());
             });
+            assertThat(response.hasNextPageToken()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should return tasks of the user given in the metadata")
+        void shouldReturnTasksOfUserGivenInMetadata() {
+            // given
+            TaskData taskData = Sample.taskData();
+            given(taskQueryHandler.handle(new GetAvailableTasksQuery("user-1", null, null)))
+                    .willReturn(new TaskPageData(List.of(taskData), null));
+            Metadata metadata = new Metadata();
+            metadata.put(Metadata.Key.of("x-user-id", Metadata.ASCII_STRING_MARSHALLER), "user-1");
+
+            // when
+            TaskList response = taskManagerGrpcController
+                    .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(metadata))
+                    .getTasks(GetTasksRequest.getDefaultInstance());
+
+            // then
+            assertThat(response.getTasksList()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("should return requested page with next page token")
+        void shouldReturnRequestedPage_withNextPageToken() {
+            // given
+            TaskData taskData = Sample.taskData();
+            given(taskQueryHandler.handle(new GetAvailableTasksQuery(1, "page-1")))
+                    .willReturn(new TaskPageData(List.of(taskData), "page-2"));
+
+            // when
+            TaskList response = taskManagerGrpcController.getTasks(GetTasksRequest.newBuilder()
+                    .setPageSize(1)
+                    .setPageToken("page-1")
+                    .build());
+
+            // then
+            assertThat(response.getTasksList()).hasSize(1);
+            assertThat(response.getNextPageToken()).isEqualTo("page-2");
+        }
+
+        @Test
+        @DisplayName("should throw exception when page size is invalid")
+        void shouldThrowException_whenPageSizeInvalid() {
+            // given
+            given(taskQueryHandler.handle(new GetAvailableTasksQuery(0, null)))
+                    .willThrow(new InvalidPageSizeException("Page size must be positive"));
+
+            // when
+            Exception exception = catchException(() -> taskManagerGrpcController.getTasks(GetTasksRequest.newBuilder()
+                    .setPageSize(0)
+                    .build()));
+
+            // then
+            assertThat(exception).isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+                assertThat(e.getMessage()).contains("Page size must be positive");
+            });
         }
 
         @Test
         @DisplayName("should return empty list when no tasks")
         void shouldReturnEmptyList_whenNoTasks() {
             // given
-            given(taskQueryHandler.handle(new GetAvailableTasksQuery())).willReturn(List.of());
+            given(taskQueryHandler.handle(new GetAvailableTasksQuery())).willReturn(new TaskPageData(List.of(), null));
 
             // when
-            TaskList response = taskManagerGrpcController.getTasks(Empty.getDefaultInstance());
+            TaskList response = taskManagerGrpcController.getTasks(GetTasksRequest.getDefaultInstance());
 
             // then
             assertThat(response.getTasksList()).isEmpty();
@@ -94,7 +170,7 @@ public class TaskManagerGrpcControllerTest {
             given(taskQueryHandler.handle(new GetAvailableTasksQuery())).willThrow(new RuntimeException("Internal error"));
 
             // when
-            Exception exception = catchException(() -> taskManagerGrpcController.getTasks(Empty.getDefaultInstance()));
+            Exception exception = catchException(() -> taskManagerGrpcController.getTasks(GetTasksRequest.getDefaultInstance()));
 
             // then
             assertThat(exception).isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
@@ -104,6 +180,65 @@ public class TaskManagerGrpcControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("'Stream tasks' endpoint")
+    class StreamTasks {
+
+        @Test
+        @DisplayName("should stream available tasks one by one")
+        void shouldStreamAvailableTasks() {
+            // given
+            TaskData first = Sample.taskData();
+            TaskData second = Sample.completedTaskData();
+            given(taskQueryHandler.handle(new StreamAvailableTasksQuery())).willReturn(Stream.of(first, second));
+
+            // when
+            List<Task> response = new ArrayList<>();
+            taskManagerGrpcController.streamTasks(StreamTasksRequest.getDefaultInstance()).forEachRemaining(response::add);
+
+            // then
+            assertThat(response)
+                    .extracting(Task::getCompleted)
+                    .containsExactly(first.completed(), second.completed());
+        }
+
+        @Test
+        @DisplayName("should stream only tasks with requested completion")
+        void shouldStreamOnlyTasksWithRequestedCompletion() {
+            // given
+            TaskData completedTask = Sample.completedTaskData();
+            given(taskQueryHandler.handle(new StreamAvailableTasksQuery(true))).willReturn(Stream.of(completedTask));
+
+            // when
+            List<Task> response = new ArrayList<>();
+            taskManagerGrpcController.streamTasks(StreamTasksRequest.newBuilder().setCompleted(true).build())
+                    .forEachRemaining(response::add);
+
+            // then
+            assertThat(response).singleElement().satisfies(task -> {
+                assertThat(task.getId()).isEqualTo(completedTask.id());
+                assertThat(task.getCompleted()).isTrue();
+            });
+        }
+
+        @Test
+        @DisplayName("should throw exception when unexpected error occurs")
+        void shouldThrowException_whenUnexpectedError() {
+            // given
+            given(taskQueryHandler.handle(new StreamAvailableTasksQuery())).willThrow(new RuntimeException("Unexpected error"));
+
+            // when
+            Exception exception = catchException(() -> taskManagerGrpcController
+                    .streamTasks(StreamTasksRequest.getDefaultInstance())
+                    .forEachRemaining(task -> { }));
+
+            // then
+            assertThat(exception).isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INTERNAL);
+            });
+        }
+    }
+
     @Nested
     @DisplayName("'Create new task' endpoint")
     class CreateTask {
@@ -269,6 +404,51 @@ public class TaskManagerGrpcControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("'Batch get tasks' endpoint")
+    class BatchGetTasks {
+
+        @Test
+        @DisplayName("should return tasks in the requested order with missing ids")
+        void shouldReturnTasks_withMissingIds() {
+            // given
+            TaskData taskData = Sample.taskData();
+            given(taskQueryHandler.handle(eq(new BatchGetTasksQuery(List.of(taskData.id(), "missing")))))
+                    .willReturn(new BatchGetTasksData(List.of(taskData), List.of("missing")));
+
+            // when
+            BatchGetTasksResponse response = taskManagerGrpcController.batchGetTasks(BatchGetTasksRequest.newBuilder()
+                    .addIds(taskData.id())
+                    .addIds("missing")
+                    .build());
+
+            // then
+            assertThat(response.getTasksList())
+                    .extracting(Task::getId)
+                    .containsExactly(taskData.id());
+            assertThat(response.getMissingIdsList()).containsExactly("missing");
+        }
+
+        @Test
+        @DisplayName("should return invalid argument when too many ids are requested")
+        void shouldReturnInvalidArgument_whenTooManyIds() {
+            // given
+            given(taskQueryHandler.handle(any(BatchGetTasksQuery.class)))
+                    .willThrow(new InvalidBatchSizeException("Cannot get more than 1000 tasks at once"));
+
+            // when
+            Exception exception = catchException(() -> taskManagerGrpcController.batchGetTasks(BatchGetTasksRequest.newBuilder()
+                    .addIds("00000000f6b5a229daa5525d")
+                    .build()));
+
+            // then
+            assertThat(exception).isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+                assertThat(e.getMessage()).contains("Cannot get more than 1000 tasks at once");
+            });
+        }
+    }
+
     @Nested
     @DisplayName("'Update task' endpoint")
     class UpdateTask {
@@ -418,6 +598,23 @@ public class TaskManagerGrpcControllerTest {
             });
         }
 
+        @Test
+        @DisplayName("should throw exception when task was modified concurrently")
+        void shouldThrowException_whenTaskModifiedConcurrently() {
+            // given
+            String taskId = "00000000f6b5a229daa5525d";
+            given(taskCommandHandler.handle(new CompleteTaskCommand(taskId)))
+                    .willThrow(new TaskConcurrentModificationException(TaskId.from(taskId)));
+
+            // when
+            Exception exception = catchException(() -> taskManagerGrpcController.completeTask(CompleteTaskRequest.newBuilder().setId(taskId).build()));
+
+            // then
+            assertThat(exception).isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.ABORTED);
+            });
+        }
+
         @Test
         @DisplayName("should throw exception when task ID is invalid")
         void shouldThrowException_whenTaskIdInvalid() {
@@ -454,6 +651,140 @@ public class TaskManagerGrpcControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("'Batch tasks' endpoint")
+    class BatchTasks {
+
+        @Test
+        @DisplayName("should return result of each item")
+        void shouldReturnResultOfEachItem() {
+            // given
+            String taskId = "00000000f6b5a229daa5525d";
+            TaskData createdTask = Sample.taskData();
+            BatchTaskCommand command = new BatchTaskCommand(
+                    List.of(new CreateTaskCommand("Task 1", "")),
+                    List.of(new CompleteTaskCommand(taskId)));
+            given(taskCommandHandler.handle(command)).willReturn(new BatchTaskResultData(
+                    List.of(TaskResultData.ok(createdTask)),
+                    List.of(TaskResultData.failed(TaskResultData.Status.CONFLICT, "Task with id " + taskId + " was modified concurrently"))));
+
+            // when
+            BatchTasksResponse response = taskManagerGrpcController.batchTasks(BatchTasksRequest.newBuilder()
+                    .addCreate(CreateTaskRequest.newBuilder().setTitle("Task 1").build())
+                    .addComplete(taskId)
+                    .build());
+
+            // then
+            assertThat(response.getCreatedList()).singleElement().satisfies(result -> {
+                assertThat(result.getStatus()).isEqualTo(TaskResult.Status.OK);
+                assertThat(result.getTask().getId()).isEqualTo(createdTask.id());
+                assertThat(result.hasError()).isFalse();
+            });
+            assertThat(response.getCompletedList()).singleElement().satisfies(result -> {
+                assertThat(result.getStatus()).isEqualTo(TaskResult.Status.CONFLICT);
+                assertThat(result.hasTask()).isFalse();
+                assertThat(result.getError()).contains(taskId);
+            });
+        }
+
+        @Test
+        @DisplayName("should accept a batch of the largest allowed size with the longest titles and descriptions")
+        void shouldAcceptLargestBatch() {
+            // given
+            String title = "t".repeat(100);
+            String description = "d".repeat(1000);
+            given(taskCommandHandler.handle(any(BatchTaskCommand.class))).willAnswer(invocation -> {
+                BatchTaskCommand command = invocation.getArgument(0);
+                return new BatchTaskResultData(Collections.nCopies(command.create().size(), TaskResultData.ok(Sample.taskData())), List.of());
+            });
+            BatchTasksRequest.Builder request = BatchTasksRequest.newBuilder();
+            for (int i = 0; i < 1000; i++) {
+                request.addCreate(CreateTaskRequest.newBuilder().setTitle(title).setDescription(description).build());
+            }
+
+            // when
+            BatchTasksResponse response = taskManagerGrpcController.batchTasks(request.build());
+
+            // then
+            assertThat(response.getCreatedCount()).isEqualTo(1000);
+        }
+
+        @Test
+        @DisplayName("should throw exception when batch is too large")
+        void shouldThrowException_whenBatchTooLarge() {
+            // given
+            given(taskCommandHandler.handle(any(BatchTaskCommand.class)))
+                    .willThrow(new InvalidBatchSizeException("Batch cannot contain more than 1000 items"));
+
+            // when
+            Exception exception = catchException(() -> taskManagerGrpcController.batchTasks(BatchTasksRequest.getDefaultInstance()));
+
+            // then
+            assertThat(exception).isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+            });
+        }
+    }
+
+    @Nested
+    @DisplayName("'Complete matching tasks' endpoint")
+    class CompleteMatchingTasks {
+
+        @Test
+        @DisplayName("should return number of completed tasks")
+        void shouldReturnCompletedCount() {
+            // given
+            given(taskCommandHandler.handle(eq(new CompleteMatchingTasksCommand(List.of("work"), true, "Buy"))))
+                    .willReturn(new CompleteMatchingTasksResultData(3));
+
+            // when
+            CompleteMatchingTasksResponse response = taskManagerGrpcController.completeMatchingTasks(CompleteMatchingTasksRequest.newBuilder()
+                    .addTags("work")
+                    .setMatchAllTags(true)
+                    .setTitlePrefix("Buy")
+                    .build());
+
+            // then
+            assertThat(response.getCompletedCount()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("should return invalid argument when no criteria are given")
+        void shouldReturnInvalidArgument_whenNoCriteria() {
+            // given
+            given(taskCommandHandler.handle(eq(new CompleteMatchingTasksCommand(List.of(), false, null))))
+                    .willThrow(new MissingTaskCriteriaException("Tags or a title prefix are required to complete matching tasks"));
+
+            // when
+            Exception exception = catchException(() -> taskManagerGrpcController.completeMatchingTasks(CompleteMatchingTasksRequest.getDefaultInstance()));
+
+            // then
+            assertThat(exception).isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+                assertThat(e.getMessage()).contains("Tags or a title prefix are required");
+            });
+        }
+
+        @Test
+        @DisplayName("should return invalid argument when tag is invalid")
+        void shouldReturnInvalidArgument_whenTagInvalid() {
+            // given
+            given(taskCommandHandler.handle(any(CompleteMatchingTasksCommand.class)))
+                    .willThrow(new InvalidTagIdException("Tag ID cannot be empty"));
+
+            // when
+            Exception exception = catchException(() -> taskManagerGrpcController.completeMatchingTasks(CompleteMatchingTasksRequest.newBuilder()
+                    .addTags(" ")
+                    .build()));
+
+            // then
+            assertThat(exception).isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+                assertThat(e.getMessage()).contains("Tag ID cannot be empty");
+            });
+        }
+    }
+
     @Nested
     @DisplayName("'Chat' endpoint")
     class Chat {
@@ -2,27 +2,44 @@ package com.taskmanager.api.rest;
 
 import com.taskmanager.api.rest.data.*;
 import com.taskmanager.application.domain.assistent.exception.PromptIsEmptyException;
+import com.taskmanager.application.domain.task.exception.InvalidBatchSizeException;
+import com.taskmanager.application.domain.task.exception.InvalidPageTokenException;
+import com.taskmanager.application.domain.task.exception.InvalidTagIdException;
 import com.taskmanager.application.domain.task.exception.InvalidTaskDescriptionException;
 import com.taskmanager.application.domain.task.exception.InvalidTaskIdException;
 import com.taskmanager.application.domain.task.exception.InvalidTaskTitleException;
+import com.taskmanager.application.domain.task.exception.MissingTaskCriteriaException;
+import com.taskmanager.application.domain.task.exception.TaskConcurrentModificationException;
 import com.taskmanager.application.domain.task.exception.TaskNotFoundException;
 import com.taskmanager.application.domain.task.valueobject.TaskId;
 import com.taskmanager.application.port.inbound.assistent.AssistantQueryHandler;
 import com.taskmanager.application.port.inbound.assistent.query.AskQuery;
 import com.taskmanager.application.port.inbound.task.TaskCommandHandler;
 import com.taskmanager.application.port.inbound.task.TaskQueryHandler;
+import com.taskmanager.application.port.inbound.task.command.BatchTaskCommand;
+import com.taskmanager.application.port.inbound.task.command.CompleteMatchingTasksCommand;
 import com.taskmanager.application.port.inbound.task.command.CompleteTaskCommand;
 import com.taskmanager.application.port.inbound.task.command.CreateTaskCommand;
 import com.taskmanager.application.port.inbound.task.command.UpdateTaskCommand;
+import com.taskmanager.application.port.inbound.task.data.BatchGetTasksData;
+import com.taskmanager.application.port.inbound.task.data.BatchTaskResultData;
+import com.taskmanager.application.port.inbound.task.data.CompleteMatchingTasksResultData;
 import com.taskmanager.application.port.inbound.task.data.TaskData;
+import com.taskmanager.application.port.inbound.task.data.TaskPageData;
+import com.taskmanager.application.port.inbound.task.data.TaskResultData;
+import com.taskmanager.application.port.inbound.task.query.BatchGetTasksQuery;
 import com.taskmanager.application.port.inbound.task.query.FindTaskByIdQuery;
 import com.taskmanager.application.port.inbound.task.query.GetAvailableTasksQuery;
+import com.taskmanager.application.port.inbound.task.query.StreamAvailableTasksQuery;
+import io.micronaut.core.type.Argument;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.client.HttpClient;
 import io.micronaut.http.client.annotation.Client;
 import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.http.uri.UriBuilder;
+import io.micronaut.json.JsonMapper;
 import io.micronaut.test.annotation.MockBean;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import jakarta.inject.Inject;
@@ -31,7 +48,11 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchException;
@@ -53,6 +74,8 @@ class TaskManagerRestControllerTest {
     TaskCommandHandler taskCommandHandler;
     @Inject
     AssistantQueryHandler assistantQueryHandler;
+    @Inject
+    JsonMapper jsonMapper;
 
     @Nested
     @DisplayName("'Get tasks' endpoint")
@@ -63,7 +86,7 @@ class TaskManagerRestControllerTest {
         void shouldReturnAvailableTasks() {
             // given
             TaskData taskData = Sample.taskData();
-            given(taskQueryHandler.handle(new GetAvailableTasksQuery())).willReturn(List.of(taskData));
+            given(taskQueryHandler.handle(new GetAvailableTasksQuery())).willReturn(new TaskPageData(List.of(taskData), null));
 
             // when
             HttpResponse<GetAllTasksResponse> response = Interaction.getTasks(client);
@@ -73,6 +96,77 @@ class TaskManagerRestControllerTest {
             assertThat(response.getBody()).hasValueSatisfying(body -> {
                 assertThat(body.tasks()).hasSize(1);
                 assertThat(body.tasks().getFirst()).usingRecursiveComparison().isEqualTo(taskData);
+                assertThat(body.nextPageToken()).isNull();
+            });
+        }
+
+        @Test
+        @DisplayName("should return tasks of the user given in the header")
+        void shouldReturnTasksOfUserGivenInHeader() {
+            // given
+            TaskData taskData = Sample.taskData();
+            given(taskQueryHandler.handle(new GetAvailableTasksQuery("user-1", null, null)))
+                    .willReturn(new TaskPageData(List.of(taskData), null));
+
+            // when
+            HttpResponse<GetAllTasksResponse> response = client.toBlocking()
+                    .exchange(HttpRequest.GET("/tasks").header("X-User-Id", "user-1"), GetAllTasksResponse.class);
+
+            // then
+            assertThat(response.getStatus().getCode()).isEqualTo(200);
+            assertThat(response.getBody()).hasValueSatisfying(body -> assertThat(body.tasks()).hasSize(1));
+        }
+
+        @Test
+        @DisplayName("should pass filters and sort order to the query")
+        void shouldPassFiltersAndSortOrder() {
+            // given
+            TaskData taskData = Sample.taskData();
+            given(taskQueryHandler.handle(new GetAvailableTasksQuery(null, null, null, false, List.of("work", "home"), true, "Buy", true)))
+                    .willReturn(new TaskPageData(List.of(taskData), null));
+
+            // when
+            HttpResponse<GetAllTasksResponse> response = client.toBlocking().exchange(HttpRequest.GET(
+                    "/tasks?completed=false&tags=work&tags=home&matchAllTags=true&titlePrefix=Buy&newestFirst=true"), GetAllTasksResponse.class);
+
+            // then
+            assertThat(response.getStatus().getCode()).isEqualTo(200);
+            assertThat(response.getBody()).hasValueSatisfying(body -> assertThat(body.tasks()).hasSize(1));
+        }
+
+        @Test
+        @DisplayName("should return requested page with next page token")
+        void shouldReturnRequestedPage_withNextPageToken() {
+            // given
+            TaskData taskData = Sample.taskData();
+            given(taskQueryHandler.handle(new GetAvailableTasksQuery(1, "page-1")))
+                    .willReturn(new TaskPageData(List.of(taskData), "page-2"));
+
+            // when
+            HttpResponse<GetAllTasksResponse> response = Interaction.getTasks(client, 1, "page-1");
+
+            // then
+            assertThat(response.getStatus().getCode()).isEqualTo(200);
+            assertThat(response.getBody()).hasValueSatisfying(body -> {
+                assertThat(body.tasks()).hasSize(1);
+                assertThat(body.nextPageToken()).isEqualTo("page-2");
+            });
+        }
+
+        @Test
+        @DisplayName("should return '400 bad request' when page token is invalid")
+        void shouldReturnBadRequest_whenPageTokenInvalid() {
+            // given
+            given(taskQueryHandler.handle(new GetAvailableTasksQuery(10, "<invalid>")))
+                    .willThrow(new InvalidPageTokenException("Page token is invalid"));
+
+            // when
+            Exception exception = catchException(() -> Interaction.getTasks(client, 10, "<invalid>"));
+
+            // then
+            assertThat(exception).isInstanceOfSatisfying(HttpClientResponseException.class, e -> {
+                assertThat(e.getStatus().getCode()).isEqualTo(400);
+                assertThat(e.getResponse().getBody(String.class)).hasValue("Page token is invalid");
             });
         }
 
@@ -80,7 +174,7 @@ class TaskManagerRestControllerTest {
         @DisplayName("should return empty list when no tasks")
         void shouldReturnEmptyList_whenNoTasks() {
             // given
-            given(taskQueryHandler.handle(new GetAvailableTasksQuery())).willReturn(List.of());
+            given(taskQueryHandler.handle(new GetAvailableTasksQuery())).willReturn(new TaskPageData(List.of(), null));
 
             // when
             HttpResponse<GetAllTasksResponse> response = Interaction.getTasks(client);
@@ -109,6 +203,116 @@ class TaskManagerRestControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("'Stream tasks' endpoint")
+    class StreamTasks {
+
+        @Test
+        @DisplayName("should stream available tasks as newline-delimited JSON")
+        void shouldStreamAvailableTasks_asNdjson() {
+            // given
+            TaskData first = Sample.taskData();
+            TaskData second = new TaskData("000000000000000000000002", "Task 2", "Task 2 Description", true);
+            given(taskQueryHandler.handle(new StreamAvailableTasksQuery())).willReturn(Stream.of(first, second));
+
+            // when
+            HttpResponse<String> response = Interaction.streamTasks(client);
+
+            // then
+            assertThat(response.getStatus().getCode()).isEqualTo(200);
+            assertThat(response.getContentType()).hasValueSatisfying(type ->
+                    assertThat(type.getName()).isEqualTo("application/x-ndjson"));
+            assertThat(response.getBody()).hasValueSatisfying(body -> {
+                assertThat(body).endsWith("\n");
+                List<TaskData> tasks = body.lines().map(this::readTaskData).toList();
+                assertThat(tasks).usingRecursiveFieldByFieldElementComparator().containsExactly(first, second);
+            });
+        }
+
+        @Test
+        @DisplayName("should return empty body when no tasks")
+        void shouldReturnEmptyBody_whenNoTasks() {
+            // given
+            given(taskQueryHandler.handle(new StreamAvailableTasksQuery())).willReturn(Stream.empty());
+
+            // when
+            HttpResponse<String> response = Interaction.streamTasks(client);
+
+            // then
+            assertThat(response.getStatus().getCode()).isEqualTo(200);
+            assertThat(response.getBody().orElse("")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should return bad request before streaming when a tag is invalid")
+        void shouldReturnBadRequest_whenTagInvalid() {
+            // given
+            given(taskQueryHandler.handle(new StreamAvailableTasksQuery(null, null, List.of(" "), false, null, false)))
+                    .willThrow(new InvalidTagIdException("Tag ID cannot be empty"));
+
+            // when
+            Exception exception = catchException(() -> client.toBlocking().exchange(
+                    HttpRequest.GET("/tasks?tags=%20").accept("application/x-ndjson"), String.class));
+
+            // then
+            assertThat(exception).isInstanceOfSatisfying(HttpClientResponseException.class, e -> {
+                assertThat(e.getStatus().getCode()).isEqualTo(400);
+                assertThat(e.getResponse().getBody(String.class)).hasValue("Tag ID cannot be empty");
+            });
+        }
+
+        private TaskData readTaskData(String line) {
+            try {
+                return jsonMapper.readValue(line, Argument.of(TaskData.class));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("'Batch get tasks' endpoint")
+    class BatchGetTasks {
+
+        @Test
+        @DisplayName("should return tasks by ids in the requested order with missing ids")
+        void shouldReturnTasksByIds_withMissingIds() {
+            // given
+            TaskData taskData = Sample.taskData();
+            given(taskQueryHandler.handle(new BatchGetTasksQuery(null, List.of(taskData.id(), "missing"))))
+                    .willReturn(new BatchGetTasksData(List.of(taskData), List.of("missing")));
+
+            // when
+            HttpResponse<BatchGetTasksResponse> response = Interaction.batchGetTasks(client,
+                    new BatchGetTasksRequest(List.of(taskData.id(), "missing")));
+
+            // then
+            assertThat(response.getStatus().getCode()).isEqualTo(200);
+            assertThat(response.getBody()).hasValueSatisfying(body -> {
+                assertThat(body.tasks()).hasSize(1);
+                assertThat(body.tasks().getFirst()).usingRecursiveComparison().isEqualTo(taskData);
+                assertThat(body.missingIds()).containsExactly("missing");
+            });
+        }
+
+        @Test
+        @DisplayName("should return '400 bad request' when too many ids are requested")
+        void shouldReturnBadRequest_whenTooManyIds() {
+            // given
+            given(taskQueryHandler.handle(new BatchGetTasksQuery(null, List.of("id-1"))))
+                    .willThrow(new InvalidBatchSizeException("Cannot get more than 1000 tasks at once"));
+
+            // when
+            Exception exception = catchException(() -> Interaction.batchGetTasks(client, new BatchGetTasksRequest(List.of("id-1"))));
+
+            // then
+            assertThat(exception).isInstanceOfSatisfying(HttpClientResponseException.class, e -> {
+                assertThat(e.getStatus().getCode()).isEqualTo(400);
+                assertThat(e.getResponse().getBody(String.class)).hasValue("Cannot get more than 1000 tasks at once");
+            });
+        }
+    }
+
     @Nested
     @DisplayName("'Create new task' endpoint")
     class CreateNewTask {
@@ -418,6 +622,24 @@ class TaskManagerRestControllerTest {
             });
         }
 
+        @Test
+        @DisplayName("should return '409 conflict' when task was modified concurrently")
+        void shouldReturnConflict_whenTaskModifiedConcurrently() {
+            // given
+            String taskId = "00000000f6b5a229daa5525d";
+            given(taskCommandHandler.handle(new CompleteTaskCommand(taskId)))
+                    .willThrow(new TaskConcurrentModificationException(TaskId.from(taskId)));
+
+            // when
+            Exception exception = catchException(() -> Interaction.completeTask(client, taskId));
+
+            // then
+            assertThat(exception).isInstanceOfSatisfying(HttpClientResponseException.class, e -> {
+                assertThat(e.getStatus().getCode()).isEqualTo(409);
+                assertThat(e.getResponse().getBody(String.class)).hasValue("Task with id 00000000f6b5a229daa5525d was modified concurrently");
+            });
+        }
+
         @Test
         @DisplayName("should return '500 internal server error' when unexpected error occurs")
         void shouldReturnInternalServerError_whenUnexpectedError() {
@@ -436,6 +658,112 @@ class TaskManagerRestControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("'Batch tasks' endpoint")
+    class BatchTasks {
+
+        @Test
+        @DisplayName("should return result of each item")
+        void shouldReturnResultOfEachItem() {
+            // given
+            BatchTasksRequest request = new BatchTasksRequest(
+                    List.of(new CreateTaskRequest("Test task", "Task Description")),
+                    List.of("00000000f6b5a229daa5525d", "000000000000000000000000"));
+            BatchTaskCommand command = new BatchTaskCommand(
+                    List.of(new CreateTaskCommand("Test task", "Task Description")),
+                    List.of(new CompleteTaskCommand("00000000f6b5a229daa5525d"), new CompleteTaskCommand("000000000000000000000000")));
+
+            TaskResultData created = TaskResultData.ok(Sample.taskData());
+            TaskResultData completed = TaskResultData.ok(Sample.completedTaskData());
+            TaskResultData notFound = TaskResultData.failed(TaskResultData.Status.NOT_FOUND, "Task with id 000000000000000000000000 not found");
+            given(taskCommandHandler.handle(command)).willReturn(new BatchTaskResultData(List.of(created), List.of(completed, notFound)));
+
+            // when
+            HttpResponse<BatchTasksResponse> response = Interaction.batchTasks(client, request);
+
+            // then
+            assertThat(response.getStatus().getCode()).isEqualTo(200);
+            assertThat(response.getBody()).hasValueSatisfying(body -> {
+                assertThat(body.created()).usingRecursiveFieldByFieldElementComparator().containsExactly(created);
+                assertThat(body.completed()).usingRecursiveFieldByFieldElementComparator().containsExactly(completed, notFound);
+            });
+        }
+
+        @Test
+        @DisplayName("should return '400 bad request' when batch is too large")
+        void shouldReturnBadRequest_whenBatchTooLarge() {
+            // given
+            given(taskCommandHandler.handle(any(BatchTaskCommand.class)))
+                    .willThrow(new InvalidBatchSizeException("Batch cannot contain more than 1000 items"));
+
+            // when
+            Exception exception = catchException(() -> Interaction.batchTasks(client, new BatchTasksRequest(null, List.of("any"))));
+
+            // then
+            assertThat(exception).isInstanceOfSatisfying(HttpClientResponseException.class, e -> {
+                assertThat(e.getStatus().getCode()).isEqualTo(400);
+                assertThat(e.getResponse().getBody(String.class)).hasValue("Batch cannot contain more than 1000 items");
+            });
+        }
+    }
+
+    @Nested
+    @DisplayName("'Complete matching tasks' endpoint")
+    class CompleteMatchingTasks {
+
+        @Test
+        @DisplayName("should return number of completed tasks")
+        void shouldReturnCompletedCount() {
+            // given
+            given(taskCommandHandler.handle(new CompleteMatchingTasksCommand(List.of("work"), true, "Buy")))
+                    .willReturn(new CompleteMatchingTasksResultData(3));
+
+            // when
+            HttpResponse<CompleteMatchingTasksResponse> response = Interaction.completeMatchingTasks(client,
+                    new CompleteMatchingTasksRequest(List.of("work"), true, "Buy"));
+
+            // then
+            assertThat(response.getStatus().getCode()).isEqualTo(200);
+            assertThat(response.getBody()).hasValueSatisfying(body -> assertThat(body.completedCount()).isEqualTo(3));
+        }
+
+        @Test
+        @DisplayName("should return '400 bad request' when no criteria are given")
+        void shouldReturnBadRequest_whenNoCriteria() {
+            // given
+            given(taskCommandHandler.handle(new CompleteMatchingTasksCommand(List.of(), false, null)))
+                    .willThrow(new MissingTaskCriteriaException("Tags or a title prefix are required to complete matching tasks"));
+
+            // when
+            Exception exception = catchException(() -> Interaction.completeMatchingTasks(client,
+                    new CompleteMatchingTasksRequest(null, null, null)));
+
+            // then
+            assertThat(exception).isInstanceOfSatisfying(HttpClientResponseException.class, e -> {
+                assertThat(e.getStatus().getCode()).isEqualTo(400);
+                assertThat(e.getResponse().getBody(String.class)).hasValue("Tags or a title prefix are required to complete matching tasks");
+            });
+        }
+
+        @Test
+        @DisplayName("should return '400 bad request' when tag is invalid")
+        void shouldReturnBadRequest_whenTagInvalid() {
+            // given
+            given(taskCommandHandler.handle(any(CompleteMatchingTasksCommand.class)))
+                    .willThrow(new InvalidTagIdException("Tag ID cannot be empty"));
+
+            // when
+            Exception exception = catchException(() -> Interaction.completeMatchingTasks(client,
+                    new CompleteMatchingTasksRequest(List.of(" "), null, null)));
+
+            // then
+            assertThat(exception).isInstanceOfSatisfying(HttpClientResponseException.class, e -> {
+                assertThat(e.getStatus().getCode()).isEqualTo(400);
+                assertThat(e.getResponse().getBody(String.class)).hasValue("Tag ID cannot be empty");
+            });
+        }
+    }
+
     @Nested
     @DisplayName("'Chat' endpoint")
     class Chat {
@@ -498,6 +826,18 @@ class TaskManagerRestControllerTest {
             return client.toBlocking().exchange(HttpRequest.GET("/tasks"), GetAllTasksResponse.class);
         }
 
+        static HttpResponse<GetAllTasksResponse> getTasks(HttpClient client, int pageSize, String pageToken) {
+            URI uri = UriBuilder.of("/tasks")
+                    .queryParam("pageSize", pageSize)
+                    .queryParam("pageToken", pageToken)
+                    .build();
+            return client.toBlocking().exchange(HttpRequest.GET(uri), GetAllTasksResponse.class);
+        }
+
+        static HttpResponse<String> streamTasks(HttpClient client) {
+            return client.toBlocking().exchange(HttpRequest.GET("/tasks").accept("application/x-ndjson"), String.class);
+        }
+
         @SuppressWarnings("unchecked")
         static HttpResponse<TaskData> createNewTask(HttpClient client, CreateTaskRequest request) {
             return client.toBlocking().exchange(HttpRequest.POST("/tasks", request)
@@ -509,6 +849,21 @@ class TaskManagerRestControllerTest {
             return client.toBlocking().exchange(HttpRequest.GET("/tasks/" + id), TaskData.class);
         }
 
+        static HttpResponse<BatchGetTasksResponse> batchGetTasks(HttpClient client, BatchGetTasksRequest request) {
+            return client.toBlocking().exchange(HttpRequest.POST("/tasks:batchGet", request)
+                    .contentType(MediaType.APPLICATION_JSON), BatchGetTasksResponse.class);
+        }
+
+        static HttpResponse<BatchTasksResponse> batchTasks(HttpClient client, BatchTasksRequest request) {
+            return client.toBlocking().exchange(HttpRequest.POST("/tasks:batch", request)
+                    .contentType(MediaType.APPLICATION_JSON), BatchTasksResponse.class);
+        }
+
+        static HttpResponse<CompleteMatchingTasksResponse> completeMatchingTasks(HttpClient client, CompleteMatchingTasksRequest request) {
+            return client.toBlocking().exchange(HttpRequest.POST("/tasks:complete", request)
+                    .contentType(MediaType.APPLICATION_JSON), CompleteMatchingTasksResponse.class);
+        }
+
         static HttpResponse<ChatResponse> chat(HttpClient client, String message) {
             return client.toBlocking().exchange(HttpRequest.POST("/chat", new ChatRequest(message))
                     .contentType(MediaType.APPLICATION_JSON), ChatResponse.class);
@@ -7,12 +7,18 @@ import com.taskmanager.application.domain.user.valueobject.UserId;
 
 public class Sample {
 
+    public static final UserId USER_ID = UserId.from("00000000f6b5a229daa5525d");
+
     public static Task task() {
         return task("I need todo something");
     }
 
     public static Task task(String title) {
-        Task task = new Task(TaskTitle.from(title), UserId.from("00000000f6b5a229daa5525d"));
+        return task(title, USER_ID);
+    }
+
+    public static Task task(String title, UserId userId) {
+        Task task = new Task(TaskTitle.from(title), userId);
         task.setDescription(TaskDescription.from("But I don't know what"));
         return task;
     }
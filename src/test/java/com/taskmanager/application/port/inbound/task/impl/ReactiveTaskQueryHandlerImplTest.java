@@ -0,0 +1,81 @@
+package com.taskmanager.application.port.inbound.task.impl;
+
+import com.taskmanager.application.Sample;
+import com.taskmanager.application.domain.task.Task;
+import com.taskmanager.application.domain.task.exception.InvalidTagIdException;
+import com.taskmanager.application.port.inbound.task.ReactiveTaskQueryHandler;
+import com.taskmanager.application.port.inbound.task.data.TaskData;
+import com.taskmanager.application.port.inbound.task.query.StreamAvailableTasksQuery;
+import com.taskmanager.application.port.outbound.task.ReactiveTaskQueryRepository;
+import com.taskmanager.application.port.outbound.task.ReactiveTaskQueryRepositoryMock;
+import com.taskmanager.application.port.outbound.task.TaskCommandRepository;
+import com.taskmanager.application.port.outbound.task.TaskCommandRepositoryMock;
+import io.micronaut.test.annotation.MockBean;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
+
+@MicronautTest(startApplication = false)
+@DisplayName("Reactive Task Query Use Cases")
+class ReactiveTaskQueryHandlerImplTest {
+
+    private static final String USER_ID = Sample.USER_ID.value();
+
+    @Inject
+    ReactiveTaskQueryHandler taskQueryHandler;
+
+    @Inject
+    TaskCommandRepository taskCommandRepository;
+
+    @Nested
+    @DisplayName("Use case: Stream available tasks")
+    class StreamAvailableTasksUseCase {
+
+        @Test
+        @DisplayName("should stream only tasks with requested completion")
+        void shouldStreamOnlyTasksWithRequestedCompletion() {
+            // given
+            Task completedTask = Sample.task("Already done");
+            completedTask.markComplete();
+            taskCommandRepository.save(completedTask);
+            taskCommandRepository.save(Sample.task("Still to do"));
+
+            // when
+            List<TaskData> actualResult = taskQueryHandler.handle(new StreamAvailableTasksQuery(USER_ID, false)).collectList().block();
+
+            // then
+            assertThat(actualResult)
+                    .extracting(TaskData::title)
+                    .containsExactly("Still to do");
+        }
+
+        @Test
+        @DisplayName("should reject an invalid tag before streaming")
+        void shouldRejectInvalidTag_beforeStreaming() {
+            // when
+            Exception exception = catchException(() -> taskQueryHandler.handle(
+                    new StreamAvailableTasksQuery(USER_ID, null, List.of(" "), false, null, false)));
+
+            // then
+            assertThat(exception).isInstanceOf(InvalidTagIdException.class);
+        }
+    }
+
+    @MockBean(ReactiveTaskQueryRepository.class)
+    ReactiveTaskQueryRepository reactiveTaskQueryRepository() {
+        return new ReactiveTaskQueryRepositoryMock();
+    }
+
+    @MockBean(TaskCommandRepository.class)
+    TaskCommandRepository taskCommandRepository() {
+        return new TaskCommandRepositoryMock();
+    }
+
+}
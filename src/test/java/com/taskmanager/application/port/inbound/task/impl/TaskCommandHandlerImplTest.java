@@ -2,18 +2,30 @@ package com.taskmanager.application.port.inbound.task.impl;
 
 import com.taskmanager.application.Sample;
 import com.taskmanager.application.domain.task.Task;
+import com.taskmanager.application.domain.task.exception.InvalidBatchSizeException;
+import com.taskmanager.application.domain.task.exception.InvalidTagIdException;
 import com.taskmanager.application.domain.task.exception.InvalidTaskDescriptionException;
 import com.taskmanager.application.domain.task.exception.InvalidTaskIdException;
 import com.taskmanager.application.domain.task.exception.InvalidTaskTitleException;
+import com.taskmanager.application.domain.task.exception.MissingTaskCriteriaException;
+import com.taskmanager.application.domain.task.exception.TaskConcurrentModificationException;
 import com.taskmanager.application.domain.task.exception.TaskNotFoundException;
+import com.taskmanager.application.domain.task.valueobject.TagId;
 import com.taskmanager.application.domain.task.valueobject.TaskId;
+import com.taskmanager.application.domain.user.valueobject.UserId;
 import com.taskmanager.application.port.inbound.task.TaskCommandHandler;
+import com.taskmanager.application.port.inbound.task.command.BatchTaskCommand;
+import com.taskmanager.application.port.inbound.task.command.CompleteMatchingTasksCommand;
 import com.taskmanager.application.port.inbound.task.command.CompleteTaskCommand;
 import com.taskmanager.application.port.inbound.task.command.CreateTaskCommand;
 import com.taskmanager.application.port.inbound.task.command.UpdateTaskCommand;
+import com.taskmanager.application.port.inbound.task.data.BatchTaskResultData;
+import com.taskmanager.application.port.inbound.task.data.CompleteMatchingTasksResultData;
 import com.taskmanager.application.port.inbound.task.data.TaskData;
+import com.taskmanager.application.port.inbound.task.data.TaskResultData;
 import com.taskmanager.application.port.outbound.task.TaskCommandRepository;
 import com.taskmanager.application.port.outbound.task.TaskCommandRepositoryMock;
+import io.micronaut.context.annotation.Property;
 import io.micronaut.test.annotation.MockBean;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import jakarta.inject.Inject;
@@ -23,17 +35,24 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchException;
 import static org.junit.jupiter.api.Assertions.assertAll;
 
 @MicronautTest(startApplication = false)
+@Property(name = "task-manager.commands.conflict-retries", value = "1")
 @DisplayName("Task Command Use Cases")
 class TaskCommandHandlerImplTest {
 
+    private static final String USER_ID = Sample.USER_ID.value();
+
     @Inject
     TaskCommandHandler taskCommandHandler;
 
@@ -62,7 +81,7 @@ class TaskCommandHandlerImplTest {
             });
 
             assertAll("The created task should be saved in the repo", () -> {
-                Optional<Task> savedTask = taskCommandRepository.findById(TaskId.from(actualResult.id()));
+                Optional<Task> savedTask = taskCommandRepository.findById(UserId.ANONYMOUS, TaskId.from(actualResult.id()));
                 assertThat(savedTask).hasValueSatisfying(task -> {
                     assertThat(task.getId()).isNotNull();
                     assertThat(task.getTitle().value()).isEqualTo(taskTitle);
@@ -71,6 +90,28 @@ class TaskCommandHandlerImplTest {
             });
         }
 
+        @Test
+        @DisplayName("should create new task owned by the given user")
+        void shouldCreateNewTaskOwnedByGivenUser() {
+            // when
+            TaskData actualResult = taskCommandHandler.handle(new CreateTaskCommand("user-1", "Task title", null));
+
+            // then
+            Optional<Task> savedTask = taskCommandRepository.findById(UserId.from("user-1"), TaskId.from(actualResult.id()));
+            assertThat(savedTask).hasValueSatisfying(task -> assertThat(task.getUserId()).isEqualTo(UserId.from("user-1")));
+        }
+
+        @Test
+        @DisplayName("should create new task owned by the anonymous user when no user is given")
+        void shouldCreateNewTaskOwnedByAnonymousUser_whenNoUserGiven() {
+            // when
+            TaskData actualResult = taskCommandHandler.handle(new CreateTaskCommand("Task title", null));
+
+            // then
+            Optional<Task> savedTask = taskCommandRepository.findById(UserId.ANONYMOUS, TaskId.from(actualResult.id()));
+            assertThat(savedTask).hasValueSatisfying(task -> assertThat(task.getUserId()).isEqualTo(UserId.ANONYMOUS));
+        }
+
         @Test
         @DisplayName("should create new task when using max length for title")
         void shouldCreateNewTask_whenUsingMaxValueForTitle() {
@@ -87,7 +128,7 @@ class TaskCommandHandlerImplTest {
             });
 
             assertAll("The created task should be saved in the repo", () -> {
-                Optional<Task> savedTask = taskCommandRepository.findById(TaskId.from(actualResult.id()));
+                Optional<Task> savedTask = taskCommandRepository.findById(UserId.ANONYMOUS, TaskId.from(actualResult.id()));
                 assertThat(savedTask).hasValueSatisfying(task -> {
                     assertThat(task.getTitle().value()).isEqualTo(taskTitle);
                 });
@@ -110,7 +151,7 @@ class TaskCommandHandlerImplTest {
             });
 
             assertAll("The created task should be saved in the repo", () -> {
-                Optional<Task> savedTask = taskCommandRepository.findById(TaskId.from(actualResult.id()));
+                Optional<Task> savedTask = taskCommandRepository.findById(UserId.ANONYMOUS, TaskId.from(actualResult.id()));
                 assertThat(savedTask).hasValueSatisfying(task -> {
                     assertThat(task.getDescription().value()).isEqualTo(taskDescription);
                 });
@@ -183,7 +224,7 @@ class TaskCommandHandlerImplTest {
             });
 
             assertAll("The created task should be saved in the repo", () -> {
-                Optional<Task> savedTask = taskCommandRepository.findById(TaskId.from(actualResult.id()));
+                Optional<Task> savedTask = taskCommandRepository.findById(UserId.ANONYMOUS, TaskId.from(actualResult.id()));
                 assertThat(savedTask).hasValueSatisfying(task -> {
                     assertThat(task.getTitle().value()).isEqualTo(taskTitle);
                     assertThat(task.getDescription().value()).isNullOrEmpty();
@@ -206,10 +247,10 @@ class TaskCommandHandlerImplTest {
             String taskId = Objects.requireNonNull(task.getId()).value();
 
             // when
-            taskCommandHandler.handle(new CompleteTaskCommand(taskId));
+            taskCommandHandler.handle(new CompleteTaskCommand(USER_ID, taskId));
 
             // then
-            Optional<Task> taskFromRepo = taskCommandRepository.findById(TaskId.from(taskId));
+            Optional<Task> taskFromRepo = taskCommandRepository.findById(Sample.USER_ID, TaskId.from(taskId));
             assertThat(taskFromRepo).hasValueSatisfying(t -> {
                 assertThat(t.isCompleted()).isTrue();
             });
@@ -222,7 +263,7 @@ class TaskCommandHandlerImplTest {
             String nonExistentTaskId = "000000000000000000000000";
 
             // when
-            Exception exception = catchException(() -> taskCommandHandler.handle(new CompleteTaskCommand(nonExistentTaskId)));
+            Exception exception = catchException(() -> taskCommandHandler.handle(new CompleteTaskCommand(USER_ID, nonExistentTaskId)));
 
             // then
             assertThat(exception)
@@ -230,12 +271,29 @@ class TaskCommandHandlerImplTest {
                     .hasMessageContaining(nonExistentTaskId);
         }
 
+        @Test
+        @DisplayName("should not complete task of another user")
+        void shouldNotCompleteTaskOfAnotherUser() {
+            // given
+            Task task = taskCommandRepository.save(Sample.task());
+            String taskId = Objects.requireNonNull(task.getId()).value();
+
+            // when
+            Exception exception = catchException(() -> taskCommandHandler.handle(new CompleteTaskCommand("someone-else", taskId)));
+
+            // then
+            assertThat(exception).isInstanceOf(TaskNotFoundException.class);
+            assertThat(taskCommandRepository.findById(Sample.USER_ID, TaskId.from(taskId))).hasValueSatisfying(t -> {
+                assertThat(t.isCompleted()).isFalse();
+            });
+        }
+
         @ParameterizedTest
         @NullAndEmptySource
         @DisplayName("should throw exception when task ID is empty")
         void shouldThrowException_whenTaskIdIsEmpty(String emptyTaskId) {
             // when
-            Exception exception = catchException(() -> taskCommandHandler.handle(new CompleteTaskCommand(emptyTaskId)));
+            Exception exception = catchException(() -> taskCommandHandler.handle(new CompleteTaskCommand(USER_ID, emptyTaskId)));
 
             // then
             assertThat(exception)
@@ -259,7 +317,7 @@ class TaskCommandHandlerImplTest {
             String newDescription = "Updated description";
 
             // when
-            TaskData actualResult = taskCommandHandler.handle(new UpdateTaskCommand(taskId, newTitle, newDescription));
+            TaskData actualResult = taskCommandHandler.handle(new UpdateTaskCommand(USER_ID, taskId, newTitle, newDescription));
 
             // then
             assertAll("The updated task should be returned back", () -> {
@@ -269,7 +327,7 @@ class TaskCommandHandlerImplTest {
             });
 
             assertAll("The task should be updated in the repo", () -> {
-                Optional<Task> updatedTask = taskCommandRepository.findById(TaskId.from(taskId));
+                Optional<Task> updatedTask = taskCommandRepository.findById(Sample.USER_ID, TaskId.from(taskId));
                 assertThat(updatedTask).hasValueSatisfying(t -> {
                     assertThat(t.getTitle().value()).isEqualTo(newTitle);
                     assertThat(t.getDescription().value()).isEqualTo(newDescription);
@@ -286,7 +344,7 @@ class TaskCommandHandlerImplTest {
             String taskId = Objects.requireNonNull(task.getId()).value();
 
             // when
-            TaskData actualResult = taskCommandHandler.handle(new UpdateTaskCommand(taskId, "Task Title", emptyTaskDescription));
+            TaskData actualResult = taskCommandHandler.handle(new UpdateTaskCommand(USER_ID, taskId, "Task Title", emptyTaskDescription));
 
             // then
             assertAll("The updated task should be returned back", () -> {
@@ -295,7 +353,7 @@ class TaskCommandHandlerImplTest {
             });
 
             assertAll("The task should be updated in the repo", () -> {
-                Optional<Task> updatedTask = taskCommandRepository.findById(TaskId.from(taskId));
+                Optional<Task> updatedTask = taskCommandRepository.findById(Sample.USER_ID, TaskId.from(taskId));
                 assertThat(updatedTask).hasValueSatisfying(t -> {
                     assertThat(t.getDescription().value()).isNullOrEmpty();
                 });
@@ -311,7 +369,7 @@ class TaskCommandHandlerImplTest {
             String maxLengthDescription = "a".repeat(1000);
 
             // when
-            TaskData actualResult = taskCommandHandler.handle(new UpdateTaskCommand(taskId, "Task Title", maxLengthDescription));
+            TaskData actualResult = taskCommandHandler.handle(new UpdateTaskCommand(USER_ID, taskId, "Task Title", maxLengthDescription));
 
             // then
             assertAll("The updated task should have the maximum length description", () -> {
@@ -328,7 +386,7 @@ class TaskCommandHandlerImplTest {
             String tooLongDescription = "a".repeat(1001);
 
             // when
-            Exception exception = catchException(() -> taskCommandHandler.handle(new UpdateTaskCommand(taskId, "Task Title", tooLongDescription)));
+            Exception exception = catchException(() -> taskCommandHandler.handle(new UpdateTaskCommand(USER_ID, taskId, "Task Title", tooLongDescription)));
 
             // then
             assertThat(exception)
@@ -343,7 +401,7 @@ class TaskCommandHandlerImplTest {
             String nonExistentTaskId = "000000000000000000000000";
 
             // when
-            Exception exception = catchException(() -> taskCommandHandler.handle(new UpdateTaskCommand(nonExistentTaskId, "any", "andy")));
+            Exception exception = catchException(() -> taskCommandHandler.handle(new UpdateTaskCommand(USER_ID, nonExistentTaskId, "any", "andy")));
 
             // then
             assertThat(exception)
@@ -352,6 +410,231 @@ class TaskCommandHandlerImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("Concurrent modifications")
+    class ConcurrentModifications {
+
+        @Test
+        @DisplayName("should re-apply command when task was modified concurrently")
+        void shouldReapplyCommand_whenTaskModifiedConcurrently() {
+            // given
+            Task task = taskCommandRepository.save(Sample.task());
+            String taskId = Objects.requireNonNull(task.getId()).value();
+            ((TaskCommandRepositoryMock) taskCommandRepository).simulateConcurrentModifications(1);
+
+            // when
+            TaskData actualResult = taskCommandHandler.handle(new CompleteTaskCommand(USER_ID, taskId));
+
+            // then
+            assertThat(actualResult.completed()).isTrue();
+            assertThat(taskCommandRepository.findById(Sample.USER_ID, TaskId.from(taskId))).hasValueSatisfying(t -> {
+                assertThat(t.isCompleted()).isTrue();
+            });
+        }
+
+        @Test
+        @DisplayName("should throw exception when retries are exhausted")
+        void shouldThrowException_whenRetriesExhausted() {
+            // given
+            Task task = taskCommandRepository.save(Sample.task());
+            String taskId = Objects.requireNonNull(task.getId()).value();
+            ((TaskCommandRepositoryMock) taskCommandRepository).simulateConcurrentModifications(2);
+
+            // when
+            Exception exception = catchException(() -> taskCommandHandler.handle(new UpdateTaskCommand(USER_ID, taskId, "New title", null)));
+
+            // then
+            assertThat(exception)
+                    .isInstanceOf(TaskConcurrentModificationException.class)
+                    .hasMessage("Task with id " + taskId + " was modified concurrently");
+        }
+    }
+
+    @Nested
+    @DisplayName("Use case: Batch tasks")
+    class BatchTasksUseCase {
+
+        @Test
+        @DisplayName("should create and complete tasks")
+        void shouldCreateAndCompleteTasks() {
+            // given
+            Task task = taskCommandRepository.save(Sample.task());
+            String taskId = Objects.requireNonNull(task.getId()).value();
+            BatchTaskCommand command = new BatchTaskCommand(USER_ID,
+                    List.of(new CreateTaskCommand("First", null), new CreateTaskCommand("Second", "Description")),
+                    List.of(new CompleteTaskCommand(taskId)));
+
+            // when
+            BatchTaskResultData actualResult = taskCommandHandler.handle(command);
+
+            // then
+            assertThat(actualResult.created())
+                    .extracting(TaskResultData::status)
+                    .containsExactly(TaskResultData.Status.OK, TaskResultData.Status.OK);
+            assertThat(actualResult.created())
+                    .extracting(result -> result.task().title())
+                    .containsExactly("First", "Second");
+            assertThat(actualResult.completed()).singleElement().satisfies(result -> {
+                assertThat(result.status()).isEqualTo(TaskResultData.Status.OK);
+                assertThat(result.task().completed()).isTrue();
+            });
+            assertThat(taskCommandRepository.findById(Sample.USER_ID, TaskId.from(taskId))).hasValueSatisfying(t -> {
+                assertThat(t.isCompleted()).isTrue();
+            });
+        }
+
+        @Test
+        @DisplayName("should report failed items without failing the others")
+        void shouldReportFailedItems() {
+            // given
+            Task task = taskCommandRepository.save(Sample.task());
+            String taskId = Objects.requireNonNull(task.getId()).value();
+            String nonExistentTaskId = "000000000000000000000000";
+            BatchTaskCommand command = new BatchTaskCommand(USER_ID,
+                    List.of(new CreateTaskCommand("", null), new CreateTaskCommand("Valid", null)),
+                    List.of(new CompleteTaskCommand(nonExistentTaskId), new CompleteTaskCommand(" "), new CompleteTaskCommand(taskId)));
+
+            // when
+            BatchTaskResultData actualResult = taskCommandHandler.handle(command);
+
+            // then
+            assertThat(actualResult.created())
+                    .extracting(TaskResultData::status)
+                    .containsExactly(TaskResultData.Status.INVALID, TaskResultData.Status.OK);
+            assertThat(actualResult.completed())
+                    .extracting(TaskResultData::status)
+                    .containsExactly(TaskResultData.Status.NOT_FOUND, TaskResultData.Status.INVALID, TaskResultData.Status.OK);
+            assertThat(actualResult.completed().getFirst().error()).contains(nonExistentTaskId);
+        }
+
+        @Test
+        @DisplayName("should report conflict when task was modified concurrently")
+        void shouldReportConflict_whenTaskModifiedConcurrently() {
+            // given
+            Task task = taskCommandRepository.save(Sample.task());
+            String taskId = Objects.requireNonNull(task.getId()).value();
+            ((TaskCommandRepositoryMock) taskCommandRepository).simulateConcurrentModifications(1);
+
+            // when
+            BatchTaskResultData actualResult = taskCommandHandler.handle(new BatchTaskCommand(USER_ID, List.of(), List.of(new CompleteTaskCommand(taskId))));
+
+            // then
+            assertThat(actualResult.completed()).singleElement().satisfies(result -> {
+                assertThat(result.status()).isEqualTo(TaskResultData.Status.CONFLICT);
+                assertThat(result.task()).isNull();
+            });
+        }
+
+        @Test
+        @DisplayName("should complete task listed twice once")
+        void shouldCompleteDuplicateTaskOnce() {
+            // given
+            Task task = taskCommandRepository.save(Sample.task());
+            String taskId = Objects.requireNonNull(task.getId()).value();
+            CompleteTaskCommand complete = new CompleteTaskCommand(taskId);
+
+            // when
+            BatchTaskResultData actualResult = taskCommandHandler.handle(new BatchTaskCommand(USER_ID, List.of(), List.of(complete, complete)));
+
+            // then
+            assertThat(actualResult.completed())
+                    .extracting(TaskResultData::status)
+                    .containsExactly(TaskResultData.Status.OK, TaskResultData.Status.OK);
+        }
+
+        @Test
+        @DisplayName("should complete task given by ID in upper case")
+        void shouldCompleteTask_whenIdInUpperCase() {
+            // given
+            Task task = taskCommandRepository.save(Sample.task());
+            String taskId = Objects.requireNonNull(task.getId()).value().toUpperCase(Locale.ROOT);
+
+            // when
+            BatchTaskResultData actualResult = taskCommandHandler.handle(new BatchTaskCommand(USER_ID, List.of(), List.of(new CompleteTaskCommand(taskId))));
+
+            // then
+            assertThat(actualResult.completed()).singleElement().satisfies(result -> {
+                assertThat(result.status()).isEqualTo(TaskResultData.Status.OK);
+                assertThat(result.task().completed()).isTrue();
+            });
+        }
+
+        @Test
+        @DisplayName("should throw exception when batch is too large")
+        void shouldThrowException_whenBatchTooLarge() {
+            // given
+            List<CreateTaskCommand> create = Collections.nCopies(TaskCommandHandlerImpl.MAX_BATCH_SIZE + 1, new CreateTaskCommand("Task", null));
+
+            // when
+            Exception exception = catchException(() -> taskCommandHandler.handle(new BatchTaskCommand(create, List.of())));
+
+            // then
+            assertThat(exception).isInstanceOf(InvalidBatchSizeException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Use case: Complete matching tasks")
+    class CompleteMatchingTasksUseCase {
+
+        @Test
+        @SuppressWarnings("DataFlowIssue")
+        @DisplayName("should complete not completed tasks with the tags and title prefix")
+        void shouldCompleteMatchingTasks() {
+            // given
+            Task matchingTask = taskCommandRepository.save(tagged("Buy milk", "shopping", "today"));
+            Task completedTask = tagged("Buy bread", "shopping", "today");
+            completedTask.markComplete();
+            taskCommandRepository.save(completedTask);
+            Task untaggedTask = taskCommandRepository.save(tagged("Buy car", "shopping"));
+            Task otherTitleTask = taskCommandRepository.save(tagged("Sell bike", "shopping", "today"));
+
+            // when
+            CompleteMatchingTasksResultData actualResult = taskCommandHandler.handle(
+                    new CompleteMatchingTasksCommand(USER_ID, List.of("shopping", "today"), true, "Buy"));
+
+            // then
+            assertThat(actualResult.completedCount()).isEqualTo(1);
+            assertThat(taskCommandRepository.findById(Sample.USER_ID, matchingTask.getId()))
+                    .hasValueSatisfying(task -> assertThat(task.isCompleted()).isTrue());
+            assertThat(taskCommandRepository.findAllById(Sample.USER_ID, List.of(untaggedTask.getId(), otherTitleTask.getId())))
+                    .noneMatch(Task::isCompleted);
+        }
+
+        @Test
+        @DisplayName("should complete nothing when neither tags nor a title prefix are given")
+        void shouldCompleteNothing_whenNoCriteria() {
+            // given
+            Task task = taskCommandRepository.save(Sample.task());
+
+            // when
+            Exception exception = catchException(() -> taskCommandHandler.handle(new CompleteMatchingTasksCommand(USER_ID, List.of(), false, "")));
+
+            // then
+            assertThat(exception)
+                    .isInstanceOf(MissingTaskCriteriaException.class)
+                    .hasMessage("Tags or a title prefix are required to complete matching tasks");
+            assertThat(taskCommandRepository.findById(Sample.USER_ID, Objects.requireNonNull(task.getId())))
+                    .hasValueSatisfying(t -> assertThat(t.isCompleted()).isFalse());
+        }
+
+        @Test
+        @DisplayName("should throw exception when tag is blank")
+        void shouldThrowException_whenTagBlank() {
+            // when
+            Exception exception = catchException(() -> taskCommandHandler.handle(new CompleteMatchingTasksCommand(List.of(" "), false, null)));
+
+            // then
+            assertThat(exception).isInstanceOf(InvalidTagIdException.class);
+        }
+
+        private static Task tagged(String title, String... tags) {
+            Task task = Sample.task(title);
+            task.addTags(Stream.of(tags).map(TagId::from).toArray(TagId[]::new));
+            return task;
+        }
+    }
+
     @MockBean(TaskCommandRepository.class)
     TaskCommandRepository taskCommandRepository() {
         return new TaskCommandRepositoryMock();
@@ -2,12 +2,22 @@ package com.taskmanager.application.port.inbound.task.impl;
 
 import com.taskmanager.application.Sample;
 import com.taskmanager.application.domain.task.Task;
+import com.taskmanager.application.domain.task.exception.InvalidBatchSizeException;
+import com.taskmanager.application.domain.task.exception.InvalidPageSizeException;
+import com.taskmanager.application.domain.task.exception.InvalidPageTokenException;
+import com.taskmanager.application.domain.task.exception.InvalidTagIdException;
 import com.taskmanager.application.domain.task.exception.InvalidTaskIdException;
 import com.taskmanager.application.domain.task.exception.TaskNotFoundException;
+import com.taskmanager.application.domain.task.valueobject.TagId;
+import com.taskmanager.application.domain.user.valueobject.UserId;
 import com.taskmanager.application.port.inbound.task.TaskQueryHandler;
+import com.taskmanager.application.port.inbound.task.data.BatchGetTasksData;
 import com.taskmanager.application.port.inbound.task.data.TaskData;
+import com.taskmanager.application.port.inbound.task.data.TaskPageData;
+import com.taskmanager.application.port.inbound.task.query.BatchGetTasksQuery;
 import com.taskmanager.application.port.inbound.task.query.FindTaskByIdQuery;
 import com.taskmanager.application.port.inbound.task.query.GetAvailableTasksQuery;
+import com.taskmanager.application.port.inbound.task.query.StreamAvailableTasksQuery;
 import com.taskmanager.application.port.outbound.task.TaskCommandRepository;
 import com.taskmanager.application.port.outbound.task.TaskCommandRepositoryMock;
 import com.taskmanager.application.port.outbound.task.TaskQueryRepository;
@@ -20,8 +30,11 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchException;
@@ -30,6 +43,8 @@ import static org.assertj.core.api.Assertions.catchException;
 @DisplayName("Task Query Use Cases")
 class TaskQueryHandlerImplTest {
 
+    private static final String USER_ID = Sample.USER_ID.value();
+
     @Inject
     TaskQueryHandler taskQueryHandler;
 
@@ -50,7 +65,7 @@ class TaskQueryHandlerImplTest {
             taskCommandRepository.save(Sample.task());
 
             // when
-            TaskData actualResult = taskQueryHandler.handle(new FindTaskByIdQuery(taskToFind.getId().value()));
+            TaskData actualResult = taskQueryHandler.handle(new FindTaskByIdQuery(USER_ID, taskToFind.getId().value()));
 
             // then
             assertThat(actualResult.id()).isEqualTo(taskToFind.getId().value());
@@ -62,19 +77,33 @@ class TaskQueryHandlerImplTest {
         @DisplayName("should return empty when no task")
         void shouldReturnEmpty_whenNoTask() {
             // when
-            Exception exception = catchException(() -> taskQueryHandler.handle(new FindTaskByIdQuery("00000000f6b5a229daa5525c")));
+            Exception exception = catchException(() -> taskQueryHandler.handle(new FindTaskByIdQuery(USER_ID, "00000000f6b5a229daa5525c")));
 
             // then
             assertThat(exception).isInstanceOf(TaskNotFoundException.class)
                     .hasMessage("Task with id 00000000f6b5a229daa5525c not found");
         }
 
+        @Test
+        @SuppressWarnings("DataFlowIssue")
+        @DisplayName("should not find task of another user")
+        void shouldNotFindTaskOfAnotherUser() {
+            // given
+            Task task = taskCommandRepository.save(Sample.task("Someone else's", UserId.from("someone-else")));
+
+            // when
+            Exception exception = catchException(() -> taskQueryHandler.handle(new FindTaskByIdQuery(USER_ID, task.getId().value())));
+
+            // then
+            assertThat(exception).isInstanceOf(TaskNotFoundException.class);
+        }
+
         @ParameterizedTest
         @NullAndEmptySource
         @DisplayName("should throw exception when id is empty")
         void shouldThrowException_whenIdIsEmpty(String id) {
             // when
-            Exception exception = catchException(() -> taskQueryHandler.handle(new FindTaskByIdQuery(id)));
+            Exception exception = catchException(() -> taskQueryHandler.handle(new FindTaskByIdQuery(USER_ID, id)));
 
             // then
             assertThat(exception)
@@ -84,37 +113,333 @@ class TaskQueryHandlerImplTest {
     }
 
     @Nested
-    @DisplayName("Use case: Get all tasks")
+    @DisplayName("Use case: Batch get tasks")
+    class BatchGetTasksUseCase {
+
+        @Test
+        @SuppressWarnings("DataFlowIssue")
+        @DisplayName("should return tasks in the requested order and report missing ids")
+        void shouldReturnTasksInRequestedOrder_andReportMissingIds() {
+            // given
+            Task first = taskCommandRepository.save(Sample.task("Task 1"));
+            Task second = taskCommandRepository.save(Sample.task("Task 2"));
+            Task foreign = taskCommandRepository.save(Sample.task("Someone else's", UserId.from("someone-else")));
+            String missingId = "00000000f6b5a229daa5525c";
+
+            // when
+            BatchGetTasksData actualResult = taskQueryHandler.handle(new BatchGetTasksQuery(USER_ID, List.of(
+                    second.getId().value(), missingId, first.getId().value(), foreign.getId().value(), second.getId().value())));
+
+            // then
+            assertThat(actualResult.tasks())
+                    .extracting(TaskData::title)
+                    .containsExactly("Task 2", "Task 1");
+            assertThat(actualResult.missingIds()).containsExactly(missingId, foreign.getId().value());
+        }
+
+        @Test
+        @DisplayName("should throw exception when there are too many ids")
+        void shouldThrowException_whenTooManyIds() {
+            // given
+            List<String> ids = Collections.nCopies(TaskQueryHandlerImpl.MAX_BATCH_GET_SIZE + 1, "00000000f6b5a229daa5525c");
+
+            // when
+            Exception exception = catchException(() -> taskQueryHandler.handle(new BatchGetTasksQuery(USER_ID, ids)));
+
+            // then
+            assertThat(exception)
+                    .isInstanceOf(InvalidBatchSizeException.class)
+                    .hasMessage("Cannot get more than 1000 tasks at once");
+        }
+    }
+
+    @Nested
+    @DisplayName("Use case: Get available tasks")
     class GetAvailableTasksUseCase {
 
         @Test
-        @DisplayName("should return all tasks")
+        @DisplayName("should return all tasks when they fit into one page")
         void shouldReturnAllTasks() {
             // given
             taskCommandRepository.save(Sample.task("I need to do something"));
             taskCommandRepository.save(Sample.task("Or maybe not"));
 
             // when
-            List<TaskData> actualResult = taskQueryHandler.handle(new GetAvailableTasksQuery());
+            TaskPageData actualResult = taskQueryHandler.handle(new GetAvailableTasksQuery(USER_ID, null, null));
 
             // then
-            assertThat(actualResult).hasSize(2);
-            assertThat(actualResult.get(0)).satisfies(taskData -> {
+            assertThat(actualResult.tasks()).hasSize(2);
+            assertThat(actualResult.tasks().get(0)).satisfies(taskData -> {
                 assertThat(taskData.title()).isEqualTo("I need to do something");
             });
-            assertThat(actualResult.get(1)).satisfies(taskData -> {
+            assertThat(actualResult.tasks().get(1)).satisfies(taskData -> {
                 assertThat(taskData.title()).isEqualTo("Or maybe not");
             });
+            assertThat(actualResult.nextPageToken()).isNull();
+        }
+
+        @Test
+        @DisplayName("should return only tasks of the requested user")
+        void shouldReturnOnlyTasksOfRequestedUser() {
+            // given
+            taskCommandRepository.save(Sample.task("Mine"));
+            taskCommandRepository.save(Sample.task("Someone else's", UserId.from("someone-else")));
+
+            // when
+            TaskPageData actualResult = taskQueryHandler.handle(new GetAvailableTasksQuery(USER_ID, null, null));
+
+            // then
+            assertThat(actualResult.tasks())
+                    .extracting(TaskData::title)
+                    .containsExactly("Mine");
+        }
+
+        @Test
+        @DisplayName("should return tasks of the anonymous user when no user is given")
+        void shouldReturnTasksOfAnonymousUser_whenNoUserGiven() {
+            // given
+            taskCommandRepository.save(Sample.task("Identified"));
+            taskCommandRepository.save(Sample.task("Anonymous", UserId.ANONYMOUS));
+
+            // when
+            TaskPageData actualResult = taskQueryHandler.handle(new GetAvailableTasksQuery());
+
+            // then
+            assertThat(actualResult.tasks())
+                    .extracting(TaskData::title)
+                    .containsExactly("Anonymous");
         }
 
         @Test
         @DisplayName("should return empty list when no tasks")
         void shouldReturnEmptyList_whenNoTasks() {
             // when
-            List<TaskData> actualResult = taskQueryHandler.handle(new GetAvailableTasksQuery());
+            TaskPageData actualResult = taskQueryHandler.handle(new GetAvailableTasksQuery(USER_ID, null, null));
+
+            // then
+            assertThat(actualResult.tasks()).isEmpty();
+            assertThat(actualResult.nextPageToken()).isNull();
+        }
+
+        @Test
+        @DisplayName("should return next page token when there are more tasks than page size")
+        void shouldReturnNextPageToken_whenMoreTasksThanPageSize() {
+            // given
+            taskCommandRepository.save(Sample.task("Task 1"));
+            taskCommandRepository.save(Sample.task("Task 2"));
+            taskCommandRepository.save(Sample.task("Task 3"));
+
+            // when
+            TaskPageData actualResult = taskQueryHandler.handle(new GetAvailableTasksQuery(USER_ID, 2, null));
+
+            // then
+            assertThat(actualResult.tasks())
+                    .extracting(TaskData::title)
+                    .containsExactly("Task 1", "Task 2");
+            assertThat(actualResult.nextPageToken()).isNotBlank();
+        }
+
+        @Test
+        @DisplayName("should continue from the page token")
+        void shouldContinueFromPageToken() {
+            // given
+            taskCommandRepository.save(Sample.task("Task 1"));
+            taskCommandRepository.save(Sample.task("Task 2"));
+            taskCommandRepository.save(Sample.task("Task 3"));
+            TaskPageData firstPage = taskQueryHandler.handle(new GetAvailableTasksQuery(USER_ID, 2, null));
+
+            // when
+            TaskPageData actualResult = taskQueryHandler.handle(new GetAvailableTasksQuery(USER_ID, 2, firstPage.nextPageToken()));
+
+            // then
+            assertThat(actualResult.tasks())
+                    .extracting(TaskData::title)
+                    .containsExactly("Task 3");
+            assertThat(actualResult.nextPageToken()).isNull();
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {0, -1})
+        @DisplayName("should throw exception when page size is not positive")
+        void shouldThrowException_whenPageSizeNotPositive(int pageSize) {
+            // when
+            Exception exception = catchException(() -> taskQueryHandler.handle(new GetAvailableTasksQuery(pageSize, null)));
+
+            // then
+            assertThat(exception)
+                    .isInstanceOf(InvalidPageSizeException.class)
+                    .hasMessage("Page size must be positive");
+        }
+
+        @Test
+        @DisplayName("should throw exception when page token is malformed")
+        void shouldThrowException_whenPageTokenMalformed() {
+            // when
+            Exception exception = catchException(() -> taskQueryHandler.handle(new GetAvailableTasksQuery(10, "<invalid>")));
+
+            // then
+            assertThat(exception)
+                    .isInstanceOf(InvalidPageTokenException.class)
+                    .hasMessage("Page token is invalid");
+        }
+
+        @Test
+        @DisplayName("should return only tasks with any of the requested tags")
+        void shouldReturnOnlyTasksWithAnyRequestedTag() {
+            // given
+            taskCommandRepository.save(tagged("Work", "work"));
+            taskCommandRepository.save(tagged("Home", "home"));
+            taskCommandRepository.save(Sample.task("Untagged"));
+
+            // when
+            TaskPageData actualResult = taskQueryHandler.handle(
+                    new GetAvailableTasksQuery(USER_ID, null, null, null, List.of("work", "home"), false, null, false));
+
+            // then
+            assertThat(actualResult.tasks())
+                    .extracting(TaskData::title)
+                    .containsExactly("Work", "Home");
+        }
+
+        @Test
+        @DisplayName("should return only tasks with all of the requested tags")
+        void shouldReturnOnlyTasksWithAllRequestedTags() {
+            // given
+            taskCommandRepository.save(tagged("Urgent work", "work", "urgent"));
+            taskCommandRepository.save(tagged("Work", "work"));
+
+            // when
+            TaskPageData actualResult = taskQueryHandler.handle(
+                    new GetAvailableTasksQuery(USER_ID, null, null, null, List.of("work", "urgent"), true, null, false));
 
             // then
-            assertThat(actualResult).isEmpty();
+            assertThat(actualResult.tasks())
+                    .extracting(TaskData::title)
+                    .containsExactly("Urgent work");
+        }
+
+        @Test
+        @DisplayName("should return only not completed tasks with the title prefix, newest first")
+        void shouldReturnFilteredTasksNewestFirst() {
+            // given
+            Task completedTask = Sample.task("Buy milk");
+            completedTask.markComplete();
+            taskCommandRepository.save(completedTask);
+            taskCommandRepository.save(Sample.task("Buy bread"));
+            taskCommandRepository.save(Sample.task("Buy eggs"));
+            taskCommandRepository.save(Sample.task("Sell car"));
+
+            // when
+            TaskPageData actualResult = taskQueryHandler.handle(
+                    new GetAvailableTasksQuery(USER_ID, null, null, false, List.of(), false, "Buy", true));
+
+            // then
+            assertThat(actualResult.tasks())
+                    .extracting(TaskData::title)
+                    .containsExactly("Buy eggs", "Buy bread");
+        }
+
+        @Test
+        @DisplayName("should throw exception when tag is blank")
+        void shouldThrowException_whenTagBlank() {
+            // when
+            Exception exception = catchException(() -> taskQueryHandler.handle(
+                    new GetAvailableTasksQuery(USER_ID, null, null, null, List.of(" "), false, null, false)));
+
+            // then
+            assertThat(exception)
+                    .isInstanceOf(InvalidTagIdException.class)
+                    .hasMessage("Tag ID cannot be empty");
+        }
+    }
+
+    @Nested
+    @DisplayName("Use case: Stream available tasks")
+    class StreamAvailableTasksUseCase {
+
+        @Test
+        @DisplayName("should stream all tasks")
+        void shouldStreamAllTasks() {
+            // given
+            taskCommandRepository.save(Sample.task("I need to do something"));
+            taskCommandRepository.save(Sample.task("Or maybe not"));
+
+            // when
+            try (Stream<TaskData> actualResult = taskQueryHandler.handle(new StreamAvailableTasksQuery(USER_ID, null))) {
+
+                // then
+                assertThat(actualResult)
+                        .extracting(TaskData::title)
+                        .containsExactly("I need to do something", "Or maybe not");
+            }
+        }
+
+        @Test
+        @DisplayName("should stream only tasks with requested completion")
+        void shouldStreamOnlyTasksWithRequestedCompletion() {
+            // given
+            Task completedTask = Sample.task("Already done");
+            completedTask.markComplete();
+            taskCommandRepository.save(completedTask);
+            taskCommandRepository.save(Sample.task("Still to do"));
+
+            // when
+            try (Stream<TaskData> actualResult = taskQueryHandler.handle(new StreamAvailableTasksQuery(USER_ID, true))) {
+
+                // then
+                assertThat(actualResult)
+                        .extracting(TaskData::title)
+                        .containsExactly("Already done");
+            }
+        }
+
+        @Test
+        @DisplayName("should stream only tagged tasks with requested completion")
+        void shouldStreamOnlyTaggedTasksWithRequestedCompletion() {
+            // given
+            Task completedTask = tagged("Done at work", "work");
+            completedTask.markComplete();
+            taskCommandRepository.save(completedTask);
+            taskCommandRepository.save(tagged("To do at work", "work"));
+            taskCommandRepository.save(Sample.task("To do elsewhere"));
+
+            // when
+            try (Stream<TaskData> actualResult = taskQueryHandler.handle(
+                    new StreamAvailableTasksQuery(USER_ID, false, List.of("work"), false, null, false))) {
+
+                // then
+                assertThat(actualResult)
+                        .extracting(TaskData::title)
+                        .containsExactly("To do at work");
+            }
+        }
+
+        @Test
+        @DisplayName("should stream only tasks of the requested user")
+        void shouldStreamOnlyTasksOfRequestedUser() {
+            // given
+            taskCommandRepository.save(Sample.task("Mine"));
+            taskCommandRepository.save(Sample.task("Someone else's", UserId.from("someone-else")));
+
+            // when
+            try (Stream<TaskData> actualResult = taskQueryHandler.handle(new StreamAvailableTasksQuery(USER_ID, null))) {
+
+                // then
+                assertThat(actualResult)
+                        .extracting(TaskData::title)
+                        .containsExactly("Mine");
+            }
+        }
+
+        @Test
+        @DisplayName("should return empty stream when no tasks")
+        void shouldReturnEmptyStream_whenNoTasks() {
+            // when
+            try (Stream<TaskData> actualResult = taskQueryHandler.handle(new StreamAvailableTasksQuery(USER_ID, null))) {
+
+                // then
+                assertThat(actualResult).isEmpty();
+            }
         }
     }
 
@@ -128,4 +453,10 @@ class TaskQueryHandlerImplTest {
         return new TaskCommandRepositoryMock();
     }
 
-}
\ No newline at end of file
+
+    private static Task tagged(String title, String... tags) {
+        Task task = Sample.task(title);
+        task.addTags(Stream.of(tags).map(TagId::from).toArray(TagId[]::new));
+        return task;
+    }
+}
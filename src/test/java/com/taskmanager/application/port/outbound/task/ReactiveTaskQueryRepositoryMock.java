@@ -0,0 +1,17 @@
+package com.taskmanager.application.port.outbound.task;
+
+import com.taskmanager.application.domain.task.TaskView;
+import com.taskmanager.application.domain.user.valueobject.UserId;
+import io.micronaut.core.annotation.NonNull;
+import reactor.core.publisher.Flux;
+
+public class ReactiveTaskQueryRepositoryMock extends TaskRepositoryMock implements ReactiveTaskQueryRepository {
+
+    private final TaskQueryRepositoryMock delegate = new TaskQueryRepositoryMock();
+
+    @Override
+    public @NonNull Flux<TaskView> findViews(@NonNull UserId userId, @NonNull TaskFilter filter) {
+        return Flux.defer(() -> Flux.fromStream(delegate.streamViews(userId, filter)));
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.taskmanager.application.port.outbound.task;
+
+import com.taskmanager.application.domain.task.Tag;
+import com.taskmanager.application.domain.task.state.TagState;
+import com.taskmanager.application.domain.task.valueobject.TagId;
+import io.micronaut.core.annotation.NonNull;
+import org.bson.types.ObjectId;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class TagRepositoryMock implements TagRepository {
+
+    private final Map<String, TagState> tags = new LinkedHashMap<>();
+    private int lookups;
+
+    /**
+     * The number of reads made so far, to tell whether a caller was served without asking the repository.
+     */
+    public int getLookups() {
+        return lookups;
+    }
+
+    @Override
+    public @NonNull Tag save(@NonNull Tag tag) {
+        TagState state = tag.toState();
+        if (state.id() == null) {
+            state = TagState.builder()
+                    .id(new ObjectId().toHexString())
+                    .name(state.name())
+                    .description(state.description())
+                    .build();
+        }
+        tags.put(state.id(), state);
+        return Tag.fromState(state);
+    }
+
+    @Override
+    public @NonNull Optional<Tag> findById(@NonNull TagId id) {
+        lookups++;
+        return Optional.ofNullable(tags.get(id.value())).map(Tag::fromState);
+    }
+
+    @Override
+    public @NonNull Map<TagId, Tag> findAllById(@NonNull Collection<TagId> ids) {
+        lookups++;
+        Map<TagId, Tag> found = new HashMap<>();
+        ids.forEach(id -> Optional.ofNullable(tags.get(id.value())).ifPresent(tag -> found.put(id, Tag.fromState(tag))));
+        return found;
+    }
+
+    @Override
+    public @NonNull List<Tag> findAll() {
+        lookups++;
+        return tags.values().stream()
+                .sorted(Comparator.comparing(TagState::id))
+                .map(Tag::fromState)
+                .toList();
+    }
+
+    @Override
+    public void delete(@NonNull TagId id) {
+        tags.remove(id.value());
+    }
+}
@@ -1,25 +1,65 @@
 package com.taskmanager.application.port.outbound.task;
 
 import com.taskmanager.application.domain.task.Task;
+import com.taskmanager.application.domain.task.exception.TaskConcurrentModificationException;
 import com.taskmanager.application.domain.task.state.TaskState;
 import com.taskmanager.application.domain.task.valueobject.TaskId;
+import com.taskmanager.application.domain.task.valueobject.TaskStatus;
+import com.taskmanager.application.domain.user.valueobject.UserId;
 import io.micronaut.core.annotation.NonNull;
 import org.bson.types.ObjectId;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
 
 public class TaskCommandRepositoryMock extends TaskRepositoryMock implements TaskCommandRepository {
 
+    private int concurrentModificationsToSimulate;
+
     public TaskCommandRepositoryMock() {
         resetRepositoryState();
     }
 
+    /**
+     * Makes the next given number of saves of existing tasks behave as if someone else modified the task first.
+     */
+    public void simulateConcurrentModifications(int count) {
+        this.concurrentModificationsToSimulate = count;
+    }
+
     @Override
-    public @NonNull Optional<Task> findById(@NonNull TaskId id) {
+    public @NonNull Optional<Task> findById(@NonNull UserId userId, @NonNull TaskId id) {
         return Optional.ofNullable(tasks.get(id.value()))
+                .filter(task -> task.userId().equals(userId.value()))
                 .map(Task::fromState);
     }
 
+    @Override
+    public @NonNull List<Task> findAllById(@NonNull UserId userId, @NonNull Collection<TaskId> ids) {
+        return ids.stream()
+                .map(id -> tasks.get(id.value().toLowerCase(Locale.ROOT))) // IDs are matched regardless of case, as in the database
+                .filter(Objects::nonNull)
+                .filter(task -> task.userId().equals(userId.value()))
+                .map(Task::fromState)
+                .toList();
+    }
+
+    @Override
+    public @NonNull List<TaskWriteResult> saveAll(@NonNull List<Task> tasks) {
+        return tasks.stream()
+                .map(task -> {
+                    try {
+                        return TaskWriteResult.saved(save(task));
+                    } catch (TaskConcurrentModificationException e) {
+                        return TaskWriteResult.failed(e);
+                    }
+                })
+                .toList();
+    }
+
     @Override
     public @NonNull Task save(@NonNull Task task) {
         TaskState state = task.toState();
@@ -27,11 +67,35 @@ public class TaskCommandRepositoryMock extends TaskRepositoryMock implements Tas
             state = TaskState.copy(state)
                     .id(new ObjectId().toHexString())
                     .build();
+        } else {
+            if (concurrentModificationsToSimulate > 0) {
+                concurrentModificationsToSimulate--;
+                tasks.computeIfPresent(state.id(), (id, stored) -> TaskState.copy(stored).version(stored.version() + 1).build());
+            }
+            TaskState stored = tasks.get(state.id());
+            if (stored == null || stored.version() != state.version()) {
+                throw new TaskConcurrentModificationException(TaskId.from(state.id()));
+            }
+            state = TaskState.copy(state)
+                    .version(state.version() + 1)
+                    .build();
         }
         tasks.put(state.id(), state);
         return Task.fromState(state);
     }
 
+    @Override
+    public long completeAll(@NonNull UserId userId, @NonNull TaskFilter filter) {
+        String completed = TaskStatus.COMPLETED.name();
+        List<TaskState> completedTasks = tasks.values().stream()
+                .filter(task -> matches(task, userId, filter))
+                .filter(task -> !task.status().equals(completed))
+                .map(task -> TaskState.copy(task).status(completed).version(task.version() + 1).build())
+                .toList();
+        completedTasks.forEach(task -> tasks.put(task.id(), task));
+        return completedTasks.size();
+    }
+
     @Override
     public void delete(@NonNull Task task) {
         TaskState state = task.toState();
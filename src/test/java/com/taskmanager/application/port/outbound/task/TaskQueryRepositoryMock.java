@@ -1,34 +1,84 @@
 package com.taskmanager.application.port.outbound.task;
 
 import com.taskmanager.application.domain.task.Task;
+import com.taskmanager.application.domain.task.TaskView;
+import com.taskmanager.application.domain.task.state.TaskState;
 import com.taskmanager.application.domain.task.valueobject.TaskStatus;
 import com.taskmanager.application.domain.task.valueobject.TaskId;
+import com.taskmanager.application.domain.user.valueobject.UserId;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class TaskQueryRepositoryMock extends TaskRepositoryMock implements TaskQueryRepository {
 
     @Override
-    public @NonNull Optional<Task> findById(@NonNull TaskId id) {
-        return Optional.ofNullable(tasks.get(id.value()))
-                .map(Task::fromState);
+    public @NonNull Optional<Task> findById(@NonNull UserId userId, @NonNull TaskId id) {
+        return findAnyUsersTaskById(id)
+                .filter(task -> task.getUserId().equals(userId));
     }
 
     @Override
-    public @NonNull List<Task> findAll() {
-        return tasks.values().stream()
+    public @NonNull List<Task> findAllById(@NonNull UserId userId, @NonNull Collection<TaskId> ids) {
+        Set<String> wantedIds = ids.stream().map(TaskId::value).collect(Collectors.toSet());
+        return tasks.values().stream() // in storage order, like an $in query
+                .filter(task -> task.userId().equals(userId.value()))
+                .filter(task -> wantedIds.contains(task.id()))
                 .map(Task::fromState)
                 .toList();
     }
 
     @Override
-    public @NonNull List<Task> findByStatus(@NonNull TaskStatus status) {
+    public @NonNull Stream<Task> streamByStatus(@NonNull UserId userId, @NonNull TaskStatus status) {
         return tasks.values().stream()
+                .filter(task -> task.userId().equals(userId.value()))
                 .filter(task -> task.status().equals(status.name()))
+                .map(Task::fromState);
+    }
+
+    @Override
+    public @NonNull List<TaskView> findViewsAfter(@NonNull UserId userId, @NonNull TaskFilter filter, @Nullable TaskId lastSeenId, int limit) {
+        Comparator<TaskState> order = filter.newestFirst() ? Comparator.comparing(TaskState::id).reversed() : Comparator.comparing(TaskState::id);
+        return tasks.values().stream()
+                .filter(task -> matches(task, userId, filter))
+                .filter(task -> lastSeenId == null || (filter.newestFirst()
+                        ? task.id().compareTo(lastSeenId.value()) < 0
+                        : task.id().compareTo(lastSeenId.value()) > 0))
+                .sorted(order)
                 .map(Task::fromState)
+                .limit(limit)
+                .map(TaskQueryRepositoryMock::toView)
                 .toList();
     }
 
+    @Override
+    public @NonNull Stream<TaskView> streamViews(@NonNull UserId userId, @NonNull TaskFilter filter) {
+        return findViewsAfter(userId, filter, null, Integer.MAX_VALUE).stream();
+    }
+
+    public @NonNull Optional<Task> findAnyUsersTaskById(@NonNull TaskId id) {
+        return Optional.ofNullable(tasks.get(id.value()))
+                .map(Task::fromState);
+    }
+
+    private static TaskView toView(Task task) {
+        return new TaskView(Objects.requireNonNull(task.getId()).value(), task.getTitle().value(),
+                task.getDescription().value(), task.isCompleted());
+    }
+
+    public @NonNull Stream<Task> streamAllUsersTasks() {
+        return tasks.values().stream()
+                .map(Task::fromState)
+                .toList()
+                .stream();
+    }
+
 }
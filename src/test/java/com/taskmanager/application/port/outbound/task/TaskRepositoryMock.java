@@ -1,8 +1,12 @@
 package com.taskmanager.application.port.outbound.task;
 
 import com.taskmanager.application.domain.task.state.TaskState;
+import com.taskmanager.application.domain.task.valueobject.TagId;
+import com.taskmanager.application.domain.task.valueobject.TagMatch;
+import com.taskmanager.application.domain.user.valueobject.UserId;
 
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 public abstract class TaskRepositoryMock {
@@ -13,4 +17,15 @@ public abstract class TaskRepositoryMock {
         tasks.clear();
     }
 
+    protected static boolean matches(TaskState task, UserId userId, TaskFilter filter) {
+        List<String> tags = task.tags() == null ? List.of() : task.tags();
+        List<String> wantedTags = filter.tags().stream().map(TagId::value).toList();
+        return task.userId().equals(userId.value())
+                && (filter.status() == null || task.status().equals(filter.status().name()))
+                && (filter.titlePrefix() == null || task.title().startsWith(filter.titlePrefix()))
+                && (wantedTags.isEmpty() || (filter.tagMatch() == TagMatch.ALL
+                        ? tags.containsAll(wantedTags)
+                        : wantedTags.stream().anyMatch(tags::contains)));
+    }
+
 }
@@ -0,0 +1,75 @@
+package com.taskmanager.infrastructure.api;
+
+import com.taskmanager.application.port.outbound.asistance.ChatLanguageModelMock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
+
+@DisplayName("Chat model decorator: concurrency limit")
+class ConcurrencyLimitedChatLanguageModelTest {
+
+    @Test
+    @DisplayName("should not let more calls than the limit reach the model at once")
+    void shouldNotExceedLimit() throws Exception {
+        // given
+        SlowChatLanguageModel delegate = new SlowChatLanguageModel();
+        ConcurrencyLimitedChatLanguageModel chatModel = new ConcurrencyLimitedChatLanguageModel(delegate, 2);
+
+        // when
+        List<String> responses = new ArrayList<>();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> calls = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                calls.add(callers.submit(() -> chatModel.chat("Hello")));
+            }
+            for (Future<String> call : calls) {
+                responses.add(call.get());
+            }
+        }
+
+        // then
+        assertThat(responses).hasSize(10).containsOnly("Hello, I'm Stub. How can I help you?");
+        assertThat(delegate.maxInFlight.get()).isBetween(1, 2);
+    }
+
+    @Test
+    @DisplayName("should throw exception when limit is not positive")
+    void shouldThrowException_whenLimitNotPositive() {
+        // when
+        Exception exception = catchException(() -> new ConcurrencyLimitedChatLanguageModel(new ChatLanguageModelMock(), 0));
+
+        // then
+        assertThat(exception)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Max concurrent calls must be positive");
+    }
+
+    private static class SlowChatLanguageModel extends ChatLanguageModelMock {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        @Override
+        public String chat(String userMessage) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+                return super.chat(userMessage);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.taskmanager.infrastructure.persistence;
+
+import com.taskmanager.application.Sample;
+import com.taskmanager.application.domain.task.Task;
+import com.taskmanager.application.domain.task.exception.TaskConcurrentModificationException;
+import com.taskmanager.application.port.outbound.task.TaskCommandRepositoryMock;
+import com.taskmanager.application.port.outbound.task.TaskWriteResult;
+import io.micronaut.core.annotation.NonNull;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
+
+@DisplayName("Task repository decorator: group commit")
+class GroupCommitTaskCommandRepositoryTest {
+
+    @Test
+    @DisplayName("should write concurrent saves in one batch when batch gets full")
+    void shouldWriteConcurrentSavesInOneBatch() throws Exception {
+        // given
+        CountingTaskCommandRepository delegate = new CountingTaskCommandRepository();
+        GroupCommitTaskCommandRepository repository = new GroupCommitTaskCommandRepository(delegate, 10, Duration.ofMinutes(1));
+
+        // when
+        List<Task> savedTasks = new ArrayList<>();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Task>> saves = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                Task task = Sample.task("Task " + i);
+                saves.add(callers.submit(() -> repository.save(task)));
+            }
+            for (Future<Task> save : saves) {
+                savedTasks.add(save.get());
+            }
+        }
+
+        // then
+        assertThat(delegate.batches.get()).isEqualTo(1);
+        assertThat(savedTasks).hasSize(10).allSatisfy(task -> assertThat(task.getId()).isNotNull());
+        assertThat(savedTasks).extracting(task -> task.getTitle().value()).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("should write incomplete batch when delay passes")
+    void shouldWriteIncompleteBatch_whenDelayPasses() {
+        // given
+        CountingTaskCommandRepository delegate = new CountingTaskCommandRepository();
+        GroupCommitTaskCommandRepository repository = new GroupCommitTaskCommandRepository(delegate, 100, Duration.ofMillis(5));
+
+        // when
+        Task savedTask = repository.save(Sample.task());
+
+        // then
+        assertThat(savedTask.getId()).isNotNull();
+        assertThat(delegate.batches.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should throw exception of the caller's own task")
+    void shouldThrowException_whenOwnTaskModifiedConcurrently() {
+        // given
+        CountingTaskCommandRepository delegate = new CountingTaskCommandRepository();
+        GroupCommitTaskCommandRepository repository = new GroupCommitTaskCommandRepository(delegate, 100, Duration.ofMillis(5));
+        Task task = repository.save(Sample.task());
+        task.markComplete();
+        delegate.simulateConcurrentModifications(1);
+
+        // when
+        Exception exception = catchException(() -> repository.save(task));
+
+        // then
+        assertThat(exception).isInstanceOf(TaskConcurrentModificationException.class);
+    }
+
+    @Test
+    @DisplayName("should write save on its own after close")
+    void shouldWriteSave_whenClosed() {
+        // given
+        CountingTaskCommandRepository delegate = new CountingTaskCommandRepository();
+        GroupCommitTaskCommandRepository repository = new GroupCommitTaskCommandRepository(delegate, 100, Duration.ofMinutes(1));
+        repository.close();
+
+        // when
+        Task savedTask = repository.save(Sample.task());
+
+        // then
+        assertThat(savedTask.getId()).isNotNull();
+        assertThat(delegate.batches.get()).isEqualTo(1);
+    }
+
+    private static class CountingTaskCommandRepository extends TaskCommandRepositoryMock {
+
+        private final AtomicInteger batches = new AtomicInteger();
+
+        @Override
+        public synchronized @NonNull List<TaskWriteResult> saveAll(@NonNull List<Task> tasks) {
+            batches.incrementAndGet();
+            return super.saveAll(tasks);
+        }
+    }
+}
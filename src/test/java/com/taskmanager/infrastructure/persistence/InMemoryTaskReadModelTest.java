@@ -0,0 +1,305 @@
+package com.taskmanager.infrastructure.persistence;
+
+import com.taskmanager.application.Sample;
+import com.taskmanager.application.domain.task.Task;
+import com.taskmanager.application.domain.task.TaskView;
+import com.taskmanager.application.domain.task.event.TaskChangedEvent;
+import com.taskmanager.application.domain.task.valueobject.TaskId;
+import com.taskmanager.application.domain.task.valueobject.TaskStatus;
+import com.taskmanager.application.domain.task.valueobject.TaskTitle;
+import com.taskmanager.application.domain.user.valueobject.UserId;
+import com.taskmanager.application.port.outbound.task.TaskCommandRepositoryMock;
+import com.taskmanager.application.port.outbound.task.TaskFilter;
+import com.taskmanager.application.port.outbound.task.TaskQueryRepositoryMock;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.scheduling.TaskScheduler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Read model: in-memory tasks")
+class InMemoryTaskReadModelTest {
+
+    private final TaskCommandRepositoryMock commandRepository = new TaskCommandRepositoryMock();
+    private final TaskQueryRepositoryMock queryRepository = new TaskQueryRepositoryMock();
+    private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+    private int failingScans;
+    private Runnable afterTaskRead = () -> {};
+    private final InMemoryTaskReadModel readModel = new InMemoryTaskReadModel(queryRepository, new AllUsersTaskReader() {
+        @Override
+        public @NonNull Stream<Task> streamAllUsersTasks() {
+            if (failingScans > 0) {
+                failingScans--;
+                throw new IllegalStateException("Database unavailable");
+            }
+            return queryRepository.streamAllUsersTasks();
+        }
+
+        @Override
+        public @NonNull Optional<Task> findAnyUsersTaskById(@NonNull TaskId id) {
+            Optional<Task> task = queryRepository.findAnyUsersTaskById(id);
+            afterTaskRead.run();
+            return task;
+        }
+    }, taskScheduler);
+
+    @Nested
+    @DisplayName("Load")
+    class Load {
+
+        @Test
+        @DisplayName("should serve tasks stored before loading")
+        void shouldServeStoredTasks() {
+            // given
+            Task first = commandRepository.save(Sample.task("First"));
+            Task second = commandRepository.save(Sample.task("Second"));
+
+            // when
+            readModel.load();
+
+            // then
+            assertThat(readModel.isReady()).isTrue();
+            assertThat(tasksOf(Sample.USER_ID, TaskStatus.TODO)).extracting(Task::getId).containsExactly(first.getId(), second.getId());
+        }
+
+        @Test
+        @DisplayName("should apply changes reported while loading")
+        void shouldApplyChangesReportedWhileLoading() {
+            // given
+            Task task = commandRepository.save(Sample.task());
+            readModel.onTaskChanged(new TaskChangedEvent(Objects.requireNonNull(task.getId()).value()));
+            task.setTitle(TaskTitle.from("Updated Title"));
+            commandRepository.save(task);
+
+            // when
+            readModel.load();
+
+            // then
+            assertThat(readModel.findById(Sample.USER_ID, task.getId())).hasValueSatisfying(t -> {
+                assertThat(t.getTitle()).isEqualTo(TaskTitle.from("Updated Title"));
+            });
+        }
+
+        @Test
+        @DisplayName("should retry a failed load with a growing delay")
+        void shouldRetryFailedLoad_withGrowingDelay() {
+            // given
+            Task task = commandRepository.save(Sample.task());
+            failingScans = 2;
+
+            // when
+            readModel.load();
+            runScheduledLoad(Duration.ofSeconds(1));
+            runScheduledLoad(Duration.ofSeconds(2));
+
+            // then
+            assertThat(readModel.isReady()).isTrue();
+            assertThat(tasksOf(Sample.USER_ID, TaskStatus.TODO)).extracting(Task::getId).containsExactly(task.getId());
+        }
+
+        private void runScheduledLoad(Duration delay) {
+            assertThat(readModel.isReady()).isFalse();
+            ArgumentCaptor<Runnable> load = ArgumentCaptor.forClass(Runnable.class);
+            then(taskScheduler).should().schedule(eq(delay), load.capture());
+            load.getValue().run();
+        }
+    }
+
+    @Nested
+    @DisplayName("Changes")
+    class Changes {
+
+        @Test
+        @DisplayName("should move changed task to its new status")
+        void shouldMoveChangedTaskToNewStatus() {
+            // given
+            Task task = commandRepository.save(Sample.task());
+            readModel.load();
+            task.markComplete();
+            commandRepository.save(task);
+
+            // when
+            readModel.onTaskChanged(new TaskChangedEvent(Objects.requireNonNull(task.getId()).value()));
+
+            // then
+            assertThat(tasksOf(Sample.USER_ID, TaskStatus.TODO)).isEmpty();
+            assertThat(tasksOf(Sample.USER_ID, TaskStatus.COMPLETED)).extracting(Task::getId).containsExactly(task.getId());
+        }
+
+        @Test
+        @DisplayName("should drop deleted task")
+        void shouldDropDeletedTask() {
+            // given
+            Task task = commandRepository.save(Sample.task());
+            readModel.load();
+            commandRepository.delete(task);
+
+            // when
+            readModel.onTaskChanged(new TaskChangedEvent(Objects.requireNonNull(task.getId()).value()));
+
+            // then
+            assertThat(readModel.findById(Sample.USER_ID, task.getId())).isEmpty();
+            assertThat(tasksOf(Sample.USER_ID, TaskStatus.TODO)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should not restore task deleted while it was refreshed")
+        void shouldNotRestoreTask_whenDeletedDuringRefresh() {
+            // given
+            Task task = commandRepository.save(Sample.task());
+            readModel.load();
+            task.markComplete();
+            commandRepository.save(task);
+            TaskChangedEvent change = new TaskChangedEvent(Objects.requireNonNull(task.getId()).value());
+            afterTaskRead = () -> {
+                afterTaskRead = () -> {};
+                commandRepository.delete(task);
+                readModel.onTaskChanged(change);
+            };
+
+            // when
+            readModel.onTaskChanged(change);
+
+            // then
+            assertThat(readModel.findById(Sample.USER_ID, task.getId())).isEmpty();
+            assertThat(tasksOf(Sample.USER_ID, TaskStatus.COMPLETED)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should refresh task of the owner named by the change")
+        void shouldRefreshTaskOfOwnerNamedByChange() {
+            // given
+            Task task = commandRepository.save(Sample.task());
+            readModel.load();
+            task.setTitle(TaskTitle.from("Updated Title"));
+            commandRepository.save(task);
+
+            // when
+            readModel.onTaskChanged(new TaskChangedEvent(Objects.requireNonNull(task.getId()).value(), Sample.USER_ID.value()));
+
+            // then
+            assertThat(readModel.findById(Sample.USER_ID, task.getId())).hasValueSatisfying(t -> {
+                assertThat(t.getTitle()).isEqualTo(TaskTitle.from("Updated Title"));
+            });
+        }
+
+        @Test
+        @DisplayName("should add created task")
+        void shouldAddCreatedTask() {
+            // given
+            readModel.load();
+            Task task = commandRepository.save(Sample.task());
+
+            // when
+            readModel.onTaskChanged(new TaskChangedEvent(Objects.requireNonNull(task.getId()).value()));
+
+            // then
+            assertThat(tasksOf(Sample.USER_ID, TaskStatus.TODO)).extracting(Task::getId).containsExactly(task.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("should serve tasks of the requested user only")
+    void shouldServeTasksOfRequestedUserOnly() {
+        // given
+        Task ownTask = commandRepository.save(Sample.task("Own"));
+        Task anonymousTask = commandRepository.save(Sample.task("Anonymous", UserId.ANONYMOUS));
+        readModel.load();
+
+        // when / then
+        assertThat(tasksOf(Sample.USER_ID, TaskStatus.TODO)).extracting(Task::getId).containsExactly(ownTask.getId());
+        assertThat(tasksOf(UserId.ANONYMOUS, TaskStatus.TODO)).extracting(Task::getId).containsExactly(anonymousTask.getId());
+        assertThat(tasksOf(UserId.from(Sample.USER_ID.value().toUpperCase()), TaskStatus.TODO)).extracting(Task::getId)
+                .containsExactly(ownTask.getId());
+        assertThat(tasksOf(UserId.from("nobody"), TaskStatus.TODO)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should serve views of the requested user's tasks")
+    void shouldServeViews() {
+        // given
+        Task first = commandRepository.save(Sample.task("First"));
+        Task second = commandRepository.save(Sample.task("Second"));
+        commandRepository.save(Sample.task("Anonymous", UserId.ANONYMOUS));
+        readModel.load();
+
+        // when / then
+        assertThat(readModel.findViewsAfter(Sample.USER_ID, TaskFilter.NONE, first.getId(), 10))
+                .containsExactly(new TaskView(Objects.requireNonNull(second.getId()).value(), "Second", second.getDescription().value(), false));
+        try (Stream<TaskView> views = readModel.streamViews(Sample.USER_ID, TaskFilter.byStatus(TaskStatus.TODO))) {
+            assertThat(views.map(TaskView::title).toList()).containsExactly("First", "Second");
+        }
+    }
+
+    @Test
+    @DisplayName("should read from the delegate until loaded")
+    void shouldReadFromDelegate_untilLoaded() {
+        // given
+        Task task = commandRepository.save(Sample.task());
+
+        // when
+        List<Task> tasks = tasksOf(Sample.USER_ID, TaskStatus.TODO);
+
+        // then
+        assertThat(readModel.isReady()).isFalse();
+        assertThat(tasks).extracting(Task::getId).containsExactly(task.getId());
+    }
+
+    @Test
+    @DisplayName("should not serve task by ID to another user")
+    void shouldNotServeTaskById_toAnotherUser() {
+        // given
+        Task task = commandRepository.save(Sample.task());
+        readModel.load();
+
+        // when / then
+        assertThat(readModel.findById(UserId.from("someone-else"), Objects.requireNonNull(task.getId()))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should read task by ID in any spelling")
+    void shouldReadTaskById_inAnySpelling() {
+        // given
+        Task task = commandRepository.save(Sample.task());
+        readModel.load();
+
+        // when / then
+        assertThat(readModel.findById(Sample.USER_ID, TaskId.from(Objects.requireNonNull(task.getId()).value().toUpperCase()))).isPresent();
+    }
+
+    @Test
+    @DisplayName("should serve tasks by IDs of the requested user only")
+    void shouldServeTasksByIds_ofRequestedUserOnly() {
+        // given
+        Task ownTask = commandRepository.save(Sample.task("Own"));
+        Task foreignTask = commandRepository.save(Sample.task("Someone else's", UserId.from("someone-else")));
+        readModel.load();
+
+        // when
+        List<Task> tasks = readModel.findAllById(Sample.USER_ID, List.of(
+                Objects.requireNonNull(foreignTask.getId()),
+                TaskId.from(Objects.requireNonNull(ownTask.getId()).value().toUpperCase()),
+                TaskId.from("<invalid>")));
+
+        // then
+        assertThat(tasks).extracting(Task::getId).containsExactly(ownTask.getId());
+    }
+
+    private List<Task> tasksOf(UserId userId, TaskStatus status) {
+        try (Stream<Task> tasks = readModel.streamByStatus(userId, status)) {
+            return tasks.toList();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.taskmanager.infrastructure.persistence;
+
+import com.taskmanager.application.domain.task.Tag;
+import com.taskmanager.application.domain.task.valueobject.TagId;
+import com.taskmanager.infrastructure.persistence.util.MongoDbExtension;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MongoDbExtension.class)
+@MicronautTest(startApplication = false)
+@DisplayName("Adapter: MongoDB Tag Repository")
+class MongoDbTagRepositoryAdapterTest {
+
+    @Inject
+    MongoDbTagRepositoryAdapter mongoDbTagRepositoryAdapter;
+
+    @Nested
+    @DisplayName("Save tag")
+    class SaveTag {
+
+        @Test
+        @DisplayName("should save new tag with generated ID")
+        void shouldSaveNewTag() {
+            // given
+            Tag newTag = new Tag("work");
+            newTag.setDescription("Things to do at work");
+
+            // when
+            Tag savedTag = mongoDbTagRepositoryAdapter.save(newTag);
+
+            // then
+            assertThat(savedTag.getId()).isNotNull();
+            assertThat(mongoDbTagRepositoryAdapter.findById(savedTag.getId())).hasValueSatisfying(tag -> {
+                assertThat(tag.getName()).isEqualTo("work");
+                assertThat(tag.getDescription()).isEqualTo("Things to do at work");
+            });
+        }
+
+        @Test
+        @DisplayName("should update existing tag")
+        void shouldUpdateExistingTag() {
+            // given
+            Tag savedTag = mongoDbTagRepositoryAdapter.save(new Tag("work"));
+            savedTag.setName("office");
+
+            // when
+            mongoDbTagRepositoryAdapter.save(savedTag);
+
+            // then
+            assertThat(mongoDbTagRepositoryAdapter.findAll()).singleElement()
+                    .satisfies(tag -> assertThat(tag.getName()).isEqualTo("office"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Find tags")
+    class FindTags {
+
+        @Test
+        @DisplayName("should find tags by IDs in one lookup and skip missing ones")
+        void shouldFindTagsByIds() {
+            // given
+            Tag work = mongoDbTagRepositoryAdapter.save(new Tag("work"));
+            Tag home = mongoDbTagRepositoryAdapter.save(new Tag("home"));
+            mongoDbTagRepositoryAdapter.save(new Tag("hobby"));
+
+            // when
+            Map<TagId, Tag> actualResult = mongoDbTagRepositoryAdapter.findAllById(List.of(work.getId(), home.getId(), TagId.from("missing")));
+
+            // then
+            assertThat(actualResult).containsOnlyKeys(work.getId(), home.getId());
+        }
+
+        @Test
+        @DisplayName("should not find deleted tag")
+        void shouldNotFindDeletedTag() {
+            // given
+            Tag savedTag = mongoDbTagRepositoryAdapter.save(new Tag("work"));
+
+            // when
+            mongoDbTagRepositoryAdapter.delete(savedTag.getId());
+
+            // then
+            assertThat(mongoDbTagRepositoryAdapter.findById(savedTag.getId())).isEmpty();
+        }
+    }
+}
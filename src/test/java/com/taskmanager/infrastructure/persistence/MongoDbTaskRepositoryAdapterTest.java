@@ -1,22 +1,50 @@
 package com.taskmanager.infrastructure.persistence;
 
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.ServerAddress;
+import com.mongodb.TaggableReadPreference;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
 import com.taskmanager.application.Sample;
 import com.taskmanager.application.domain.task.Task;
+import com.taskmanager.application.domain.task.TaskView;
+import com.taskmanager.application.domain.task.exception.InvalidTaskIdException;
+import com.taskmanager.application.domain.task.exception.TaskConcurrentModificationException;
+import com.taskmanager.application.domain.task.valueobject.TagId;
+import com.taskmanager.application.domain.task.valueobject.TagMatch;
 import com.taskmanager.application.domain.task.valueobject.TaskDescription;
 import com.taskmanager.application.domain.task.valueobject.TaskId;
+import com.taskmanager.application.domain.task.valueobject.TaskStatus;
 import com.taskmanager.application.domain.task.valueobject.TaskTitle;
+import com.taskmanager.application.domain.user.valueobject.UserId;
+import com.taskmanager.application.port.outbound.task.TaskFilter;
+import com.taskmanager.application.port.outbound.task.TaskWriteResult;
+import com.taskmanager.infrastructure.persistence.config.MongoDbTaskRepositoryConfig;
+import com.taskmanager.infrastructure.persistence.config.ShardingConfig;
 import com.taskmanager.infrastructure.persistence.util.MongoDbExtension;
+import io.micronaut.configuration.mongo.core.DefaultMongoConfiguration;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
 import static org.junit.jupiter.api.Assertions.assertAll;
 
 @ExtendWith(MongoDbExtension.class)
@@ -27,6 +55,12 @@ class MongoDbTaskRepositoryAdapterTest {
     @Inject
     MongoDbTaskRepositoryAdapter mongoDbTaskRepositoryAdapter;
 
+    @Inject
+    MongoClient mongoClient;
+
+    @Inject
+    DefaultMongoConfiguration mongoConfiguration;
+
     @Nested
     @DisplayName("Save task")
     class SaveTask {
@@ -50,7 +84,7 @@ class MongoDbTaskRepositoryAdapterTest {
             });
 
             assertAll("The task is saved in the repository", () -> {
-                Optional<Task> foundTask = mongoDbTaskRepositoryAdapter.findById(TaskId.from(savedTask.getId().value()));
+                Optional<Task> foundTask = mongoDbTaskRepositoryAdapter.findById(Sample.USER_ID, TaskId.from(savedTask.getId().value()));
                 assertThat(foundTask).isPresent().hasValueSatisfying(task -> {
                     assertThat(task.getId()).isNotNull();
                     assertThat(task.getUserId()).isEqualTo(newTask.getUserId());
@@ -85,7 +119,7 @@ class MongoDbTaskRepositoryAdapterTest {
             });
 
             assertAll("The task is saved in the repository", () -> {
-                Optional<Task> foundTask = mongoDbTaskRepositoryAdapter.findById(TaskId.from(savedTask.getId().value()));
+                Optional<Task> foundTask = mongoDbTaskRepositoryAdapter.findById(Sample.USER_ID, TaskId.from(savedTask.getId().value()));
                 assertThat(foundTask).isPresent().hasValueSatisfying(task -> {
                     assertThat(task.getId()).isNotNull();
                     assertThat(task.getUserId()).isEqualTo(taskToUpdate.getUserId());
@@ -95,6 +129,171 @@ class MongoDbTaskRepositoryAdapterTest {
                 });
             });
         }
+
+        @Test
+        @SuppressWarnings("DataFlowIssue")
+        @DisplayName("should reject saving task modified concurrently")
+        void shouldRejectSave_whenTaskModifiedConcurrently() {
+            // given
+            Task savedTask = mongoDbTaskRepositoryAdapter.save(Sample.task());
+            Task firstCopy = mongoDbTaskRepositoryAdapter.findById(Sample.USER_ID, savedTask.getId()).orElseThrow();
+            Task secondCopy = mongoDbTaskRepositoryAdapter.findById(Sample.USER_ID, savedTask.getId()).orElseThrow();
+
+            firstCopy.setTitle(TaskTitle.from("Updated Title"));
+            mongoDbTaskRepositoryAdapter.save(firstCopy);
+            secondCopy.markComplete();
+
+            // when
+            Exception exception = catchException(() -> mongoDbTaskRepositoryAdapter.save(secondCopy));
+
+            // then
+            assertThat(exception).isInstanceOf(TaskConcurrentModificationException.class);
+            assertThat(mongoDbTaskRepositoryAdapter.findById(Sample.USER_ID, savedTask.getId())).hasValueSatisfying(task -> {
+                assertThat(task.getTitle()).isEqualTo(TaskTitle.from("Updated Title"));
+                assertThat(task.isCompleted()).isFalse();
+                assertThat(task.getVersion()).isEqualTo(1);
+            });
+        }
+
+        @Test
+        @SuppressWarnings("DataFlowIssue")
+        @DisplayName("should save task loaded after concurrent modification")
+        void shouldSave_whenTaskReloadedAfterConcurrentModification() {
+            // given
+            Task savedTask = mongoDbTaskRepositoryAdapter.save(Sample.task());
+            Task firstCopy = mongoDbTaskRepositoryAdapter.findById(Sample.USER_ID, savedTask.getId()).orElseThrow();
+            firstCopy.setTitle(TaskTitle.from("Updated Title"));
+            mongoDbTaskRepositoryAdapter.save(firstCopy);
+
+            Task reloaded = mongoDbTaskRepositoryAdapter.findById(Sample.USER_ID, savedTask.getId()).orElseThrow();
+            reloaded.markComplete();
+
+            // when
+            Task result = mongoDbTaskRepositoryAdapter.save(reloaded);
+
+            // then
+            assertThat(result.getVersion()).isEqualTo(2);
+            assertThat(mongoDbTaskRepositoryAdapter.findById(Sample.USER_ID, savedTask.getId())).hasValueSatisfying(task -> {
+                assertThat(task.getTitle()).isEqualTo(TaskTitle.from("Updated Title"));
+                assertThat(task.isCompleted()).isTrue();
+            });
+        }
+    }
+
+    @Nested
+    @DisplayName("Save tasks in bulk")
+    class SaveAllTasks {
+
+        @Test
+        @SuppressWarnings("DataFlowIssue")
+        @DisplayName("should insert new and update existing tasks")
+        void shouldInsertAndUpdateTasks() {
+            // given
+            Task existingTask = mongoDbTaskRepositoryAdapter.save(Sample.task("Existing"));
+            existingTask.markComplete();
+
+            // when
+            List<TaskWriteResult> results = mongoDbTaskRepositoryAdapter.saveAll(List.of(Sample.task("New"), existingTask));
+
+            // then
+            assertThat(results).allMatch(TaskWriteResult::isSaved);
+            assertThat(results.get(0).task().getId()).isNotNull();
+            assertThat(results.get(1).task().getVersion()).isEqualTo(1);
+            assertThat(mongoDbTaskRepositoryAdapter.findById(Sample.USER_ID, results.get(0).task().getId())).hasValueSatisfying(task -> {
+                assertThat(task.getTitle()).isEqualTo(TaskTitle.from("New"));
+            });
+            assertThat(mongoDbTaskRepositoryAdapter.findById(Sample.USER_ID, existingTask.getId())).hasValueSatisfying(task -> {
+                assertThat(task.isCompleted()).isTrue();
+            });
+        }
+
+        @Test
+        @SuppressWarnings("DataFlowIssue")
+        @DisplayName("should report conflict only for task modified concurrently")
+        void shouldReportConflict_whenTaskModifiedConcurrently() {
+            // given
+            Task staleTask = mongoDbTaskRepositoryAdapter.save(Sample.task("Stale"));
+            Task freshTask = mongoDbTaskRepositoryAdapter.save(Sample.task("Fresh"));
+            Task concurrentCopy = mongoDbTaskRepositoryAdapter.findById(Sample.USER_ID, staleTask.getId()).orElseThrow();
+            concurrentCopy.setTitle(TaskTitle.from("Updated Title"));
+            mongoDbTaskRepositoryAdapter.save(concurrentCopy);
+
+            staleTask.markComplete();
+            freshTask.markComplete();
+
+            // when
+            List<TaskWriteResult> results = mongoDbTaskRepositoryAdapter.saveAll(List.of(staleTask, freshTask));
+
+            // then
+            assertThat(results.get(0).error()).isInstanceOf(TaskConcurrentModificationException.class);
+            assertThat(results.get(1).isSaved()).isTrue();
+            assertThat(mongoDbTaskRepositoryAdapter.findById(Sample.USER_ID, staleTask.getId())).hasValueSatisfying(task -> {
+                assertThat(task.isCompleted()).isFalse();
+            });
+            assertThat(mongoDbTaskRepositoryAdapter.findById(Sample.USER_ID, freshTask.getId())).hasValueSatisfying(task -> {
+                assertThat(task.isCompleted()).isTrue();
+            });
+        }
+
+        @Test
+        @SuppressWarnings("DataFlowIssue")
+        @DisplayName("should store no bookkeeping fields in updated tasks")
+        void shouldStoreNoBookkeepingFields() {
+            // given
+            Task staleTask = mongoDbTaskRepositoryAdapter.save(Sample.task("Stale"));
+            Task freshTask = mongoDbTaskRepositoryAdapter.save(Sample.task("Fresh"));
+            Task concurrentCopy = mongoDbTaskRepositoryAdapter.findById(Sample.USER_ID, staleTask.getId()).orElseThrow();
+            concurrentCopy.setTitle(TaskTitle.from("Updated Title"));
+            mongoDbTaskRepositoryAdapter.save(concurrentCopy);
+            staleTask.markComplete();
+            freshTask.markComplete();
+
+            // when
+            mongoDbTaskRepositoryAdapter.saveAll(List.of(staleTask, freshTask));
+
+            // then
+            Document storedTask = mongoClient.getDatabase("task-manager").getCollection("tasks")
+                    .find(new Document("_id", new ObjectId(freshTask.getId().value()))).first();
+            assertThat(storedTask).isNotNull();
+            assertThat(storedTask.keySet()).containsExactlyInAnyOrder("_id", "userId", "title", "description", "status", "version");
+        }
+    }
+
+    @Nested
+    @DisplayName("Find tasks by IDs")
+    class FindAllTasksById {
+
+        @Test
+        @DisplayName("should return only existing tasks")
+        void shouldReturnExistingTasks() {
+            // given
+            Task first = mongoDbTaskRepositoryAdapter.save(Sample.task("First"));
+            Task second = mongoDbTaskRepositoryAdapter.save(Sample.task("Second"));
+            mongoDbTaskRepositoryAdapter.save(Sample.task("Third"));
+
+            // when
+            List<Task> result = mongoDbTaskRepositoryAdapter.findAllById(Sample.USER_ID, List.of(
+                    first.getId(), second.getId(), TaskId.from("000000000000000000000000"), TaskId.from("malformed")));
+
+            // then
+            assertThat(result)
+                    .extracting(Task::getId)
+                    .containsExactlyInAnyOrder(first.getId(), second.getId());
+        }
+
+        @Test
+        @DisplayName("should not return tasks of other users")
+        void shouldNotReturnTasksOfOtherUsers() {
+            // given
+            Task ownTask = mongoDbTaskRepositoryAdapter.save(Sample.task("Own Task"));
+            Task otherTask = mongoDbTaskRepositoryAdapter.save(Sample.task("Other Task", UserId.from("00000000f6b5a229daa5525e")));
+
+            // when
+            List<Task> result = mongoDbTaskRepositoryAdapter.findAllById(Sample.USER_ID, List.of(ownTask.getId(), otherTask.getId()));
+
+            // then
+            assertThat(result).extracting(Task::getId).containsExactly(ownTask.getId());
+        }
     }
 
     @Nested
@@ -109,7 +308,7 @@ class MongoDbTaskRepositoryAdapterTest {
             TaskId taskId = savedTask.getId();
 
             // when
-            Optional<Task> foundTask = mongoDbTaskRepositoryAdapter.findById(taskId);
+            Optional<Task> foundTask = mongoDbTaskRepositoryAdapter.findById(Sample.USER_ID, taskId);
 
             // then
             assertThat(foundTask).isPresent().hasValueSatisfying(task -> {
@@ -128,53 +327,513 @@ class MongoDbTaskRepositoryAdapterTest {
             TaskId nonExistentId = TaskId.from("000000000000000000000000");
 
             // when
-            Optional<Task> result = mongoDbTaskRepositoryAdapter.findById(nonExistentId);
+            Optional<Task> result = mongoDbTaskRepositoryAdapter.findById(Sample.USER_ID, nonExistentId);
 
             // then
             assertThat(result).isEmpty();
         }
+
+        @Test
+        @DisplayName("should return empty when task belongs to another user")
+        void shouldReturnEmpty_whenTaskBelongsToAnotherUser() {
+            // given
+            Task savedTask = mongoDbTaskRepositoryAdapter.save(Sample.task("Other Task", UserId.from("00000000f6b5a229daa5525e")));
+
+            // when
+            Optional<Task> result = mongoDbTaskRepositoryAdapter.findById(Sample.USER_ID, savedTask.getId());
+
+            // then
+            assertThat(result).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should return task of any user when looked up without the owner")
+        void shouldReturnTaskOfAnyUser_whenLookedUpWithoutOwner() {
+            // given
+            Task savedTask = mongoDbTaskRepositoryAdapter.save(Sample.task("Other Task", UserId.from("00000000f6b5a229daa5525e")));
+
+            // when
+            Optional<Task> result = mongoDbTaskRepositoryAdapter.findAnyUsersTaskById(savedTask.getId());
+
+            // then
+            assertThat(result).hasValueSatisfying(task -> assertThat(task.getUserId()).isEqualTo(savedTask.getUserId()));
+        }
+
+        @Test
+        @DisplayName("should throw invalid task ID exception when ID is malformed")
+        void shouldThrowInvalidTaskId_whenIdMalformed() {
+            // when
+            Exception byOwner = catchException(() -> mongoDbTaskRepositoryAdapter.findById(Sample.USER_ID, TaskId.from("<invalid>")));
+            Exception withoutOwner = catchException(() -> mongoDbTaskRepositoryAdapter.findAnyUsersTaskById(TaskId.from("<invalid>")));
+
+            // then
+            assertThat(byOwner).isInstanceOf(InvalidTaskIdException.class).hasMessage("Task ID has invalid format");
+            assertThat(withoutOwner).isInstanceOf(InvalidTaskIdException.class).hasMessage("Task ID has invalid format");
+        }
     }
 
     @Nested
-    @DisplayName("Find all tasks")
-    class FindAllTasks {
+    @DisplayName("Stream tasks")
+    class StreamTasks {
 
         @Test
-        @DisplayName("should return all saved tasks")
-        void shouldReturnAllSavedTasks() {
+        @DisplayName("should stream tasks of all users")
+        void shouldStreamTasksOfAllUsers() {
             // given
-            mongoDbTaskRepositoryAdapter.save(Sample.task("Test Task 1"));
-            mongoDbTaskRepositoryAdapter.save(Sample.task("Test Task 2"));
+            Task firstTask = mongoDbTaskRepositoryAdapter.save(Sample.task("Test Task 1"));
+            Task secondTask = mongoDbTaskRepositoryAdapter.save(Sample.task("Test Task 2", UserId.ANONYMOUS));
 
             // when
-            List<Task> tasks = mongoDbTaskRepositoryAdapter.findAll();
+            try (Stream<Task> tasks = mongoDbTaskRepositoryAdapter.streamAllUsersTasks()) {
+
+                // then
+                assertThat(tasks)
+                        .extracting(Task::getId)
+                        .containsExactly(firstTask.getId(), secondTask.getId());
+            }
+        }
+
+        @Test
+        @DisplayName("should stream only tasks with the given status")
+        void shouldStreamTasksByStatus() {
+            // given
+            Task todoTask = mongoDbTaskRepositoryAdapter.save(Sample.task("Test Task 1"));
+            Task completedTask = Sample.task("Test Task 2");
+            completedTask.markComplete();
+            mongoDbTaskRepositoryAdapter.save(completedTask);
+
+            // when
+            try (Stream<Task> tasks = mongoDbTaskRepositoryAdapter.streamByStatus(Sample.USER_ID, TaskStatus.TODO)) {
+
+                // then
+                assertThat(tasks)
+                        .extracting(Task::getId)
+                        .containsExactly(todoTask.getId());
+            }
+        }
+
+        @Test
+        @DisplayName("should stream only tasks of the given user")
+        void shouldStreamOnlyTasksOfGivenUser() {
+            // given
+            Task ownTask = mongoDbTaskRepositoryAdapter.save(Sample.task("Own Task"));
+            mongoDbTaskRepositoryAdapter.save(Sample.task("Other Task", UserId.from("00000000f6b5a229daa5525e")));
+            Task anonymousTask = mongoDbTaskRepositoryAdapter.save(Sample.task("Anonymous Task", UserId.ANONYMOUS));
+
+            // when
+            try (Stream<Task> tasks = mongoDbTaskRepositoryAdapter.streamByStatus(Sample.USER_ID, TaskStatus.TODO);
+                 Stream<Task> anonymousTasks = mongoDbTaskRepositoryAdapter.streamByStatus(UserId.ANONYMOUS, TaskStatus.TODO)) {
+
+                // then
+                assertThat(tasks).extracting(Task::getId).containsExactly(ownTask.getId());
+                assertThat(anonymousTasks).extracting(Task::getId).containsExactly(anonymousTask.getId());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Task views")
+    class TaskViews {
+
+        @Test
+        @DisplayName("should read views of the user's tasks after the last seen ID")
+        void shouldReadViewsAfterLastSeenId() {
+            // given
+            Task firstTask = mongoDbTaskRepositoryAdapter.save(Sample.task("Test Task 1"));
+            Task secondTask = mongoDbTaskRepositoryAdapter.save(Sample.task("Test Task 2"));
+            mongoDbTaskRepositoryAdapter.save(Sample.task("Other Task", UserId.from("00000000f6b5a229daa5525e")));
+
+            // when
+            List<TaskView> views = mongoDbTaskRepositoryAdapter.findViewsAfter(Sample.USER_ID, TaskFilter.NONE, firstTask.getId(), 10);
 
             // then
-            assertThat(tasks).hasSize(2);
-            assertThat(tasks.get(0)).satisfies(task -> {
-                assertThat(task.getId()).isNotNull();
-                assertThat(task.getUserId().value()).isEqualTo("00000000f6b5a229daa5525d");
-                assertThat(task.getTitle().value()).isEqualTo("Test Task 1");
-                assertThat(task.getDescription().value()).isEqualTo("But I don't know what");
-                assertThat(task.isCompleted()).isFalse();
-            });
-            assertThat(tasks.get(1)).satisfies(task -> {
-                assertThat(task.getId()).isNotNull();
-                assertThat(task.getUserId().value()).isEqualTo("00000000f6b5a229daa5525d");
-                assertThat(task.getTitle().value()).isEqualTo("Test Task 2");
-                assertThat(task.getDescription().value()).isEqualTo("But I don't know what");
-                assertThat(task.isCompleted()).isFalse();
-            });
+            assertThat(views).containsExactly(new TaskView(
+                    secondTask.getId().value(), "Test Task 2", secondTask.getDescription().value(), false));
+        }
+
+        @Test
+        @DisplayName("should stream views of the user's tasks with the given status")
+        void shouldStreamViewsWithGivenStatus() {
+            // given
+            Task completedTask = Sample.task("Done");
+            completedTask.markComplete();
+            Task savedTask = mongoDbTaskRepositoryAdapter.save(completedTask);
+            mongoDbTaskRepositoryAdapter.save(Sample.task("To do"));
+
+            // when
+            try (Stream<TaskView> views = mongoDbTaskRepositoryAdapter.streamViews(Sample.USER_ID, TaskFilter.byStatus(TaskStatus.COMPLETED))) {
+
+                // then
+                assertThat(views.toList()).singleElement().satisfies(view -> {
+                    assertThat(view.id()).isEqualTo(savedTask.getId().value());
+                    assertThat(view.completed()).isTrue();
+                });
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Tags")
+    class Tags {
+
+        @Test
+        @DisplayName("should persist tags added to a saved task")
+        void shouldPersistAddedTags() {
+            // given
+            Task savedTask = mongoDbTaskRepositoryAdapter.save(Sample.task("Tagged"));
+            Task loadedTask = mongoDbTaskRepositoryAdapter.findById(Sample.USER_ID, savedTask.getId()).orElseThrow();
+            loadedTask.addTags(TagId.from("work"), TagId.from("urgent"));
+
+            // when
+            mongoDbTaskRepositoryAdapter.save(loadedTask);
+
+            // then
+            assertThat(mongoDbTaskRepositoryAdapter.findById(Sample.USER_ID, savedTask.getId()))
+                    .hasValueSatisfying(task -> assertThat(task.getTags()).containsExactly(TagId.from("work"), TagId.from("urgent")));
+        }
+
+        @Test
+        @DisplayName("should find views of the user's tasks with any of the tags")
+        void shouldFindViewsWithAnyTag() {
+            // given
+            Task workTask = mongoDbTaskRepositoryAdapter.save(tagged("Work", "work"));
+            Task homeTask = mongoDbTaskRepositoryAdapter.save(tagged("Home", "home"));
+            mongoDbTaskRepositoryAdapter.save(tagged("Hobby", "hobby"));
+
+            // when
+            List<TaskView> views = mongoDbTaskRepositoryAdapter.findViewsAfter(Sample.USER_ID, TaskFilter.builder()
+                    .tags(List.of(TagId.from("work"), TagId.from("home")))
+                    .build(), null, 10);
+
+            // then
+            assertThat(views).extracting(TaskView::id).containsExactly(workTask.getId().value(), homeTask.getId().value());
+        }
+
+        @Test
+        @DisplayName("should stream views of the user's tasks with all of the tags")
+        void shouldStreamViewsWithAllTags() {
+            // given
+            Task bothTask = mongoDbTaskRepositoryAdapter.save(tagged("Both", "work", "urgent"));
+            mongoDbTaskRepositoryAdapter.save(tagged("Work", "work"));
+
+            // when
+            try (Stream<TaskView> views = mongoDbTaskRepositoryAdapter.streamViews(Sample.USER_ID, TaskFilter.builder()
+                    .tags(List.of(TagId.from("work"), TagId.from("urgent")))
+                    .tagMatch(TagMatch.ALL)
+                    .build())) {
+
+                // then
+                assertThat(views.toList()).extracting(TaskView::id).containsExactly(bothTask.getId().value());
+            }
+        }
+
+        private Task tagged(String title, String... tags) {
+            Task task = Sample.task(title);
+            task.addTags(Stream.of(tags).map(TagId::from).toArray(TagId[]::new));
+            return task;
+        }
+    }
+
+    @Nested
+    @DisplayName("Filter task views")
+    class FilterTaskViews {
+
+        @Test
+        @DisplayName("should combine status and title prefix in one query")
+        void shouldCombineStatusAndTitlePrefix() {
+            // given
+            Task matchingTask = Sample.task("Buy milk");
+            matchingTask.markComplete();
+            Task savedTask = mongoDbTaskRepositoryAdapter.save(matchingTask);
+            mongoDbTaskRepositoryAdapter.save(Sample.task("Buy bread"));
+            Task otherTask = Sample.task("Sell car");
+            otherTask.markComplete();
+            mongoDbTaskRepositoryAdapter.save(otherTask);
+
+            // when
+            List<TaskView> views = mongoDbTaskRepositoryAdapter.findViewsAfter(Sample.USER_ID, TaskFilter.builder()
+                    .status(TaskStatus.COMPLETED)
+                    .titlePrefix("Buy")
+                    .build(), null, 10);
+
+            // then
+            assertThat(views).extracting(TaskView::id).containsExactly(savedTask.getId().value());
+        }
+
+        @Test
+        @DisplayName("should match title prefix literally")
+        void shouldMatchTitlePrefixLiterally() {
+            // given
+            Task savedTask = mongoDbTaskRepositoryAdapter.save(Sample.task("a.b (draft)"));
+            mongoDbTaskRepositoryAdapter.save(Sample.task("axb (draft)"));
+
+            // when
+            List<TaskView> views = mongoDbTaskRepositoryAdapter.findViewsAfter(Sample.USER_ID,
+                    TaskFilter.builder().titlePrefix("a.b (").build(), null, 10);
+
+            // then
+            assertThat(views).extracting(TaskView::id).containsExactly(savedTask.getId().value());
+        }
+
+        @Test
+        @DisplayName("should page through views newest first")
+        void shouldPageNewestFirst() {
+            // given
+            Task firstTask = mongoDbTaskRepositoryAdapter.save(Sample.task("Test Task 1"));
+            Task secondTask = mongoDbTaskRepositoryAdapter.save(Sample.task("Test Task 2"));
+            Task thirdTask = mongoDbTaskRepositoryAdapter.save(Sample.task("Test Task 3"));
+            TaskFilter newestFirst = TaskFilter.builder().newestFirst(true).build();
+
+            // when
+            List<TaskView> firstPage = mongoDbTaskRepositoryAdapter.findViewsAfter(Sample.USER_ID, newestFirst, null, 2);
+            List<TaskView> secondPage = mongoDbTaskRepositoryAdapter.findViewsAfter(Sample.USER_ID, newestFirst, secondTask.getId(), 2);
+
+            // then
+            assertThat(firstPage).extracting(TaskView::id).containsExactly(thirdTask.getId().value(), secondTask.getId().value());
+            assertThat(secondPage).extracting(TaskView::id).containsExactly(firstTask.getId().value());
+        }
+    }
+
+    @Nested
+    @DisplayName("Complete matching tasks")
+    class CompleteMatchingTasks {
+
+        private static final UserId OTHER_USER_ID = UserId.from("00000000f6b5a229daa5525e");
+
+        @Test
+        @DisplayName("should complete only the user's not completed tasks that match the filter")
+        void shouldCompleteMatchingTasks() {
+            // given
+            Task firstTask = mongoDbTaskRepositoryAdapter.save(tagged("Work 1", "work"));
+            Task secondTask = mongoDbTaskRepositoryAdapter.save(tagged("Work 2", "work"));
+            Task completedTask = tagged("Work 3", "work");
+            completedTask.markComplete();
+            completedTask = mongoDbTaskRepositoryAdapter.save(completedTask);
+            Task homeTask = mongoDbTaskRepositoryAdapter.save(tagged("Home", "home"));
+            Task foreignTask = Sample.task("Someone else's work", OTHER_USER_ID);
+            foreignTask.addTags(TagId.from("work"));
+            foreignTask = mongoDbTaskRepositoryAdapter.save(foreignTask);
+
+            // when
+            long completedCount = mongoDbTaskRepositoryAdapter.completeAll(Sample.USER_ID, TaskFilter.builder()
+                    .status(TaskStatus.TODO)
+                    .tags(List.of(TagId.from("work")))
+                    .build());
+
+            // then
+            assertThat(completedCount).isEqualTo(2);
+            assertThat(mongoDbTaskRepositoryAdapter.findAllById(Sample.USER_ID, List.of(firstTask.getId(), secondTask.getId(), completedTask.getId())))
+                    .allSatisfy(task -> assertThat(task.isCompleted()).isTrue());
+            assertThat(mongoDbTaskRepositoryAdapter.findById(Sample.USER_ID, homeTask.getId()))
+                    .hasValueSatisfying(task -> assertThat(task.isCompleted()).isFalse());
+            assertThat(mongoDbTaskRepositoryAdapter.findById(OTHER_USER_ID, foreignTask.getId()))
+                    .hasValueSatisfying(task -> assertThat(task.isCompleted()).isFalse());
+        }
+
+        @Test
+        @DisplayName("should make saves of tasks loaded before completion fail")
+        void shouldFailStaleSave_afterCompletion() {
+            // given
+            Task savedTask = mongoDbTaskRepositoryAdapter.save(Sample.task("Stale"));
+            Task staleTask = mongoDbTaskRepositoryAdapter.findById(Sample.USER_ID, savedTask.getId()).orElseThrow();
+            mongoDbTaskRepositoryAdapter.completeAll(Sample.USER_ID, TaskFilter.builder().status(TaskStatus.TODO).build());
+            staleTask.setTitle(TaskTitle.from("Renamed"));
+
+            // when
+            Exception exception = catchException(() -> mongoDbTaskRepositoryAdapter.save(staleTask));
+
+            // then
+            assertThat(exception).isInstanceOf(TaskConcurrentModificationException.class);
+        }
+
+        private Task tagged(String title, String... tags) {
+            Task task = Sample.task(title);
+            task.addTags(Stream.of(tags).map(TagId::from).toArray(TagId[]::new));
+            return task;
+        }
+    }
+
+    @Nested
+    @DisplayName("Reconcile indexes")
+    class ReconcileIndexes {
+
+        @Test
+        @DisplayName("should create declared indexes")
+        void shouldCreateDeclaredIndexes() {
+            // when
+            mongoDbTaskRepositoryAdapter.reconcileIndexes();
+
+            // then
+            assertThat(indexNames()).contains("userId_id", "userId_status_id", "userId_tags_id");
         }
 
         @Test
-        @DisplayName("should return empty list when no tasks")
-        void shouldReturnEmptyList_whenNoTasks() {
+        @DisplayName("should recreate dropped index")
+        void shouldRecreateDroppedIndex() {
+            // given
+            mongoDbTaskRepositoryAdapter.reconcileIndexes();
+            taskCollection().dropIndex("userId_id");
+
+            // when
+            mongoDbTaskRepositoryAdapter.reconcileIndexes();
+
+            // then
+            assertThat(indexNames()).contains("userId_id");
+        }
+
+        private List<String> indexNames() {
+            List<String> names = new ArrayList<>();
+            taskCollection().listIndexes().forEach(index -> names.add(index.getString("name")));
+            return names;
+        }
+
+        private MongoCollection<Document> taskCollection() {
+            return mongoClient.getDatabase("task-manager").getCollection("tasks");
+        }
+    }
+
+    @Nested
+    @DisplayName("Shard collection")
+    class ShardCollection {
+
+        @Test
+        @DisplayName("should shard by hashed user ID")
+        void shouldShardByHashedUserId() {
+            // when
+            Document command = new TaskCollectionSharder(ShardingConfig.KeyType.HASHED).shardCollectionCommand("task-manager.tasks");
+
+            // then
+            assertThat(command.toBsonDocument().toJson())
+                    .isEqualTo("{\"shardCollection\": \"task-manager.tasks\", \"key\": {\"userId\": \"hashed\"}}");
+        }
+
+        @Test
+        @DisplayName("should shard by user ID and task ID ranges")
+        void shouldShardByUserIdAndTaskIdRanges() {
+            // when
+            Document command = new TaskCollectionSharder(ShardingConfig.KeyType.RANGED).shardCollectionCommand("task-manager.tasks");
+
+            // then
+            assertThat(command.toBsonDocument().toJson())
+                    .isEqualTo("{\"shardCollection\": \"task-manager.tasks\", \"key\": {\"userId\": 1, \"_id\": 1}}");
+        }
+
+        @Test
+        @DisplayName("should keep collection unsharded when not connected through mongos")
+        void shouldKeepCollectionUnsharded_whenNotConnectedThroughMongos() {
+            // given
+            MongoCollection<Document> taskCollection = mongoClient.getDatabase("task-manager").getCollection("tasks");
+            Task savedTask = mongoDbTaskRepositoryAdapter.save(Sample.task());
+
+            // when
+            Exception exception = catchException(() -> new TaskCollectionSharder(ShardingConfig.KeyType.HASHED)
+                    .shard(mongoClient.getDatabase("admin"), taskCollection));
+
+            // then
+            assertThat(exception).isNull();
+            assertThat(mongoDbTaskRepositoryAdapter.findById(Sample.USER_ID, savedTask.getId())).isPresent();
+            taskCollection.dropIndex("userId_hashed");
+        }
+    }
+
+    @Nested
+    @DisplayName("Tenant routing")
+    class TenantRouting {
+
+        @Test
+        @DisplayName("should keep tasks of users routed to different databases apart")
+        void shouldKeepTasksOfUsersRoutedToDifferentDatabasesApart() {
+            // given
+            TenantDatabaseRouter router = new TenantDatabaseRouter(
+                    Map.of("tenants-a", "mongodb://localhost:27018/task-manager-tenants-a"), Map.of(), 100);
+            UserId defaultUser = userRoutedTo(router, TenantDatabaseRouter.DEFAULT_DATABASE);
+            UserId tenantUser = userRoutedTo(router, "tenants-a");
+            MongoDbTaskRepositoryAdapter adapter = new MongoDbTaskRepositoryAdapter(
+                    mongoClient, mongoConfiguration, new MongoDbTaskRepositoryConfig(), new ShardingConfig(), router);
+
+            try {
+                // when
+                List<TaskWriteResult> results = adapter.saveAll(List.of(
+                        Sample.task("Default", defaultUser), Sample.task("Tenant", tenantUser), Sample.task("Default 2", defaultUser)));
+
+                // then
+                assertThat(results).extracting(result -> result.task().getTitle().value())
+                        .containsExactly("Default", "Tenant", "Default 2");
+                try (Stream<Task> tenantTasks = adapter.streamByStatus(tenantUser, TaskStatus.TODO)) {
+                    assertThat(tenantTasks).extracting(task -> task.getTitle().value()).containsExactly("Tenant");
+                }
+                assertThat(adapter.findById(tenantUser, results.get(1).task().getId())).isPresent();
+                assertThat(mongoClient.getDatabase("task-manager-tenants-a").getCollection("tasks").countDocuments()).isEqualTo(1);
+                assertThat(mongoClient.getDatabase("task-manager").getCollection("tasks").countDocuments()).isEqualTo(2);
+                try (Stream<Task> tasks = adapter.streamAllUsersTasks()) {
+                    assertThat(tasks.count()).isEqualTo(3);
+                }
+            } finally {
+                adapter.closeTenantClients();
+                mongoClient.getDatabase("task-manager-tenants-a").drop();
+            }
+        }
+
+        @Test
+        @DisplayName("should apply the configured client settings to tenant clients")
+        void shouldApplyConfiguredClientSettings_toTenantClients() {
+            // given
+            ConnectionString connectionString = new ConnectionString("mongodb://tenant-host:27017/task-manager-tenants-a");
+
+            // when
+            MongoClientSettings settings = MongoDbTaskRepositoryAdapter.tenantClientSettings(mongoConfiguration, connectionString);
+
+            // then
+            assertThat(settings.getConnectionPoolSettings().getMaxSize()).isEqualTo(100);
+            assertThat(settings.getClusterSettings().getHosts()).containsExactly(new ServerAddress("tenant-host", 27017));
+        }
+
+        private static UserId userRoutedTo(TenantDatabaseRouter router, String database) {
+            return Stream.generate(() -> UserId.from(new ObjectId().toHexString()))
+                    .filter(userId -> router.route(userId).equals(database))
+                    .findFirst()
+                    .orElseThrow();
+        }
+    }
+
+    @Nested
+    @DisplayName("Query read settings")
+    class QueryReadSettings {
+
+        @Test
+        @DisplayName("should read lists from secondaries within max staleness")
+        void shouldReadListsFromSecondariesWithinMaxStaleness() {
+            // given
+            MongoDbTaskRepositoryConfig config = new MongoDbTaskRepositoryConfig();
+            config.setQueryReadPreference("secondaryPreferred");
+            config.setQueryMaxStaleness(Duration.ofSeconds(120));
+            config.setQueryReadConcern("majority");
+
+            // when
+            ReadPreference readPreference = MongoDbTaskRepositoryAdapter.queryReadPreference(config);
+            ReadConcern readConcern = MongoDbTaskRepositoryAdapter.queryReadConcern(config);
+
+            // then
+            assertAll(
+                    () -> assertThat(readPreference.getName()).isEqualTo("secondaryPreferred"),
+                    () -> assertThat(((TaggableReadPreference) readPreference).getMaxStaleness(TimeUnit.SECONDS))
+                            .isEqualTo(120L),
+                    () -> assertThat(readConcern).isEqualTo(ReadConcern.MAJORITY)
+            );
+        }
+
+        @Test
+        @DisplayName("should ignore max staleness when reading lists from primary")
+        void shouldIgnoreMaxStalenessWhenReadingListsFromPrimary() {
+            // given
+            MongoDbTaskRepositoryConfig config = new MongoDbTaskRepositoryConfig();
+            config.setQueryReadPreference("primary");
+
             // when
-            List<Task> tasks = mongoDbTaskRepositoryAdapter.findAll();
+            ReadPreference readPreference = MongoDbTaskRepositoryAdapter.queryReadPreference(config);
 
             // then
-            assertThat(tasks).isEmpty();
+            assertThat(readPreference).isEqualTo(ReadPreference.primary());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,108 @@
+package com.taskmanager.infrastructure.persistence;
+
+import com.taskmanager.application.Sample;
+import com.taskmanager.application.port.outbound.task.TaskFilter;
+import com.taskmanager.infrastructure.persistence.util.MongoDbExtension;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the throughput of streaming task lists through the blocking and the reactive adapters under the same concurrency.
+ * The blocking adapter gets a fixed pool of worker threads, as a servlet-style server would have,
+ * while the reactive one runs every in-flight list without dedicating a thread to it.
+ * <p>
+ * Excluded from the regular test run, use {@code ./gradlew benchmark}.
+ * </p>
+ */
+@Tag("benchmark")
+@ExtendWith(MongoDbExtension.class)
+@MicronautTest(startApplication = false)
+@Property(name = "task-manager.persistence.mongodb.reactive.enabled", value = StringUtils.TRUE)
+@DisplayName("Benchmark: MongoDB Task Repository throughput")
+class MongoDbTaskRepositoryThroughputBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoDbTaskRepositoryThroughputBenchmark.class);
+
+    private static final int TASKS = 100;
+    private static final int LISTINGS = 2_000;
+    private static final int CONCURRENCY = 256;
+    private static final int WORKER_THREADS = 16;
+
+    @Inject
+    MongoDbTaskRepositoryAdapter syncAdapter;
+
+    @Inject
+    ReactiveMongoDbTaskRepositoryAdapter reactiveAdapter;
+
+    @Test
+    @DisplayName("should compare list streaming throughput of sync and reactive adapters")
+    void shouldCompareListThroughput() throws Exception {
+        // given
+        IntStream.range(0, TASKS).forEach(i -> syncAdapter.save(Sample.task("Task " + i)));
+
+        // warm up both drivers and their connection pools
+        runSync(LISTINGS / 10);
+        runReactive(LISTINGS / 10);
+
+        // when
+        long syncNanos = runSync(LISTINGS);
+        long reactiveNanos = runReactive(LISTINGS);
+
+        // then
+        log.info("Sync adapter ({} worker threads): {} lists/s", WORKER_THREADS, throughput(syncNanos));
+        log.info("Reactive adapter (concurrency {}): {} lists/s", CONCURRENCY, throughput(reactiveNanos));
+        assertThat(syncNanos).isPositive();
+        assertThat(reactiveNanos).isPositive();
+    }
+
+    private long runSync(int listings) throws Exception {
+        try (ExecutorService workers = Executors.newFixedThreadPool(WORKER_THREADS)) {
+            long start = System.nanoTime();
+            List<Future<Long>> results = new ArrayList<>(listings);
+            for (int i = 0; i < listings; i++) {
+                results.add(workers.submit(() -> {
+                    try (Stream<?> views = syncAdapter.streamViews(Sample.USER_ID, TaskFilter.NONE)) {
+                        return views.count();
+                    }
+                }));
+            }
+            for (Future<Long> result : results) {
+                assertThat(result.get()).isEqualTo(TASKS);
+            }
+            return System.nanoTime() - start;
+        }
+    }
+
+    private long runReactive(int listings) {
+        long start = System.nanoTime();
+        List<Long> counts = Flux.range(0, listings)
+                .flatMap(i -> reactiveAdapter.findViews(Sample.USER_ID, TaskFilter.NONE).count(), CONCURRENCY)
+                .collectList()
+                .block();
+        assertThat(counts).hasSize(listings).containsOnly((long) TASKS);
+        return System.nanoTime() - start;
+    }
+
+    private static long throughput(long nanos) {
+        return LISTINGS * 1_000_000_000L / nanos;
+    }
+}
@@ -0,0 +1,227 @@
+package com.taskmanager.infrastructure.persistence;
+
+import com.taskmanager.application.Sample;
+import com.taskmanager.application.domain.task.Task;
+import com.taskmanager.application.domain.task.event.TaskChangedEvent;
+import com.taskmanager.application.domain.task.exception.TaskConcurrentModificationException;
+import com.taskmanager.application.domain.task.valueobject.TaskId;
+import com.taskmanager.application.domain.task.valueobject.TaskStatus;
+import com.taskmanager.application.domain.task.valueobject.TaskTitle;
+import com.taskmanager.application.domain.user.valueobject.UserId;
+import com.taskmanager.application.port.outbound.task.TaskCommandRepositoryMock;
+import com.taskmanager.application.port.outbound.task.TaskFilter;
+import com.taskmanager.application.port.outbound.task.TaskQueryRepositoryMock;
+import io.micronaut.core.annotation.NonNull;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
+
+@DisplayName("Task repository decorator: near cache")
+class NearCacheTaskRepositoryTest {
+
+    private final InterceptedTaskCommandRepository commandRepository = new InterceptedTaskCommandRepository();
+    private final CountingTaskQueryRepository queryRepository = new CountingTaskQueryRepository();
+    private final NearCacheTaskRepository repository =
+            new NearCacheTaskRepository(commandRepository, queryRepository, 100, Duration.ofMinutes(1));
+
+    @Test
+    @DisplayName("should read task from the delegate only once")
+    void shouldReadTaskOnce() {
+        // given
+        TaskId taskId = Objects.requireNonNull(commandRepository.save(Sample.task()).getId());
+
+        // when
+        Optional<Task> first = repository.findById(Sample.USER_ID, taskId);
+        Optional<Task> second = repository.findById(Sample.USER_ID, taskId);
+
+        // then
+        assertThat(first).isPresent();
+        assertThat(second).isPresent();
+        assertThat(second.get()).isNotSameAs(first.get());
+        assertThat(queryRepository.findByIdCalls).isEqualTo(1);
+        assertThat(repository.stats().hitCount()).isEqualTo(1);
+        assertThat(repository.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should read task again after it was saved")
+    void shouldReadTaskAgain_whenSaved() {
+        // given
+        TaskId taskId = Objects.requireNonNull(commandRepository.save(Sample.task()).getId());
+        Task task = repository.findById(Sample.USER_ID, taskId).orElseThrow();
+        task.setTitle(TaskTitle.from("Updated Title"));
+
+        // when
+        repository.save(task);
+
+        // then
+        assertThat(repository.findById(Sample.USER_ID, taskId)).hasValueSatisfying(t -> {
+            assertThat(t.getTitle()).isEqualTo(TaskTitle.from("Updated Title"));
+        });
+        assertThat(queryRepository.findByIdCalls).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should read the user's tasks again after matching tasks were completed")
+    void shouldReadTasksAgain_whenMatchingTasksCompleted() {
+        // given
+        TaskId taskId = Objects.requireNonNull(commandRepository.save(Sample.task()).getId());
+        repository.findById(Sample.USER_ID, taskId);
+
+        // when
+        long completedCount = repository.completeAll(Sample.USER_ID, TaskFilter.builder().status(TaskStatus.TODO).build());
+
+        // then
+        assertThat(completedCount).isEqualTo(1);
+        assertThat(repository.findById(Sample.USER_ID, taskId)).hasValueSatisfying(t -> assertThat(t.isCompleted()).isTrue());
+        assertThat(queryRepository.findByIdCalls).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should read task again after saving it failed because of a concurrent modification")
+    void shouldReadTaskAgain_whenSaveConflicted() {
+        // given
+        TaskId taskId = Objects.requireNonNull(commandRepository.save(Sample.task()).getId());
+        Task task = repository.findById(Sample.USER_ID, taskId).orElseThrow();
+        task.markComplete();
+        commandRepository.simulateConcurrentModifications(1);
+
+        // when
+        Exception exception = catchException(() -> repository.save(task));
+
+        // then
+        assertThat(exception).isInstanceOf(TaskConcurrentModificationException.class);
+        assertThat(repository.findById(Sample.USER_ID, taskId)).hasValueSatisfying(t -> {
+            assertThat(t.getVersion()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    @DisplayName("should not find task after it was deleted")
+    void shouldNotFindTask_whenDeleted() {
+        // given
+        TaskId taskId = Objects.requireNonNull(commandRepository.save(Sample.task()).getId());
+        Task task = repository.findById(Sample.USER_ID, taskId).orElseThrow();
+
+        // when
+        repository.delete(task);
+
+        // then
+        assertThat(repository.findById(Sample.USER_ID, taskId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should read task again after it was changed by another instance")
+    void shouldReadTaskAgain_whenChangedElsewhere() {
+        // given
+        TaskId taskId = Objects.requireNonNull(commandRepository.save(Sample.task()).getId());
+        repository.findById(Sample.USER_ID, taskId);
+
+        // when
+        repository.onTaskChanged(new TaskChangedEvent(taskId.value()));
+        repository.findById(Sample.USER_ID, taskId);
+
+        // then
+        assertThat(queryRepository.findByIdCalls).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should read all tasks again when any task may have changed")
+    void shouldReadAllTasksAgain_whenAnyTaskChanged() {
+        // given
+        TaskId firstId = Objects.requireNonNull(commandRepository.save(Sample.task("First")).getId());
+        TaskId secondId = Objects.requireNonNull(commandRepository.save(Sample.task("Second")).getId());
+        repository.findById(Sample.USER_ID, firstId);
+        repository.findById(Sample.USER_ID, secondId);
+
+        // when
+        repository.onTaskChanged(TaskChangedEvent.anyTask());
+        repository.findById(Sample.USER_ID, firstId);
+        repository.findById(Sample.USER_ID, secondId);
+
+        // then
+        assertThat(queryRepository.findByIdCalls).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("should load only tasks missing in the cache")
+    void shouldLoadOnlyMissingTasks() {
+        // given
+        TaskId cachedId = Objects.requireNonNull(commandRepository.save(Sample.task("Cached")).getId());
+        TaskId otherId = Objects.requireNonNull(commandRepository.save(Sample.task("Other")).getId());
+        repository.findById(Sample.USER_ID, cachedId);
+
+        // when
+        List<Task> tasks = repository.findAllById(Sample.USER_ID, List.of(cachedId, otherId, TaskId.from("000000000000000000000000")));
+
+        // then
+        assertThat(tasks).extracting(Task::getId).containsExactlyInAnyOrder(cachedId, otherId);
+        assertThat(repository.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should read task again after it was saved while loading tasks in bulk")
+    void shouldReadTaskAgain_whenSavedDuringBulkLoad() {
+        // given
+        TaskId taskId = Objects.requireNonNull(commandRepository.save(Sample.task()).getId());
+        commandRepository.afterFindAllById = () -> {
+            Task task = commandRepository.findById(Sample.USER_ID, taskId).orElseThrow();
+            task.markComplete();
+            repository.save(task);
+        };
+
+        // when
+        List<Task> tasks = repository.findAllById(Sample.USER_ID, List.of(taskId));
+        commandRepository.afterFindAllById = () -> {};
+
+        // then
+        assertThat(tasks).singleElement().satisfies(t -> assertThat(t.isCompleted()).isFalse());
+        assertThat(repository.findById(Sample.USER_ID, taskId)).hasValueSatisfying(t -> assertThat(t.isCompleted()).isTrue());
+    }
+
+    @Test
+    @DisplayName("should not serve cached task to another user")
+    void shouldNotServeCachedTaskToAnotherUser() {
+        // given
+        TaskId taskId = Objects.requireNonNull(commandRepository.save(Sample.task()).getId());
+        TaskId otherId = Objects.requireNonNull(commandRepository.save(Sample.task("Other")).getId());
+        repository.findById(Sample.USER_ID, taskId);
+        repository.findById(Sample.USER_ID, otherId);
+
+        // when / then
+        assertThat(repository.findById(UserId.from("someone-else"), taskId)).isEmpty();
+        assertThat(repository.findAllById(UserId.from("someone-else"), List.of(taskId, otherId))).isEmpty();
+        assertThat(repository.findById(UserId.from(Sample.USER_ID.value().toUpperCase()), taskId)).isPresent();
+    }
+
+    private static class InterceptedTaskCommandRepository extends TaskCommandRepositoryMock {
+
+        private Runnable afterFindAllById = () -> {};
+
+        @Override
+        public @NonNull List<Task> findAllById(@NonNull UserId userId, @NonNull Collection<TaskId> ids) {
+            List<Task> tasks = super.findAllById(userId, ids);
+            afterFindAllById.run();
+            return tasks;
+        }
+    }
+
+    private static class CountingTaskQueryRepository extends TaskQueryRepositoryMock {
+
+        private int findByIdCalls;
+
+        @Override
+        public @NonNull Optional<Task> findById(@NonNull UserId userId, @NonNull TaskId id) {
+            findByIdCalls++;
+            return super.findById(userId, id);
+        }
+    }
+}
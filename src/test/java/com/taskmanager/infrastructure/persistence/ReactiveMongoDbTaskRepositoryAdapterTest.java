@@ -0,0 +1,76 @@
+package com.taskmanager.infrastructure.persistence;
+
+import com.taskmanager.application.Sample;
+import com.taskmanager.application.domain.task.Task;
+import com.taskmanager.application.domain.task.TaskView;
+import com.taskmanager.application.domain.task.valueobject.TaskStatus;
+import com.taskmanager.application.domain.user.valueobject.UserId;
+import com.taskmanager.application.port.outbound.task.TaskFilter;
+import com.taskmanager.infrastructure.persistence.util.MongoDbExtension;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MongoDbExtension.class)
+@MicronautTest(startApplication = false)
+@Property(name = "task-manager.persistence.mongodb.reactive.enabled", value = StringUtils.TRUE)
+@DisplayName("Adapter: Reactive MongoDB Task Repository")
+class ReactiveMongoDbTaskRepositoryAdapterTest {
+
+    @Inject
+    ReactiveMongoDbTaskRepositoryAdapter reactiveAdapter;
+
+    @Inject
+    MongoDbTaskRepositoryAdapter mongoDbTaskRepositoryAdapter;
+
+    @Nested
+    @DisplayName("Find task views")
+    class FindTaskViews {
+
+        @Test
+        @DisplayName("should return views of the user's matching tasks ordered by ID")
+        void shouldReturnViewsOfMatchingTasks() {
+            // given
+            mongoDbTaskRepositoryAdapter.save(Sample.task("Task 1"));
+            Task completedTask = Sample.task("Task 2");
+            completedTask.markComplete();
+            mongoDbTaskRepositoryAdapter.save(completedTask);
+            mongoDbTaskRepositoryAdapter.save(Sample.task("Task 3"));
+            mongoDbTaskRepositoryAdapter.save(Sample.task("Task 4", UserId.ANONYMOUS));
+
+            // when
+            List<TaskView> views = reactiveAdapter.findViews(Sample.USER_ID, TaskFilter.byStatus(TaskStatus.TODO)).collectList().block();
+
+            // then
+            assertThat(views)
+                    .extracting(TaskView::title)
+                    .containsExactly("Task 1", "Task 3");
+        }
+
+        @Test
+        @DisplayName("should return the most recently created tasks first when requested")
+        void shouldReturnNewestFirst() {
+            // given
+            mongoDbTaskRepositoryAdapter.save(Sample.task("Task 1"));
+            mongoDbTaskRepositoryAdapter.save(Sample.task("Task 2"));
+
+            // when
+            List<TaskView> views = reactiveAdapter.findViews(Sample.USER_ID, TaskFilter.builder().newestFirst(true).build())
+                    .collectList().block();
+
+            // then
+            assertThat(views)
+                    .extracting(TaskView::title)
+                    .containsExactly("Task 2", "Task 1");
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.taskmanager.infrastructure.persistence;
+
+import com.taskmanager.application.domain.task.Tag;
+import com.taskmanager.application.domain.task.valueobject.TagId;
+import com.taskmanager.application.port.outbound.task.TagRepositoryMock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Dictionary: in-memory tags")
+class TagDictionaryTest {
+
+    private final TagRepositoryMock repository = new TagRepositoryMock();
+    private final TagDictionary dictionary = new TagDictionary(repository);
+
+    @Nested
+    @DisplayName("Load")
+    class Load {
+
+        @Test
+        @DisplayName("should resolve tags stored before loading without asking the repository")
+        void shouldResolveStoredTagsFromMemory() {
+            // given
+            Tag work = repository.save(tag("work", "Things to do at work"));
+            Tag home = repository.save(tag("home", null));
+            dictionary.load();
+            int lookupsAfterLoad = repository.getLookups();
+
+            // when
+            Map<TagId, Tag> actualResult = dictionary.findAllById(List.of(work.getId(), home.getId(), TagId.from("missing")));
+
+            // then
+            assertThat(actualResult).containsOnlyKeys(work.getId(), home.getId());
+            assertThat(actualResult.get(work.getId()).getName()).isEqualTo("work");
+            assertThat(actualResult.get(work.getId()).getDescription()).isEqualTo("Things to do at work");
+            assertThat(repository.getLookups()).isEqualTo(lookupsAfterLoad);
+        }
+
+        @Test
+        @DisplayName("should pick up tags changed by others on reload")
+        void shouldPickUpTagsChangedByOthers() {
+            // given
+            dictionary.load();
+            Tag savedElsewhere = repository.save(tag("urgent", null));
+
+            // when
+            dictionary.load();
+
+            // then
+            assertThat(dictionary.findById(savedElsewhere.getId())).hasValueSatisfying(tag ->
+                    assertThat(tag.getName()).isEqualTo("urgent"));
+        }
+
+        @Test
+        @DisplayName("should ask the repository until loaded")
+        void shouldAskRepositoryUntilLoaded() {
+            // given
+            Tag work = repository.save(tag("work", null));
+
+            // when
+            boolean found = dictionary.findById(work.getId()).isPresent();
+
+            // then
+            assertThat(dictionary.isLoaded()).isFalse();
+            assertThat(found).isTrue();
+            assertThat(repository.getLookups()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Write")
+    class Write {
+
+        @Test
+        @DisplayName("should apply saved tag right away")
+        void shouldApplySavedTag() {
+            // given
+            dictionary.load();
+            Tag saved = dictionary.save(tag("work", null));
+            saved.setName("office");
+
+            // when
+            dictionary.save(saved);
+
+            // then
+            assertThat(dictionary.findAll()).singleElement().satisfies(tag -> assertThat(tag.getName()).isEqualTo("office"));
+        }
+
+        @Test
+        @DisplayName("should forget deleted tag right away")
+        void shouldForgetDeletedTag() {
+            // given
+            dictionary.load();
+            Tag saved = dictionary.save(tag("work", null));
+
+            // when
+            dictionary.delete(saved.getId());
+
+            // then
+            assertThat(dictionary.findById(saved.getId())).isEmpty();
+        }
+    }
+
+    private static Tag tag(String name, String description) {
+        Tag tag = new Tag(name);
+        tag.setDescription(description);
+        return tag;
+    }
+}
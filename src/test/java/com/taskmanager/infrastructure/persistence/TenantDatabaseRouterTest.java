@@ -0,0 +1,92 @@
+package com.taskmanager.infrastructure.persistence;
+
+import com.taskmanager.application.Sample;
+import com.taskmanager.application.domain.user.valueobject.UserId;
+import io.micronaut.context.exceptions.ConfigurationException;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
+
+@DisplayName("Tenant database router")
+class TenantDatabaseRouterTest {
+
+    private static final Map<String, String> TWO_DATABASES = Map.of(
+            "tenants-a", "mongodb://localhost:27018/tenants-a");
+    private static final Map<String, String> THREE_DATABASES = Map.of(
+            "tenants-a", "mongodb://localhost:27018/tenants-a",
+            "tenants-b", "mongodb://localhost:27018/tenants-b");
+
+    private final List<UserId> users = IntStream.range(0, 1_000)
+            .mapToObj(i -> UserId.from(new ObjectId().toHexString()))
+            .toList();
+
+    @Test
+    @DisplayName("should route every user to the default database without additional databases")
+    void shouldRouteToDefaultDatabase_withoutAdditionalDatabases() {
+        // given
+        TenantDatabaseRouter router = new TenantDatabaseRouter(Map.of(), Map.of(), 100);
+
+        // when / then
+        assertThat(users).allSatisfy(user -> assertThat(router.route(user)).isEqualTo(TenantDatabaseRouter.DEFAULT_DATABASE));
+        assertThat(router.databaseName(TenantDatabaseRouter.DEFAULT_DATABASE)).isEqualTo("task-manager");
+    }
+
+    @Test
+    @DisplayName("should route a user to the same database in any spelling of the user ID")
+    void shouldRouteUserToSameDatabase() {
+        // given
+        TenantDatabaseRouter router = new TenantDatabaseRouter(THREE_DATABASES, Map.of(), 100);
+
+        // when / then
+        assertThat(users).allSatisfy(user -> assertThat(router.route(UserId.from(user.value().toUpperCase())))
+                .isEqualTo(new TenantDatabaseRouter(THREE_DATABASES, Map.of(), 100).route(user)));
+        assertThat(users).extracting(router::route).containsOnly("default", "tenants-a", "tenants-b");
+    }
+
+    @Test
+    @DisplayName("should move only users to the added database")
+    void shouldMoveOnlyUsersToAddedDatabase() {
+        // given
+        TenantDatabaseRouter before = new TenantDatabaseRouter(TWO_DATABASES, Map.of(), 100);
+        TenantDatabaseRouter after = new TenantDatabaseRouter(THREE_DATABASES, Map.of(), 100);
+
+        // when
+        List<UserId> moved = users.stream().filter(user -> !before.route(user).equals(after.route(user))).toList();
+
+        // then
+        assertThat(moved).allSatisfy(user -> assertThat(after.route(user)).isEqualTo("tenants-b"));
+        assertThat(moved.size()).isBetween(users.size() / 5, users.size() / 2); // about a third
+    }
+
+    @Test
+    @DisplayName("should route assigned user to the assigned database")
+    void shouldRouteAssignedUser() {
+        // given
+        TenantDatabaseRouter router = new TenantDatabaseRouter(
+                THREE_DATABASES, Map.of(Sample.USER_ID.value(), "tenants-b"), 100);
+
+        // when / then
+        assertThat(router.route(Sample.USER_ID)).isEqualTo("tenants-b");
+        assertThat(router.databaseName("tenants-b")).isEqualTo("tenants-b");
+    }
+
+    @Test
+    @DisplayName("should reject assignment to an unknown database")
+    void shouldRejectAssignmentToUnknownDatabase() {
+        // when
+        Exception exception = catchException(() -> new TenantDatabaseRouter(
+                TWO_DATABASES, Map.of(Sample.USER_ID.value(), "tenants-x"), 100));
+
+        // then
+        assertThat(exception)
+                .isInstanceOf(ConfigurationException.class)
+                .hasMessageContaining("tenants-x");
+    }
+}
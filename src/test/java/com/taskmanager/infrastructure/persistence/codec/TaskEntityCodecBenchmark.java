@@ -0,0 +1,94 @@
+package com.taskmanager.infrastructure.persistence.codec;
+
+import com.taskmanager.infrastructure.persistence.entity.TaskEntity;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.pojo.PojoCodecProvider;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares decoding a task document with the hand-written codec against the reflective POJO codec
+ * that was used before, on the same binary document and without a database round trip.
+ * <p>
+ * Excluded from the regular test run, use {@code ./gradlew benchmark}.
+ * </p>
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark: Task entity codec")
+class TaskEntityCodecBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskEntityCodecBenchmark.class);
+
+    private static final int WARM_UP_ITERATIONS = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    @Test
+    @DisplayName("should compare decode throughput of hand-written and POJO codecs")
+    void shouldCompareDecodeThroughput() {
+        // given
+        Codec<TaskEntity> handWritten = new TaskEntityCodec();
+        Codec<TaskEntity> pojo = CodecRegistries.fromProviders(PojoCodecProvider.builder().register(TaskEntity.class).build())
+                .get(TaskEntity.class);
+        byte[] document = encode(handWritten, sampleEntity());
+
+        decode(handWritten, document, WARM_UP_ITERATIONS);
+        decode(pojo, document, WARM_UP_ITERATIONS);
+
+        // when
+        long handWrittenNanos = decode(handWritten, document, ITERATIONS);
+        long pojoNanos = decode(pojo, document, ITERATIONS);
+
+        // then
+        log.info("Hand-written codec: {} ns per document", handWrittenNanos / ITERATIONS);
+        log.info("POJO codec: {} ns per document", pojoNanos / ITERATIONS);
+        assertThat(handWrittenNanos).isPositive();
+        assertThat(pojoNanos).isPositive();
+    }
+
+    private static long decode(Codec<TaskEntity> codec, byte[] document, int iterations) {
+        DecoderContext context = DecoderContext.builder().build();
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(document))) {
+                checksum += codec.decode(reader, context).getTitle().length();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        assertThat(checksum).isPositive(); // keeps the decoded values alive
+        return elapsed;
+    }
+
+    private static byte[] encode(Codec<TaskEntity> codec, TaskEntity entity) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            codec.encode(writer, entity, EncoderContext.builder().build());
+        }
+        return buffer.toByteArray();
+    }
+
+    private static TaskEntity sampleEntity() {
+        TaskEntity entity = new TaskEntity();
+        entity.setId(new ObjectId());
+        entity.setUserId("anonymous"); // stored as a string, so the POJO codec can read it without a representation hint
+        entity.setTitle("I need todo something");
+        entity.setDescription("But I don't know what");
+        entity.setStatus("TODO");
+        entity.setVersion(1L);
+        return entity;
+    }
+}
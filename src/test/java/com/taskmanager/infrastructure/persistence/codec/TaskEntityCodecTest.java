@@ -0,0 +1,166 @@
+package com.taskmanager.infrastructure.persistence.codec;
+
+import com.taskmanager.infrastructure.persistence.entity.TaskEntity;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonInt32;
+import org.bson.BsonNull;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Codec: Task entity")
+class TaskEntityCodecTest {
+
+    private final TaskEntityCodec codec = new TaskEntityCodec();
+
+    @Nested
+    @DisplayName("Encode and decode")
+    class EncodeAndDecode {
+
+        @Test
+        @DisplayName("should restore the same entity")
+        void shouldRestoreSameEntity() {
+            // given
+            TaskEntity entity = Sample.taskEntity("00000000f6b5a229daa5525d");
+
+            // when
+            TaskEntity actualResult = decode(encode(entity));
+
+            // then
+            assertThat(actualResult).usingRecursiveComparison().isEqualTo(entity);
+        }
+
+        @Test
+        @DisplayName("should store valid user ID as object ID")
+        void shouldStoreValidUserIdAsObjectId() {
+            // when
+            BsonDocument document = encode(Sample.taskEntity("00000000f6b5a229daa5525d"));
+
+            // then
+            assertThat(document.get("userId")).isEqualTo(new BsonObjectId(new ObjectId("00000000f6b5a229daa5525d")));
+        }
+
+        @Test
+        @DisplayName("should store other user ID as string")
+        void shouldStoreOtherUserIdAsString() {
+            // given
+            TaskEntity entity = Sample.taskEntity("anonymous");
+
+            // when
+            BsonDocument document = encode(entity);
+
+            // then
+            assertThat(document.get("userId")).isEqualTo(new BsonString("anonymous"));
+            assertThat(decode(document).getUserId()).isEqualTo("anonymous");
+        }
+
+        @Test
+        @DisplayName("should store tags as array of strings")
+        void shouldStoreTagsAsArray() {
+            // when
+            BsonDocument document = encode(Sample.taskEntity("anonymous"));
+
+            // then
+            assertThat(document.get("tags")).isEqualTo(new BsonArray(List.of(new BsonString("work"), new BsonString("urgent"))));
+        }
+
+        @Test
+        @DisplayName("should omit missing description, tags and version")
+        void shouldOmitMissingFields() {
+            // given
+            TaskEntity entity = Sample.taskEntity("anonymous");
+            entity.setDescription(null);
+            entity.setTags(List.of());
+            entity.setVersion(null);
+
+            // when
+            BsonDocument document = encode(entity);
+
+            // then
+            assertThat(document.keySet()).containsExactly("_id", "userId", "title", "status");
+        }
+    }
+
+    @Nested
+    @DisplayName("Decode")
+    class Decode {
+
+        @Test
+        @DisplayName("should skip unknown and null fields and read 32-bit version")
+        void shouldSkipUnknownAndNullFields() {
+            // given
+            BsonDocument document = new BsonDocument()
+                    .append("_id", new BsonObjectId(new ObjectId("00000000f6b5a229daa5525c")))
+                    .append("userId", new BsonString("anonymous"))
+                    .append("title", new BsonString("Task"))
+                    .append("description", BsonNull.VALUE)
+                    .append("legacy", new BsonDocument("nested", new BsonInt32(1)))
+                    .append("status", new BsonString("TODO"))
+                    .append("version", new BsonInt32(3));
+
+            // when
+            TaskEntity actualResult = decode(document);
+
+            // then
+            assertThat(actualResult.getTitle()).isEqualTo("Task");
+            assertThat(actualResult.getDescription()).isNull();
+            assertThat(actualResult.getStatus()).isEqualTo("TODO");
+            assertThat(actualResult.getVersion()).isEqualTo(3L);
+        }
+    }
+
+    @Test
+    @DisplayName("should generate ID only when absent")
+    void shouldGenerateIdOnlyWhenAbsent() {
+        // given
+        TaskEntity newEntity = Sample.taskEntity("anonymous");
+        newEntity.setId(null);
+        TaskEntity existingEntity = Sample.taskEntity("anonymous");
+        ObjectId existingId = existingEntity.getId();
+
+        // when
+        codec.generateIdIfAbsentFromDocument(newEntity);
+        codec.generateIdIfAbsentFromDocument(existingEntity);
+
+        // then
+        assertThat(codec.documentHasId(newEntity)).isTrue();
+        assertThat(existingEntity.getId()).isEqualTo(existingId);
+    }
+
+    private BsonDocument encode(TaskEntity entity) {
+        BsonDocument document = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(document), entity, EncoderContext.builder().build());
+        return document;
+    }
+
+    private TaskEntity decode(BsonDocument document) {
+        return codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+
+    static class Sample {
+
+        static TaskEntity taskEntity(String userId) {
+            TaskEntity entity = new TaskEntity();
+            entity.setId(new ObjectId("00000000f6b5a229daa5525c"));
+            entity.setUserId(userId);
+            entity.setTitle("I need todo something");
+            entity.setDescription("But I don't know what");
+            entity.setStatus("TODO");
+            entity.setTags(List.of("work", "urgent"));
+            entity.setVersion(2L);
+            return entity;
+        }
+    }
+}
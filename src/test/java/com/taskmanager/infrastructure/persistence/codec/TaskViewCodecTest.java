@@ -0,0 +1,74 @@
+package com.taskmanager.infrastructure.persistence.codec;
+
+import com.taskmanager.application.domain.task.TaskView;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonInt64;
+import org.bson.BsonNull;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
+
+@DisplayName("Codec: Task view")
+class TaskViewCodecTest {
+
+    private final TaskViewCodec codec = new TaskViewCodec();
+
+    @Test
+    @DisplayName("should read the fields a view shows and skip the others")
+    void shouldReadViewFields() {
+        // given
+        BsonDocument document = new BsonDocument()
+                .append("_id", new BsonObjectId(new ObjectId("00000000f6b5a229daa5525c")))
+                .append("userId", new BsonObjectId(new ObjectId("00000000f6b5a229daa5525d")))
+                .append("title", new BsonString("Title"))
+                .append("description", new BsonString("Description"))
+                .append("status", new BsonString("COMPLETED"))
+                .append("version", new BsonInt64(3));
+
+        // when
+        TaskView actualResult = decode(document);
+
+        // then
+        assertThat(actualResult).isEqualTo(new TaskView("00000000f6b5a229daa5525c", "Title", "Description", true));
+    }
+
+    @Test
+    @DisplayName("should read missing description as null and missing status as not completed")
+    void shouldReadMissingFields() {
+        // given
+        BsonDocument document = new BsonDocument()
+                .append("_id", new BsonObjectId(new ObjectId("00000000f6b5a229daa5525c")))
+                .append("title", new BsonString("Title"))
+                .append("description", BsonNull.VALUE);
+
+        // when
+        TaskView actualResult = decode(document);
+
+        // then
+        assertThat(actualResult).isEqualTo(new TaskView("00000000f6b5a229daa5525c", "Title", null, false));
+    }
+
+    @Test
+    @DisplayName("should not write views")
+    void shouldNotWriteViews() {
+        // when
+        Exception exception = catchException(() -> codec.encode(new BsonDocumentWriter(new BsonDocument()),
+                new TaskView("00000000f6b5a229daa5525c", "Title", null, false), EncoderContext.builder().build()));
+
+        // then
+        assertThat(exception).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private TaskView decode(BsonDocument document) {
+        return codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+}